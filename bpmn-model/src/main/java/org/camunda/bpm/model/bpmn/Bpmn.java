@@ -15,18 +15,15 @@ package org.camunda.bpm.model.bpmn;
 import org.camunda.bpm.model.bpmn.builder.ProcessBuilder;
 import org.camunda.bpm.model.bpmn.impl.BpmnModelInstanceImpl;
 import org.camunda.bpm.model.bpmn.impl.BpmnParser;
-import org.camunda.bpm.model.bpmn.impl.instance.BpmnModelElementInstanceImpl;
+import org.camunda.bpm.model.bpmn.impl.instance.*;
 import org.camunda.bpm.model.bpmn.instance.Definitions;
 import org.camunda.bpm.model.bpmn.instance.Process;
 import org.camunda.bpm.model.xml.*;
 import org.camunda.bpm.model.xml.impl.util.IoUtil;
 import org.camunda.bpm.model.xml.impl.util.ModelUtil;
-import org.reflections.Reflections;
 
+import javax.xml.XMLConstants;
 import java.io.*;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Set;
 
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.ACTIVITI_NS;
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.BPMN20_NS;
@@ -73,9 +70,23 @@ public class Bpmn {
     return INSTANCE.doReadModelFromInputStream(stream);
   }
 
+  /**
+   * Allows reading a {@link BpmnModelInstance} from an {@link InputStream}. The model
+   * is validated exactly once, at the time determined by the validation mode.
+   *
+   * @param stream the {@link InputStream} to read the {@link BpmnModelInstance} from
+   * @param validationMode determines whether the model is validated while or after it is parsed
+   * @return the model read
+   * @throws ModelParseException if the model cannot be read
+   * @throws ModelValidationException if the model is not valid
+   */
+  public static BpmnModelInstance readModelFromStream(InputStream stream, ParseValidationMode validationMode) {
+    return INSTANCE.doReadModelFromInputStream(stream, validationMode);
+  }
+
   /**
    * Allows writing a {@link BpmnModelInstance} to a File. It will be
-   * validated before writing.
+   * validated before writing if it was modified since its last validation.
    *
    * @param file the {@link File} to write the {@link BpmnModelInstance} to
    * @param modelInstance the {@link BpmnModelInstance} to write
@@ -86,9 +97,22 @@ public class Bpmn {
     INSTANCE.doWriteModelToFile(file, modelInstance);
   }
 
+  /**
+   * Allows writing a {@link BpmnModelInstance} to a File.
+   *
+   * @param file the {@link File} to write the {@link BpmnModelInstance} to
+   * @param modelInstance the {@link BpmnModelInstance} to write
+   * @param validationPolicy determines whether the model is validated before writing
+   * @throws BpmnModelException if the model cannot be written
+   * @throws ModelValidationException if the model is not valid
+   */
+  public static void writeModelToFile(File file, BpmnModelInstance modelInstance, WriteValidationPolicy validationPolicy) {
+    INSTANCE.doWriteModelToFile(file, modelInstance, validationPolicy);
+  }
+
   /**
    * Allows writing a {@link BpmnModelInstance} to an {@link OutputStream}. It will be
-   * validated before writing.
+   * validated before writing if it was modified since its last validation.
    *
    * @param stream the {@link OutputStream} to write the {@link BpmnModelInstance} to
    * @param modelInstance the {@link BpmnModelInstance} to write
@@ -99,9 +123,22 @@ public class Bpmn {
     INSTANCE.doWriteModelToOutputStream(stream, modelInstance);
   }
 
+  /**
+   * Allows writing a {@link BpmnModelInstance} to an {@link OutputStream}.
+   *
+   * @param stream the {@link OutputStream} to write the {@link BpmnModelInstance} to
+   * @param modelInstance the {@link BpmnModelInstance} to write
+   * @param validationPolicy determines whether the model is validated before writing
+   * @throws ModelException if the model cannot be written
+   * @throws ModelValidationException if the model is not valid
+   */
+  public static void writeModelToStream(OutputStream stream, BpmnModelInstance modelInstance, WriteValidationPolicy validationPolicy) {
+    INSTANCE.doWriteModelToOutputStream(stream, modelInstance, validationPolicy);
+  }
+
   /**
    * Allows the conversion of a {@link BpmnModelInstance} to an {@link String}. It will
-   * be validated before conversion.
+   * be validated before conversion if it was modified since its last validation.
    *
    * @param modelInstance  the model instance to convert
    * @return the XML string representation of the model instance
@@ -110,6 +147,17 @@ public class Bpmn {
     return INSTANCE.doConvertToString(modelInstance);
   }
 
+  /**
+   * Allows the conversion of a {@link BpmnModelInstance} to an {@link String}.
+   *
+   * @param modelInstance  the model instance to convert
+   * @param validationPolicy determines whether the model is validated before conversion
+   * @return the XML string representation of the model instance
+   */
+  public static String convertToString(BpmnModelInstance modelInstance, WriteValidationPolicy validationPolicy) {
+    return INSTANCE.doConvertToString(modelInstance, validationPolicy);
+  }
+
   /**
    * Validate model DOM document
    *
@@ -133,8 +181,8 @@ public class Bpmn {
     BpmnModelInstance modelInstance = INSTANCE.doCreateEmptyModel();
     Definitions definitions = modelInstance.newInstance(Definitions.class);
     definitions.setTargetNamespace(BPMN20_NS);
-    definitions.getDomElement().setAttributeNS("http://www.w3.org/2000/xmlns/", "xmlns:camunda", ACTIVITI_NS);
     modelInstance.setDefinitions(definitions);
+    definitions.setAttributeValueNs("xmlns:camunda", XMLConstants.XMLNS_ATTRIBUTE_NS_URI, ACTIVITI_NS);
     Process process = modelInstance.newInstance(Process.class);
     process.setId(ModelUtil.getUniqueIdentifier(process.getElementType()));
     definitions.addChildElement(process);
@@ -169,11 +217,19 @@ public class Bpmn {
     return bpmnParser.parseModelFromStream(is);
   }
 
+  protected BpmnModelInstance doReadModelFromInputStream(InputStream is, ParseValidationMode validationMode) {
+    return bpmnParser.parseModelFromStream(is, validationMode);
+  }
+
   protected void doWriteModelToFile(File file, BpmnModelInstance modelInstance) {
+    doWriteModelToFile(file, modelInstance, WriteValidationPolicy.IF_MODIFIED);
+  }
+
+  protected void doWriteModelToFile(File file, BpmnModelInstance modelInstance, WriteValidationPolicy validationPolicy) {
     OutputStream os = null;
     try {
       os = new FileOutputStream(file);
-      doWriteModelToOutputStream(os, modelInstance);
+      doWriteModelToOutputStream(os, modelInstance, validationPolicy);
     }
     catch (FileNotFoundException e) {
       throw new BpmnModelException("Cannot write model to file "+file+": file does not exist.");
@@ -183,43 +239,154 @@ public class Bpmn {
   }
 
   protected void doWriteModelToOutputStream(OutputStream os, BpmnModelInstance modelInstance) {
+    doWriteModelToOutputStream(os, modelInstance, WriteValidationPolicy.IF_MODIFIED);
+  }
+
+  protected void doWriteModelToOutputStream(OutputStream os, BpmnModelInstance modelInstance, WriteValidationPolicy validationPolicy) {
     // validate DOM document
-    doValidateModel(modelInstance);
+    doValidateModel(modelInstance, validationPolicy);
     // write XML
     IoUtil.writeDocumentToOutputStream(modelInstance.getDocument(), os);
   }
 
   protected String doConvertToString(BpmnModelInstance modelInstance) {
+    return doConvertToString(modelInstance, WriteValidationPolicy.IF_MODIFIED);
+  }
+
+  protected String doConvertToString(BpmnModelInstance modelInstance, WriteValidationPolicy validationPolicy) {
     // validate DOM document
-    doValidateModel(modelInstance);
+    doValidateModel(modelInstance, validationPolicy);
     // convert to XML string
     return IoUtil.convertXmlDocumentToString(modelInstance.getDocument());
   }
 
   protected void doValidateModel(BpmnModelInstance modelInstance) {
-    bpmnParser.validateModel(modelInstance.getDocument());
+    bpmnParser.validateModel(modelInstance);
+  }
+
+  protected void doValidateModel(BpmnModelInstance modelInstance, WriteValidationPolicy validationPolicy) {
+    if (validationPolicy.isValidationRequired(modelInstance)) {
+      doValidateModel(modelInstance);
+    }
   }
 
   protected BpmnModelInstance doCreateEmptyModel() {
     return bpmnParser.getEmptyModel();
   }
 
+  /**
+   * Registers all types of the BPMN model. New model element types have to be
+   * added here, types are not discovered by a classpath scan.
+   *
+   * @param bpmnModelBuilder the model builder to register the types with
+   */
   protected void doRegisterTypes(ModelBuilder bpmnModelBuilder) {
-    Reflections reflections = new Reflections("org.camunda.bpm.model.bpmn");
-    Set<Class<? extends BpmnModelElementInstanceImpl>> subTypesOf = reflections.getSubTypesOf(BpmnModelElementInstanceImpl.class);
-
-    for (Class<? extends BpmnModelElementInstanceImpl> instanceImpl : subTypesOf) {
-      try {
-        Method registerTypeMethod = instanceImpl.getMethod("registerType", ModelBuilder.class);
-        registerTypeMethod.invoke(null, bpmnModelBuilder);
-      } catch (NoSuchMethodException e) {
-        throw new BpmnModelException("Class " + instanceImpl + " has nor registerType method", e);
-      } catch (InvocationTargetException e) {
-        throw new BpmnModelException("Unable to call registerType method on class " + instanceImpl, e);
-      } catch (IllegalAccessException e) {
-        throw new BpmnModelException("Unable to call registerType method on class " + instanceImpl, e);
-      }
-    }
+    ActivityImpl.registerType(bpmnModelBuilder);
+    ArtifactImpl.registerType(bpmnModelBuilder);
+    AssignmentImpl.registerType(bpmnModelBuilder);
+    AuditingImpl.registerType(bpmnModelBuilder);
+    BaseElementImpl.registerType(bpmnModelBuilder);
+    BoundaryEventImpl.registerType(bpmnModelBuilder);
+    BusinessRuleTaskImpl.registerType(bpmnModelBuilder);
+    CallableElementImpl.registerType(bpmnModelBuilder);
+    CatchEventImpl.registerType(bpmnModelBuilder);
+    CategoryValueImpl.registerType(bpmnModelBuilder);
+    CategoryValueRef.registerType(bpmnModelBuilder);
+    ChildLaneSet.registerType(bpmnModelBuilder);
+    ConditionExpression.registerType(bpmnModelBuilder);
+    CorrelationKeyImpl.registerType(bpmnModelBuilder);
+    CorrelationPropertyBindingImpl.registerType(bpmnModelBuilder);
+    CorrelationPropertyImpl.registerType(bpmnModelBuilder);
+    CorrelationPropertyRef.registerType(bpmnModelBuilder);
+    CorrelationPropertyRetrievalExpressionImpl.registerType(bpmnModelBuilder);
+    CorrelationSubscriptionImpl.registerType(bpmnModelBuilder);
+    DataAssociationImpl.registerType(bpmnModelBuilder);
+    DataInputAssociationImpl.registerType(bpmnModelBuilder);
+    DataInputImpl.registerType(bpmnModelBuilder);
+    DataInputRefs.registerType(bpmnModelBuilder);
+    DataOutputAssociationImpl.registerType(bpmnModelBuilder);
+    DataOutputImpl.registerType(bpmnModelBuilder);
+    DataOutputRefs.registerType(bpmnModelBuilder);
+    DataPath.registerType(bpmnModelBuilder);
+    DataStateImpl.registerType(bpmnModelBuilder);
+    DefinitionsImpl.registerType(bpmnModelBuilder);
+    DocumentationImpl.registerType(bpmnModelBuilder);
+    EndEventImpl.registerType(bpmnModelBuilder);
+    ErrorImpl.registerType(bpmnModelBuilder);
+    ErrorRef.registerType(bpmnModelBuilder);
+    EventDefinitionImpl.registerType(bpmnModelBuilder);
+    EventDefinitionRef.registerType(bpmnModelBuilder);
+    EventImpl.registerType(bpmnModelBuilder);
+    ExclusiveGatewayImpl.registerType(bpmnModelBuilder);
+    ExpressionImpl.registerType(bpmnModelBuilder);
+    ExtensionElementsImpl.registerType(bpmnModelBuilder);
+    ExtensionImpl.registerType(bpmnModelBuilder);
+    FlowElementImpl.registerType(bpmnModelBuilder);
+    FlowNodeImpl.registerType(bpmnModelBuilder);
+    FlowNodeRef.registerType(bpmnModelBuilder);
+    FormalExpressionImpl.registerType(bpmnModelBuilder);
+    From.registerType(bpmnModelBuilder);
+    GatewayImpl.registerType(bpmnModelBuilder);
+    ImportImpl.registerType(bpmnModelBuilder);
+    InMessageRef.registerType(bpmnModelBuilder);
+    Incoming.registerType(bpmnModelBuilder);
+    InputSetImpl.registerType(bpmnModelBuilder);
+    InputSetRefs.registerType(bpmnModelBuilder);
+    InterfaceImpl.registerType(bpmnModelBuilder);
+    IoBindingImpl.registerType(bpmnModelBuilder);
+    IoSpecificationImpl.registerType(bpmnModelBuilder);
+    ItemAwareElementImpl.registerType(bpmnModelBuilder);
+    ItemDefinitionImpl.registerType(bpmnModelBuilder);
+    LaneImpl.registerType(bpmnModelBuilder);
+    LaneSetImpl.registerType(bpmnModelBuilder);
+    LoopCharacteristicsImpl.registerType(bpmnModelBuilder);
+    ManualTaskImpl.registerType(bpmnModelBuilder);
+    MessageEventDefinitionImpl.registerType(bpmnModelBuilder);
+    MessageImpl.registerType(bpmnModelBuilder);
+    MessagePath.registerType(bpmnModelBuilder);
+    MonitoringImpl.registerType(bpmnModelBuilder);
+    OperationImpl.registerType(bpmnModelBuilder);
+    OperationRef.registerType(bpmnModelBuilder);
+    OptionalInputRefs.registerType(bpmnModelBuilder);
+    OptionalOutputRefs.registerType(bpmnModelBuilder);
+    OutMessageRef.registerType(bpmnModelBuilder);
+    Outgoing.registerType(bpmnModelBuilder);
+    OutputSetImpl.registerType(bpmnModelBuilder);
+    OutputSetRefs.registerType(bpmnModelBuilder);
+    ParallelGatewayImpl.registerType(bpmnModelBuilder);
+    PartitionElement.registerType(bpmnModelBuilder);
+    ProcessImpl.registerType(bpmnModelBuilder);
+    PropertyImpl.registerType(bpmnModelBuilder);
+    ReceiveTaskImpl.registerType(bpmnModelBuilder);
+    RelationshipImpl.registerType(bpmnModelBuilder);
+    RenderingImpl.registerType(bpmnModelBuilder);
+    ResourceAssignmentExpressionImpl.registerType(bpmnModelBuilder);
+    ResourceImpl.registerType(bpmnModelBuilder);
+    ResourceParameterBindingImpl.registerType(bpmnModelBuilder);
+    ResourceParameterImpl.registerType(bpmnModelBuilder);
+    ResourceRef.registerType(bpmnModelBuilder);
+    ResourceRoleImpl.registerType(bpmnModelBuilder);
+    RootElementImpl.registerType(bpmnModelBuilder);
+    ScriptImpl.registerType(bpmnModelBuilder);
+    ScriptTaskImpl.registerType(bpmnModelBuilder);
+    SendTaskImpl.registerType(bpmnModelBuilder);
+    SequenceFlowImpl.registerType(bpmnModelBuilder);
+    ServiceTaskImpl.registerType(bpmnModelBuilder);
+    Source.registerType(bpmnModelBuilder);
+    SourceRef.registerType(bpmnModelBuilder);
+    StartEventImpl.registerType(bpmnModelBuilder);
+    SubProcessImpl.registerType(bpmnModelBuilder);
+    SupportedInterfaceRef.registerType(bpmnModelBuilder);
+    Supports.registerType(bpmnModelBuilder);
+    Target.registerType(bpmnModelBuilder);
+    TargetRef.registerType(bpmnModelBuilder);
+    TaskImpl.registerType(bpmnModelBuilder);
+    ThrowEventImpl.registerType(bpmnModelBuilder);
+    To.registerType(bpmnModelBuilder);
+    Transformation.registerType(bpmnModelBuilder);
+    UserTaskImpl.registerType(bpmnModelBuilder);
+    WhileExecutingInputRefs.registerType(bpmnModelBuilder);
+    WhileExecutingOutputRefs.registerType(bpmnModelBuilder);
   }
 
   /**
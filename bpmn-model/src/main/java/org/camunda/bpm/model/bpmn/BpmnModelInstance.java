@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.model.bpmn;
 
+import org.camunda.bpm.model.bpmn.instance.BpmnModelElementInstance;
 import org.camunda.bpm.model.bpmn.instance.Definitions;
 import org.camunda.bpm.model.xml.ModelInstance;
 
@@ -34,4 +35,12 @@ public interface BpmnModelInstance extends ModelInstance {
    * */
   void setDefinitions(Definitions definitions);
 
+  /**
+   * Creates a lazily evaluated query for all instances of a type and its extending types.
+   *
+   * @param instanceClass the instance class of the type
+   * @return the query for the instances of the type
+   */
+  <T extends BpmnModelElementInstance> Query<T> query(Class<T> instanceClass);
+
 }
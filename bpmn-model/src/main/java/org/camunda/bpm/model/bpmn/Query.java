@@ -14,14 +14,23 @@
 package org.camunda.bpm.model.bpmn;
 
 import org.camunda.bpm.model.bpmn.instance.BpmnModelElementInstance;
+import org.camunda.bpm.model.bpmn.instance.FlowNode;
 import org.camunda.bpm.model.xml.type.ModelElementType;
 
+import java.util.Iterator;
 import java.util.List;
 
 /**
+ * <p>A lazily evaluated query over model element instances. Filters, traversal steps and limits
+ * only describe the query, the elements are computed when the query is iterated or one of
+ * {@link #list()}, {@link #count()}, {@link #first()} or {@link #singleResult()} is called.
+ * Each evaluation reflects the current state of the model instance.</p>
+ *
+ * <p>Traversal steps return every element at most once per evaluation.</p>
+ *
  * @author Sebastian Menski
  */
-public interface Query<T extends BpmnModelElementInstance> {
+public interface Query<T extends BpmnModelElementInstance> extends Iterable<T> {
 
   List<T> list();
 
@@ -29,6 +38,72 @@ public interface Query<T extends BpmnModelElementInstance> {
 
   <V extends ModelElementType> Query<?> filterByType(V elementType);
 
+  <V extends BpmnModelElementInstance> Query<V> filterByType(Class<V> elementClass);
+
   T singleResult();
 
+  /**
+   * @return the first element of the query or null if the query is empty
+   */
+  T first();
+
+  /**
+   * @return an iterator which evaluates the query while it is advanced
+   */
+  Iterator<T> iterator();
+
+  /**
+   * @param maxResults the maximum number of elements
+   * @return a query which stops the evaluation after maxResults elements
+   */
+  Query<T> limit(int maxResults);
+
+  Query<T> filter(QueryFilter<? super T> filter);
+
+  /**
+   * @return a query for the element with the id, uses the id index of the model instance if
+   * this query selects all instances of a type
+   */
+  Query<T> id(String id);
+
+  Query<T> idStartsWith(String prefix);
+
+  /**
+   * @return a query for the elements with the attribute value, uses the secondary index
+   * of the attribute if it is indexed and this query selects all instances of a type
+   */
+  Query<T> attributeValue(String attributeName, String value);
+
+  Query<T> attributeValueNs(String attributeName, String namespaceUri, String value);
+
+  /**
+   * @return a query for the elements which comma separated list attribute contains the item,
+   * uses the secondary index of the attribute if it is list indexed and this query selects
+   * all instances of a type
+   */
+  Query<T> attributeListContains(String attributeName, String item);
+
+  Query<T> attributeListContainsNs(String attributeName, String namespaceUri, String item);
+
+  Query<BpmnModelElementInstance> children();
+
+  <V extends BpmnModelElementInstance> Query<V> children(Class<V> childClass);
+
+  Query<BpmnModelElementInstance> parent();
+
+  /**
+   * @return a query for the elements referenced by attribute or element references of the elements
+   */
+  Query<BpmnModelElementInstance> referencedElements();
+
+  /**
+   * @return a query for the target nodes of the outgoing sequence flows of the flow nodes
+   */
+  Query<FlowNode> succeedingNodes();
+
+  /**
+   * @return a query for the source nodes of the incoming sequence flows of the flow nodes
+   */
+  Query<FlowNode> previousNodes();
+
 }
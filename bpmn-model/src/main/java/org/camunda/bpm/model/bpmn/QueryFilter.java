@@ -2,7 +2,7 @@
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
  *
- *     http://www.apache.org/licenses/LICENSE-2.0
+ *      http://www.apache.org/licenses/LICENSE-2.0
  *
  * Unless required by applicable law or agreed to in writing, software
  * distributed under the License is distributed on an "AS IS" BASIS,
@@ -10,17 +10,19 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
-package org.camunda.bpm.model.xml.impl.type.attribute;
-
-import org.camunda.bpm.model.xml.impl.type.ModelElementTypeImpl;
+package org.camunda.bpm.model.bpmn;
 
 /**
- * @author Sebastian Menski
+ * A predicate on the elements of a {@link Query}.
+ *
+ * @param <T> the type of the elements to test
  */
-public class IntegerAttributeBuilder extends AttributeBuilderImpl<Integer> {
+public interface QueryFilter<T> {
+
+  /**
+   * @param element the element to test
+   * @return true if the element should be part of the query result
+   */
+  boolean matches(T element);
 
-  public IntegerAttributeBuilder(String attributeName, ModelElementTypeImpl modelType) {
-    super(attributeName, modelType, new IntegerAttribute(modelType));
-  }
 }
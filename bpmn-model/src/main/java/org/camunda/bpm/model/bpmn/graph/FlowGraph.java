@@ -0,0 +1,325 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.bpmn.graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.model.bpmn.BpmnModelException;
+import org.camunda.bpm.model.bpmn.instance.Activity;
+import org.camunda.bpm.model.bpmn.instance.BoundaryEvent;
+import org.camunda.bpm.model.bpmn.instance.FlowElement;
+import org.camunda.bpm.model.bpmn.instance.FlowNode;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.bpmn.instance.SequenceFlow;
+import org.camunda.bpm.model.bpmn.instance.SubProcess;
+
+/**
+ * <p>An immutable view of the sequence flow graph of a process or sub process.</p>
+ *
+ * <p>The flow nodes of the process and of all nested sub processes are numbered densely
+ * from 0 to {@link #getNodeCount()} - 1 in document order, the sequence flows from 0 to
+ * {@link #getFlowCount()} - 1. The incoming and outgoing flows of every node are stored in
+ * compressed sparse row arrays, so that traversing the graph by index neither resolves
+ * references nor allocates objects.</p>
+ *
+ * <p>The graph is a snapshot of the model instance at the time it was compiled and does not
+ * reflect later modifications. It can be shared between threads.</p>
+ */
+public final class FlowGraph {
+
+  /** index returned if a node does not exist */
+  public static final int NO_NODE = -1;
+
+  private final FlowNode[] nodes;
+  private final String[] nodeIds;
+  private final FlowNodeKind[] nodeKinds;
+  private final int[] parentNodes;
+  private final int[] attachedToNodes;
+  private final Map<String, Integer> nodeIndexById;
+  private final Map<FlowNode, Integer> nodeIndexByNode;
+
+  private final SequenceFlow[] flows;
+  private final int[] flowSources;
+  private final int[] flowTargets;
+
+  private final int[] outgoingOffsets;
+  private final int[] outgoingFlows;
+  private final int[] incomingOffsets;
+  private final int[] incomingFlows;
+
+  /**
+   * Compiles the flow graph of a process including the flow nodes of all nested sub processes.
+   *
+   * @param process the process to compile
+   * @return the compiled flow graph
+   * @throws BpmnModelException if a sequence flow connects a flow node outside of the process
+   */
+  public static FlowGraph compile(Process process) {
+    return new Compiler().compile(process.getFlowElements());
+  }
+
+  /**
+   * Compiles the flow graph of the content of a sub process including the flow nodes of all
+   * nested sub processes. The sub process itself is not part of the graph.
+   *
+   * @param subProcess the sub process to compile
+   * @return the compiled flow graph
+   * @throws BpmnModelException if a sequence flow connects a flow node outside of the sub process
+   */
+  public static FlowGraph compile(SubProcess subProcess) {
+    return new Compiler().compile(subProcess.getFlowElements());
+  }
+
+  private FlowGraph(Compiler compiler) {
+    int nodeCount = compiler.nodes.size();
+    nodes = compiler.nodes.toArray(new FlowNode[nodeCount]);
+    nodeIds = new String[nodeCount];
+    nodeKinds = new FlowNodeKind[nodeCount];
+    parentNodes = toIntArray(compiler.parentNodes);
+    attachedToNodes = new int[nodeCount];
+    nodeIndexById = new HashMap<String, Integer>();
+    nodeIndexByNode = compiler.nodeIndices;
+    for (int node = 0; node < nodeCount; node++) {
+      nodeKinds[node] = FlowNodeKind.of(nodes[node]);
+      nodeIds[node] = nodes[node].getId();
+      if (nodeIds[node] != null) {
+        nodeIndexById.put(nodeIds[node], node);
+      }
+    }
+    for (int node = 0; node < nodeCount; node++) {
+      attachedToNodes[node] = NO_NODE;
+      if (nodeKinds[node] == FlowNodeKind.BOUNDARY_EVENT) {
+        Activity attachedTo = ((BoundaryEvent) nodes[node]).getAttachedTo();
+        if (attachedTo != null) {
+          attachedToNodes[node] = compiler.getNodeIndex(attachedTo);
+        }
+      }
+    }
+
+    int flowCount = compiler.flows.size();
+    flows = compiler.flows.toArray(new SequenceFlow[flowCount]);
+    flowSources = new int[flowCount];
+    flowTargets = new int[flowCount];
+    for (int flow = 0; flow < flowCount; flow++) {
+      flowSources[flow] = compiler.getFlowNodeIndex(flows[flow], flows[flow].getSource(), "source");
+      flowTargets[flow] = compiler.getFlowNodeIndex(flows[flow], flows[flow].getTarget(), "target");
+    }
+
+    outgoingOffsets = new int[nodeCount + 1];
+    outgoingFlows = new int[flowCount];
+    fillAdjacency(flowSources, outgoingOffsets, outgoingFlows);
+    incomingOffsets = new int[nodeCount + 1];
+    incomingFlows = new int[flowCount];
+    fillAdjacency(flowTargets, incomingOffsets, incomingFlows);
+  }
+
+  /**
+   * Fills the offsets and the flows of a compressed sparse row adjacency. The flows of
+   * each node keep the order of their indices.
+   */
+  private static void fillAdjacency(int[] flowNodes, int[] offsets, int[] adjacentFlows) {
+    for (int node : flowNodes) {
+      offsets[node + 1]++;
+    }
+    for (int node = 1; node < offsets.length; node++) {
+      offsets[node] += offsets[node - 1];
+    }
+    int[] positions = offsets.clone();
+    for (int flow = 0; flow < flowNodes.length; flow++) {
+      adjacentFlows[positions[flowNodes[flow]]++] = flow;
+    }
+  }
+
+  private static int[] toIntArray(List<Integer> values) {
+    int[] array = new int[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = values.get(i);
+    }
+    return array;
+  }
+
+  // nodes ////////////////////////////////////////////////////////
+
+  public int getNodeCount() {
+    return nodes.length;
+  }
+
+  /**
+   * @param id the id of the flow node
+   * @return the index of the flow node or {@link #NO_NODE} if the graph contains no flow node with this id
+   */
+  public int getNodeIndex(String id) {
+    Integer node = nodeIndexById.get(id);
+    return node != null ? node : NO_NODE;
+  }
+
+  /**
+   * @param flowNode the flow node
+   * @return the index of the flow node or {@link #NO_NODE} if the flow node is not part of the graph
+   */
+  public int getNodeIndex(FlowNode flowNode) {
+    Integer node = nodeIndexByNode.get(flowNode);
+    return node != null ? node : NO_NODE;
+  }
+
+  public FlowNode getNode(int node) {
+    return nodes[node];
+  }
+
+  /**
+   * @param node the index of the node
+   * @return the id of the flow node at the time the graph was compiled
+   */
+  public String getNodeId(int node) {
+    return nodeIds[node];
+  }
+
+  public FlowNodeKind getNodeKind(int node) {
+    return nodeKinds[node];
+  }
+
+  /**
+   * @param node the index of the node
+   * @return the index of the sub process which contains the node or {@link #NO_NODE} if the
+   * node is a direct child of the compiled process
+   */
+  public int getParentNode(int node) {
+    return parentNodes[node];
+  }
+
+  /**
+   * @param node the index of the node
+   * @return the index of the activity a boundary event is attached to or {@link #NO_NODE}
+   * if the node is no boundary event
+   */
+  public int getAttachedToNode(int node) {
+    return attachedToNodes[node];
+  }
+
+  // adjacency ////////////////////////////////////////////////////
+
+  public int getOutgoingFlowCount(int node) {
+    return outgoingOffsets[node + 1] - outgoingOffsets[node];
+  }
+
+  /**
+   * @param node the index of the node
+   * @param i the position of the flow in the outgoing flows of the node
+   * @return the index of the i-th outgoing flow of the node
+   */
+  public int getOutgoingFlow(int node, int i) {
+    return outgoingFlows[outgoingOffsets[node] + i];
+  }
+
+  /**
+   * @param node the index of the node
+   * @param i the position of the flow in the outgoing flows of the node
+   * @return the index of the target node of the i-th outgoing flow of the node
+   */
+  public int getSucceedingNode(int node, int i) {
+    return flowTargets[outgoingFlows[outgoingOffsets[node] + i]];
+  }
+
+  public int getIncomingFlowCount(int node) {
+    return incomingOffsets[node + 1] - incomingOffsets[node];
+  }
+
+  /**
+   * @param node the index of the node
+   * @param i the position of the flow in the incoming flows of the node
+   * @return the index of the i-th incoming flow of the node
+   */
+  public int getIncomingFlow(int node, int i) {
+    return incomingFlows[incomingOffsets[node] + i];
+  }
+
+  /**
+   * @param node the index of the node
+   * @param i the position of the flow in the incoming flows of the node
+   * @return the index of the source node of the i-th incoming flow of the node
+   */
+  public int getPreviousNode(int node, int i) {
+    return flowSources[incomingFlows[incomingOffsets[node] + i]];
+  }
+
+  // flows ////////////////////////////////////////////////////////
+
+  public int getFlowCount() {
+    return flows.length;
+  }
+
+  public SequenceFlow getFlow(int flow) {
+    return flows[flow];
+  }
+
+  public int getFlowSource(int flow) {
+    return flowSources[flow];
+  }
+
+  public int getFlowTarget(int flow) {
+    return flowTargets[flow];
+  }
+
+  /**
+   * Collects the flow nodes and sequence flows of a process and its nested sub processes.
+   */
+  private static class Compiler {
+
+    private final List<FlowNode> nodes = new ArrayList<FlowNode>();
+    private final List<Integer> parentNodes = new ArrayList<Integer>();
+    private final Map<FlowNode, Integer> nodeIndices = new HashMap<FlowNode, Integer>();
+    private final List<SequenceFlow> flows = new ArrayList<SequenceFlow>();
+
+    public FlowGraph compile(Collection<FlowElement> flowElements) {
+      collectFlowElements(flowElements, NO_NODE);
+      return new FlowGraph(this);
+    }
+
+    private void collectFlowElements(Collection<FlowElement> flowElements, int parentNode) {
+      for (FlowElement flowElement : flowElements) {
+        if (flowElement instanceof FlowNode) {
+          int node = nodes.size();
+          nodes.add((FlowNode) flowElement);
+          parentNodes.add(parentNode);
+          nodeIndices.put((FlowNode) flowElement, node);
+          if (flowElement instanceof SubProcess) {
+            collectFlowElements(((SubProcess) flowElement).getFlowElements(), node);
+          }
+        }
+        else if (flowElement instanceof SequenceFlow) {
+          flows.add((SequenceFlow) flowElement);
+        }
+      }
+    }
+
+    private int getNodeIndex(FlowNode flowNode) {
+      Integer node = nodeIndices.get(flowNode);
+      return node != null ? node : NO_NODE;
+    }
+
+    private int getFlowNodeIndex(SequenceFlow flow, FlowNode flowNode, String role) {
+      int node = flowNode != null ? getNodeIndex(flowNode) : NO_NODE;
+      if (node == NO_NODE) {
+        throw new BpmnModelException("Unable to compile flow graph, the " + role + " of sequence flow '"
+          + flow.getId() + "' is not a flow node of the compiled process");
+      }
+      return node;
+    }
+
+  }
+
+}
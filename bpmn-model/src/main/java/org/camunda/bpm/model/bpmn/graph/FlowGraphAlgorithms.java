@@ -0,0 +1,289 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.bpmn.graph;
+
+import java.util.Arrays;
+
+/**
+ * Graph algorithms over int indexed adjacency arrays. All algorithms are iterative,
+ * so that the depth of a graph is not limited by the size of the call stack.
+ */
+final class FlowGraphAlgorithms {
+
+  static final int UNDEFINED = -1;
+
+  private FlowGraphAlgorithms() {
+  }
+
+  /**
+   * A directed graph stored as compressed sparse rows: the successors of node n are
+   * targets[offsets[n]] to targets[offsets[n + 1] - 1].
+   */
+  static final class Adjacency {
+
+    final int nodeCount;
+    final int[] offsets;
+    final int[] targets;
+
+    Adjacency(int nodeCount, int[] edgeSources, int[] edgeTargets, int edgeCount) {
+      this.nodeCount = nodeCount;
+      offsets = new int[nodeCount + 1];
+      targets = new int[edgeCount];
+      for (int edge = 0; edge < edgeCount; edge++) {
+        offsets[edgeSources[edge] + 1]++;
+      }
+      for (int node = 1; node <= nodeCount; node++) {
+        offsets[node] += offsets[node - 1];
+      }
+      int[] positions = Arrays.copyOf(offsets, nodeCount);
+      for (int edge = 0; edge < edgeCount; edge++) {
+        targets[positions[edgeSources[edge]]++] = edgeTargets[edge];
+      }
+    }
+
+    Adjacency reverse() {
+      int[] edgeSources = new int[targets.length];
+      int[] edgeTargets = new int[targets.length];
+      for (int node = 0; node < nodeCount; node++) {
+        for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+          edgeSources[edge] = targets[edge];
+          edgeTargets[edge] = node;
+        }
+      }
+      return new Adjacency(nodeCount, edgeSources, edgeTargets, targets.length);
+    }
+
+  }
+
+  /**
+   * Collects the edges of an {@link Adjacency}.
+   */
+  static final class AdjacencyBuilder {
+
+    private final int nodeCount;
+    private int[] edgeSources = new int[16];
+    private int[] edgeTargets = new int[16];
+    private int edgeCount;
+
+    AdjacencyBuilder(int nodeCount) {
+      this.nodeCount = nodeCount;
+    }
+
+    void addEdge(int source, int target) {
+      if (edgeCount == edgeSources.length) {
+        edgeSources = Arrays.copyOf(edgeSources, edgeCount * 2);
+        edgeTargets = Arrays.copyOf(edgeTargets, edgeCount * 2);
+      }
+      edgeSources[edgeCount] = source;
+      edgeTargets[edgeCount] = target;
+      edgeCount++;
+    }
+
+    Adjacency build() {
+      return new Adjacency(nodeCount, edgeSources, edgeTargets, edgeCount);
+    }
+
+  }
+
+  /**
+   * Breadth-first search from the source nodes.
+   *
+   * @return for each node whether it is reachable from one of the sources
+   */
+  static boolean[] reachable(Adjacency graph, int[] sources) {
+    boolean[] visited = new boolean[graph.nodeCount];
+    int[] queue = new int[graph.nodeCount];
+    int head = 0;
+    int tail = 0;
+    for (int source : sources) {
+      if (!visited[source]) {
+        visited[source] = true;
+        queue[tail++] = source;
+      }
+    }
+    while (head < tail) {
+      int node = queue[head++];
+      for (int edge = graph.offsets[node]; edge < graph.offsets[node + 1]; edge++) {
+        int successor = graph.targets[edge];
+        if (!visited[successor]) {
+          visited[successor] = true;
+          queue[tail++] = successor;
+        }
+      }
+    }
+    return visited;
+  }
+
+  /**
+   * Computes the strongly connected components with Tarjan's algorithm. The components are
+   * numbered in reverse topological order, i.e. edges between different components always
+   * lead from a higher to a lower component number.
+   *
+   * @return the component number of each node
+   */
+  static int[] stronglyConnectedComponents(Adjacency graph) {
+    int nodeCount = graph.nodeCount;
+    int[] index = new int[nodeCount];
+    int[] lowLink = new int[nodeCount];
+    int[] components = new int[nodeCount];
+    boolean[] onStack = new boolean[nodeCount];
+    int[] stack = new int[nodeCount];
+    int stackSize = 0;
+    // the call stack of the depth-first search: the node and the next edge to follow
+    int[] callNodes = new int[nodeCount];
+    int[] callEdges = new int[nodeCount];
+    int nextIndex = 0;
+    int componentCount = 0;
+    Arrays.fill(index, UNDEFINED);
+
+    for (int root = 0; root < nodeCount; root++) {
+      if (index[root] != UNDEFINED) {
+        continue;
+      }
+      int depth = 0;
+      callNodes[0] = root;
+      callEdges[0] = graph.offsets[root];
+      index[root] = lowLink[root] = nextIndex++;
+      stack[stackSize++] = root;
+      onStack[root] = true;
+
+      while (depth >= 0) {
+        int node = callNodes[depth];
+        int edge = callEdges[depth];
+        if (edge < graph.offsets[node + 1]) {
+          callEdges[depth]++;
+          int successor = graph.targets[edge];
+          if (index[successor] == UNDEFINED) {
+            index[successor] = lowLink[successor] = nextIndex++;
+            stack[stackSize++] = successor;
+            onStack[successor] = true;
+            depth++;
+            callNodes[depth] = successor;
+            callEdges[depth] = graph.offsets[successor];
+          }
+          else if (onStack[successor]) {
+            lowLink[node] = Math.min(lowLink[node], index[successor]);
+          }
+        }
+        else {
+          if (lowLink[node] == index[node]) {
+            int member;
+            do {
+              member = stack[--stackSize];
+              onStack[member] = false;
+              components[member] = componentCount;
+            } while (member != node);
+            componentCount++;
+          }
+          depth--;
+          if (depth >= 0) {
+            int parent = callNodes[depth];
+            lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+          }
+        }
+      }
+    }
+    return components;
+  }
+
+  /**
+   * Computes the immediate dominators of all nodes reachable from the root with the
+   * iterative algorithm of Cooper, Harvey and Kennedy.
+   *
+   * @return the immediate dominator of each node, the root is its own immediate
+   * dominator and unreachable nodes have no immediate dominator ({@link #UNDEFINED})
+   */
+  static int[] immediateDominators(Adjacency graph, int root) {
+    int nodeCount = graph.nodeCount;
+    int[] postOrder = postOrder(graph, root);
+    int[] postOrderNumber = new int[nodeCount];
+    Arrays.fill(postOrderNumber, UNDEFINED);
+    for (int i = 0; i < postOrder.length; i++) {
+      postOrderNumber[postOrder[i]] = i;
+    }
+    Adjacency predecessors = graph.reverse();
+
+    int[] dominators = new int[nodeCount];
+    Arrays.fill(dominators, UNDEFINED);
+    dominators[root] = root;
+    boolean isChanged = true;
+    while (isChanged) {
+      isChanged = false;
+      // visit the nodes in reverse post order, skipping the root
+      for (int i = postOrder.length - 2; i >= 0; i--) {
+        int node = postOrder[i];
+        int newDominator = UNDEFINED;
+        for (int edge = predecessors.offsets[node]; edge < predecessors.offsets[node + 1]; edge++) {
+          int predecessor = predecessors.targets[edge];
+          if (dominators[predecessor] != UNDEFINED) {
+            newDominator = newDominator == UNDEFINED ? predecessor : intersect(dominators, postOrderNumber, predecessor, newDominator);
+          }
+        }
+        if (dominators[node] != newDominator) {
+          dominators[node] = newDominator;
+          isChanged = true;
+        }
+      }
+    }
+    return dominators;
+  }
+
+  private static int intersect(int[] dominators, int[] postOrderNumber, int node, int otherNode) {
+    while (node != otherNode) {
+      while (postOrderNumber[node] < postOrderNumber[otherNode]) {
+        node = dominators[node];
+      }
+      while (postOrderNumber[otherNode] < postOrderNumber[node]) {
+        otherNode = dominators[otherNode];
+      }
+    }
+    return node;
+  }
+
+  /**
+   * @return the nodes reachable from the root in depth-first post order, the root is the last node
+   */
+  static int[] postOrder(Adjacency graph, int root) {
+    int nodeCount = graph.nodeCount;
+    int[] order = new int[nodeCount];
+    int orderSize = 0;
+    boolean[] visited = new boolean[nodeCount];
+    int[] callNodes = new int[nodeCount];
+    int[] callEdges = new int[nodeCount];
+    int depth = 0;
+    callNodes[0] = root;
+    callEdges[0] = graph.offsets[root];
+    visited[root] = true;
+
+    while (depth >= 0) {
+      int node = callNodes[depth];
+      int edge = callEdges[depth];
+      if (edge < graph.offsets[node + 1]) {
+        callEdges[depth]++;
+        int successor = graph.targets[edge];
+        if (!visited[successor]) {
+          visited[successor] = true;
+          depth++;
+          callNodes[depth] = successor;
+          callEdges[depth] = graph.offsets[successor];
+        }
+      }
+      else {
+        order[orderSize++] = node;
+        depth--;
+      }
+    }
+    return Arrays.copyOf(order, orderSize);
+  }
+
+}
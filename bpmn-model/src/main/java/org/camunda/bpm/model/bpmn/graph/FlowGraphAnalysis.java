@@ -0,0 +1,499 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.bpmn.graph;
+
+import static org.camunda.bpm.model.bpmn.graph.FlowGraph.NO_NODE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.camunda.bpm.model.bpmn.BpmnModelException;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.graph.FlowGraphAlgorithms.Adjacency;
+import org.camunda.bpm.model.bpmn.graph.FlowGraphAlgorithms.AdjacencyBuilder;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
+
+/**
+ * <p>The structural analysis of a {@link FlowGraph}. All results are computed when the
+ * analysis is created, in time linear in the size of the graph except for the dominator
+ * trees which are computed with the iterative algorithm of Cooper, Harvey and Kennedy:</p>
+ *
+ * <ul>
+ *   <li>reachability of every node from the start events of its scope,</li>
+ *   <li>reachability of an end event of its scope from every node,</li>
+ *   <li>strongly connected components and the loops which have no exit,</li>
+ *   <li>dominator and post-dominator trees and</li>
+ *   <li>the pairing of splitting and joining exclusive and parallel gateways.</li>
+ * </ul>
+ *
+ * <p>A sub process enters the start events and event sub processes it contains, an activity
+ * enters its boundary events. A scope without start events enters all nodes without incoming
+ * sequence flows. An activity is left by its outgoing sequence flows and its boundary events.</p>
+ *
+ * <p>The analysis is immutable and can be shared between threads.</p>
+ */
+public final class FlowGraphAnalysis {
+
+  private final FlowGraph graph;
+
+  private final boolean[] isReachable;
+  private final boolean[] isReachingEndEvent;
+  private final int[] components;
+  private final int componentCount;
+  private final List<int[]> loopsWithoutExit;
+  private final int[] immediateDominators;
+  private final int[] immediatePostDominators;
+  private final int[] pairedGateways;
+
+  /**
+   * Analyzes a flow graph.
+   *
+   * @param graph the graph to analyze
+   * @return the analysis of the graph
+   */
+  public static FlowGraphAnalysis analyze(FlowGraph graph) {
+    return new FlowGraphAnalysis(graph);
+  }
+
+  /**
+   * Analyzes the flow graphs in parallel.
+   *
+   * @param graphs the graphs to analyze
+   * @param executorService the executor service to run the analyses
+   * @return the analyses in the order of the graphs
+   * @throws BpmnModelException if an analysis fails or the current thread is interrupted
+   */
+  public static List<FlowGraphAnalysis> analyze(Collection<FlowGraph> graphs, ExecutorService executorService) {
+    List<Future<FlowGraphAnalysis>> futures = new ArrayList<Future<FlowGraphAnalysis>>();
+    for (final FlowGraph graph : graphs) {
+      futures.add(executorService.submit(new Callable<FlowGraphAnalysis>() {
+        public FlowGraphAnalysis call() {
+          return analyze(graph);
+        }
+      }));
+    }
+
+    List<FlowGraphAnalysis> analyses = new ArrayList<FlowGraphAnalysis>();
+    try {
+      for (Future<FlowGraphAnalysis> future : futures) {
+        analyses.add(future.get());
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BpmnModelException("Interrupted while analyzing flow graphs", e);
+    }
+    catch (ExecutionException e) {
+      throw new BpmnModelException("Unable to analyze flow graph", e.getCause());
+    }
+    finally {
+      for (Future<FlowGraphAnalysis> future : futures) {
+        future.cancel(true);
+      }
+    }
+    return analyses;
+  }
+
+  /**
+   * Compiles the flow graphs of all processes of the model instance and analyzes them in parallel.
+   * The graphs are compiled by the calling thread, as the model instance is not thread-safe.
+   *
+   * @param modelInstance the model instance to analyze
+   * @param executorService the executor service to run the analyses
+   * @return the analyses by process id in document order
+   * @throws BpmnModelException if a flow graph cannot be compiled or analyzed
+   */
+  public static Map<String, FlowGraphAnalysis> analyzeProcesses(BpmnModelInstance modelInstance, ExecutorService executorService) {
+    Collection<ModelElementInstance> processes = modelInstance.getModelElementsByType(modelInstance.getModel().getType(Process.class));
+    List<String> processIds = new ArrayList<String>();
+    List<FlowGraph> graphs = new ArrayList<FlowGraph>();
+    for (ModelElementInstance process : processes) {
+      processIds.add(((Process) process).getId());
+      graphs.add(FlowGraph.compile((Process) process));
+    }
+
+    List<FlowGraphAnalysis> analyses = analyze(graphs, executorService);
+    Map<String, FlowGraphAnalysis> analysesByProcessId = new LinkedHashMap<String, FlowGraphAnalysis>();
+    for (int i = 0; i < analyses.size(); i++) {
+      analysesByProcessId.put(processIds.get(i), analyses.get(i));
+    }
+    return analysesByProcessId;
+  }
+
+  private FlowGraphAnalysis(FlowGraph graph) {
+    this.graph = graph;
+    int nodeCount = graph.getNodeCount();
+
+    Adjacency flows = buildFlowAdjacency(graph);
+    Adjacency flowsAndBoundaryEvents = buildBoundaryEventAdjacency(graph);
+    Adjacency flowsAndEntries = buildEntryAdjacency(graph);
+    int processEntry = nodeCount;
+
+    // reachability
+    boolean[] reachable = FlowGraphAlgorithms.reachable(flowsAndEntries, new int[] { processEntry });
+    isReachable = Arrays.copyOf(reachable, nodeCount);
+    isReachingEndEvent = FlowGraphAlgorithms.reachable(flowsAndBoundaryEvents.reverse(), getCompletingNodes(graph));
+
+    // loops
+    components = FlowGraphAlgorithms.stronglyConnectedComponents(flows);
+    int maxComponent = -1;
+    for (int component : components) {
+      maxComponent = Math.max(maxComponent, component);
+    }
+    componentCount = maxComponent + 1;
+    loopsWithoutExit = findLoopsWithoutExit(graph, flows, components, componentCount);
+
+    // dominators
+    immediateDominators = toNodeIndices(FlowGraphAlgorithms.immediateDominators(flowsAndEntries, processEntry), nodeCount);
+    Adjacency reversedFlowsToExit = buildExitAdjacency(graph, flowsAndBoundaryEvents);
+    immediatePostDominators = toNodeIndices(FlowGraphAlgorithms.immediateDominators(reversedFlowsToExit, nodeCount), nodeCount);
+
+    pairedGateways = pairGateways(graph, immediateDominators, immediatePostDominators);
+  }
+
+  // graph construction ///////////////////////////////////////////
+
+  private static Adjacency buildFlowAdjacency(FlowGraph graph) {
+    AdjacencyBuilder builder = new AdjacencyBuilder(graph.getNodeCount());
+    for (int flow = 0; flow < graph.getFlowCount(); flow++) {
+      builder.addEdge(graph.getFlowSource(flow), graph.getFlowTarget(flow));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Builds the sequence flows together with the edges from each activity to its boundary events.
+   */
+  private static Adjacency buildBoundaryEventAdjacency(FlowGraph graph) {
+    AdjacencyBuilder builder = new AdjacencyBuilder(graph.getNodeCount());
+    for (int flow = 0; flow < graph.getFlowCount(); flow++) {
+      builder.addEdge(graph.getFlowSource(flow), graph.getFlowTarget(flow));
+    }
+    for (int node = 0; node < graph.getNodeCount(); node++) {
+      int attachedToNode = graph.getAttachedToNode(node);
+      if (attachedToNode != NO_NODE) {
+        builder.addEdge(attachedToNode, node);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Builds the sequence flows together with the edges from each scope to the nodes it enters.
+   * The additional node with index node count is the entry of the process.
+   */
+  private static Adjacency buildEntryAdjacency(FlowGraph graph) {
+    int nodeCount = graph.getNodeCount();
+    int processEntry = nodeCount;
+    AdjacencyBuilder builder = new AdjacencyBuilder(nodeCount + 1);
+    for (int flow = 0; flow < graph.getFlowCount(); flow++) {
+      builder.addEdge(graph.getFlowSource(flow), graph.getFlowTarget(flow));
+    }
+
+    // scope index 0 is the process, scope index node + 1 is the sub process node
+    boolean[] hasStartEvent = new boolean[nodeCount + 1];
+    for (int node = 0; node < nodeCount; node++) {
+      if (graph.getNodeKind(node) == FlowNodeKind.START_EVENT) {
+        hasStartEvent[graph.getParentNode(node) + 1] = true;
+      }
+    }
+    for (int node = 0; node < nodeCount; node++) {
+      FlowNodeKind kind = graph.getNodeKind(node);
+      int parentNode = graph.getParentNode(node);
+      int scopeEntry = parentNode == NO_NODE ? processEntry : parentNode;
+      if (kind == FlowNodeKind.BOUNDARY_EVENT) {
+        int attachedToNode = graph.getAttachedToNode(node);
+        if (attachedToNode != NO_NODE) {
+          builder.addEdge(attachedToNode, node);
+        }
+      }
+      else if (kind == FlowNodeKind.START_EVENT || kind == FlowNodeKind.EVENT_SUB_PROCESS
+        || (!hasStartEvent[parentNode + 1] && graph.getIncomingFlowCount(node) == 0)) {
+        builder.addEdge(scopeEntry, node);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Builds the reversed edges together with edges from an additional exit node, with
+   * index node count, to all nodes without outgoing edges.
+   */
+  private static Adjacency buildExitAdjacency(FlowGraph graph, Adjacency flows) {
+    int nodeCount = graph.getNodeCount();
+    AdjacencyBuilder builder = new AdjacencyBuilder(nodeCount + 1);
+    for (int node = 0; node < nodeCount; node++) {
+      if (flows.offsets[node] == flows.offsets[node + 1]) {
+        builder.addEdge(nodeCount, node);
+      }
+      for (int edge = flows.offsets[node]; edge < flows.offsets[node + 1]; edge++) {
+        builder.addEdge(flows.targets[edge], node);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * @return the end events and the event sub processes, which complete with their own end events
+   */
+  private static int[] getCompletingNodes(FlowGraph graph) {
+    int[] nodes = new int[graph.getNodeCount()];
+    int count = 0;
+    for (int node = 0; node < graph.getNodeCount(); node++) {
+      FlowNodeKind kind = graph.getNodeKind(node);
+      if (kind == FlowNodeKind.END_EVENT || kind == FlowNodeKind.EVENT_SUB_PROCESS) {
+        nodes[count++] = node;
+      }
+    }
+    return Arrays.copyOf(nodes, count);
+  }
+
+  /**
+   * Maps the dominators computed with an additional root node to node indices, the
+   * additional node and undefined dominators become {@link FlowGraph#NO_NODE}.
+   */
+  private static int[] toNodeIndices(int[] dominators, int nodeCount) {
+    int[] nodeIndices = new int[nodeCount];
+    for (int node = 0; node < nodeCount; node++) {
+      int dominator = dominators[node];
+      nodeIndices[node] = dominator == nodeCount ? NO_NODE : dominator;
+    }
+    return nodeIndices;
+  }
+
+  // analysis /////////////////////////////////////////////////////
+
+  /**
+   * A loop has no exit if no sequence flow leaves its strongly connected component and
+   * none of its activities has a boundary event.
+   */
+  private static List<int[]> findLoopsWithoutExit(FlowGraph graph, Adjacency flows, int[] components, int componentCount) {
+    int nodeCount = graph.getNodeCount();
+    int[] componentSizes = new int[componentCount];
+    boolean[] isLoop = new boolean[componentCount];
+    boolean[] hasExit = new boolean[componentCount];
+    for (int node = 0; node < nodeCount; node++) {
+      int component = components[node];
+      componentSizes[component]++;
+      for (int edge = flows.offsets[node]; edge < flows.offsets[node + 1]; edge++) {
+        int target = flows.targets[edge];
+        if (target == node) {
+          isLoop[component] = true;
+        }
+        else if (components[target] != component) {
+          hasExit[component] = true;
+        }
+      }
+      int attachedToNode = graph.getAttachedToNode(node);
+      if (attachedToNode != NO_NODE) {
+        hasExit[components[attachedToNode]] = true;
+      }
+    }
+
+    List<int[]> loops = new ArrayList<int[]>();
+    int[][] loopNodes = new int[componentCount][];
+    int[] loopSizes = new int[componentCount];
+    for (int node = 0; node < nodeCount; node++) {
+      int component = components[node];
+      if ((isLoop[component] || componentSizes[component] > 1) && !hasExit[component]) {
+        if (loopNodes[component] == null) {
+          loopNodes[component] = new int[componentSizes[component]];
+          loops.add(loopNodes[component]);
+        }
+        loopNodes[component][loopSizes[component]++] = node;
+      }
+    }
+    return loops;
+  }
+
+  /**
+   * A splitting gateway with more than one outgoing sequence flow is paired with the joining
+   * gateway of the same kind with more than one incoming sequence flow, if the join is its
+   * immediate post-dominator and the split is the immediate dominator of the join.
+   */
+  private static int[] pairGateways(FlowGraph graph, int[] immediateDominators, int[] immediatePostDominators) {
+    int[] pairedGateways = new int[graph.getNodeCount()];
+    Arrays.fill(pairedGateways, NO_NODE);
+    for (int split = 0; split < graph.getNodeCount(); split++) {
+      FlowNodeKind kind = graph.getNodeKind(split);
+      if (isPairedGatewayKind(kind) && graph.getOutgoingFlowCount(split) > 1) {
+        int join = immediatePostDominators[split];
+        if (join != NO_NODE && graph.getNodeKind(join) == kind && graph.getIncomingFlowCount(join) > 1
+          && immediateDominators[join] == split) {
+          pairedGateways[split] = join;
+          pairedGateways[join] = split;
+        }
+      }
+    }
+    return pairedGateways;
+  }
+
+  private static boolean isPairedGatewayKind(FlowNodeKind kind) {
+    return kind == FlowNodeKind.EXCLUSIVE_GATEWAY || kind == FlowNodeKind.PARALLEL_GATEWAY;
+  }
+
+  private static int[] select(boolean[] values, boolean value) {
+    int[] nodes = new int[values.length];
+    int count = 0;
+    for (int node = 0; node < values.length; node++) {
+      if (values[node] == value) {
+        nodes[count++] = node;
+      }
+    }
+    return Arrays.copyOf(nodes, count);
+  }
+
+  // results //////////////////////////////////////////////////////
+
+  public FlowGraph getGraph() {
+    return graph;
+  }
+
+  /**
+   * @param node the index of the node
+   * @return true if the node is reachable from the start events of its scope
+   */
+  public boolean isReachable(int node) {
+    return isReachable[node];
+  }
+
+  /**
+   * @return the indices of all nodes which are not reachable from the start events of their scope
+   */
+  public int[] getUnreachableNodes() {
+    return select(isReachable, false);
+  }
+
+  /**
+   * @param node the index of the node
+   * @return true if an end event of the scope of the node is reachable from the node
+   */
+  public boolean isReachingEndEvent(int node) {
+    return isReachingEndEvent[node];
+  }
+
+  /**
+   * @return the indices of all nodes from which no end event of their scope is reachable
+   */
+  public int[] getNodesNotReachingEndEvent() {
+    return select(isReachingEndEvent, false);
+  }
+
+  /**
+   * @param node the index of the node
+   * @return the number of the strongly connected component of the node, components are
+   * numbered in reverse topological order of the sequence flows between them
+   */
+  public int getComponent(int node) {
+    return components[node];
+  }
+
+  public int getComponentCount() {
+    return componentCount;
+  }
+
+  /**
+   * @return the node indices of all loops which cannot be left by a sequence flow or a boundary event
+   */
+  public List<int[]> getLoopsWithoutExit() {
+    List<int[]> loops = new ArrayList<int[]>();
+    for (int[] loop : loopsWithoutExit) {
+      loops.add(loop.clone());
+    }
+    return loops;
+  }
+
+  /**
+   * @param node the index of the node
+   * @return the index of the immediate dominator of the node or {@link FlowGraph#NO_NODE} if the node
+   * is an entry of the process or is unreachable
+   */
+  public int getImmediateDominator(int node) {
+    return immediateDominators[node];
+  }
+
+  /**
+   * @param node the index of the node
+   * @return the index of the immediate post-dominator of the node or {@link FlowGraph#NO_NODE} if the
+   * node has no outgoing sequence flows and boundary events or cannot reach such a node
+   */
+  public int getImmediatePostDominator(int node) {
+    return immediatePostDominators[node];
+  }
+
+  /**
+   * @return true if every path from the entry of the process to the node passes through the dominator
+   */
+  public boolean dominates(int dominator, int node) {
+    return isAncestor(immediateDominators, dominator, node);
+  }
+
+  /**
+   * @return true if every path from the node to a node without outgoing sequence flows and boundary events
+   * passes through the post-dominator
+   */
+  public boolean postDominates(int postDominator, int node) {
+    return isAncestor(immediatePostDominators, postDominator, node);
+  }
+
+  private static boolean isAncestor(int[] tree, int ancestor, int node) {
+    while (node != NO_NODE) {
+      if (node == ancestor) {
+        return true;
+      }
+      node = tree[node];
+    }
+    return false;
+  }
+
+  /**
+   * @param gateway the index of an exclusive or parallel gateway
+   * @return the index of the matching join of a split or split of a join or {@link FlowGraph#NO_NODE}
+   * if the gateway is not paired
+   */
+  public int getPairedGateway(int gateway) {
+    return pairedGateways[gateway];
+  }
+
+  /**
+   * @return the indices of all splitting or joining exclusive and parallel gateways which are not paired
+   */
+  public int[] getUnpairedGateways() {
+    int[] gateways = new int[graph.getNodeCount()];
+    int count = 0;
+    for (int node = 0; node < graph.getNodeCount(); node++) {
+      if (isPairedGatewayKind(graph.getNodeKind(node)) && pairedGateways[node] == NO_NODE
+        && (graph.getOutgoingFlowCount(node) > 1 || graph.getIncomingFlowCount(node) > 1)) {
+        gateways[count++] = node;
+      }
+    }
+    return Arrays.copyOf(gateways, count);
+  }
+
+  /**
+   * @return true if all nodes are reachable, can reach an end event and no loop is without exit
+   */
+  public boolean isSound() {
+    return getUnreachableNodes().length == 0 && getNodesNotReachingEndEvent().length == 0 && loopsWithoutExit.isEmpty();
+  }
+
+}
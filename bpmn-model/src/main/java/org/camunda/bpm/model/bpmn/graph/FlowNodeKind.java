@@ -0,0 +1,105 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.bpmn.graph;
+
+import org.camunda.bpm.model.bpmn.instance.Activity;
+import org.camunda.bpm.model.bpmn.instance.BoundaryEvent;
+import org.camunda.bpm.model.bpmn.instance.EndEvent;
+import org.camunda.bpm.model.bpmn.instance.Event;
+import org.camunda.bpm.model.bpmn.instance.ExclusiveGateway;
+import org.camunda.bpm.model.bpmn.instance.FlowNode;
+import org.camunda.bpm.model.bpmn.instance.Gateway;
+import org.camunda.bpm.model.bpmn.instance.ParallelGateway;
+import org.camunda.bpm.model.bpmn.instance.StartEvent;
+import org.camunda.bpm.model.bpmn.instance.SubProcess;
+import org.camunda.bpm.model.bpmn.instance.Task;
+
+/**
+ * The kind of a node of a {@link FlowGraph}.
+ */
+public enum FlowNodeKind {
+
+  START_EVENT,
+  END_EVENT,
+  BOUNDARY_EVENT,
+  INTERMEDIATE_EVENT,
+  TASK,
+  SUB_PROCESS,
+  EVENT_SUB_PROCESS,
+  ACTIVITY,
+  EXCLUSIVE_GATEWAY,
+  PARALLEL_GATEWAY,
+  GATEWAY,
+  OTHER;
+
+  public boolean isEvent() {
+    return this == START_EVENT || this == END_EVENT || this == BOUNDARY_EVENT || this == INTERMEDIATE_EVENT;
+  }
+
+  public boolean isActivity() {
+    return this == TASK || this == SUB_PROCESS || this == EVENT_SUB_PROCESS || this == ACTIVITY;
+  }
+
+  public boolean isGateway() {
+    return this == EXCLUSIVE_GATEWAY || this == PARALLEL_GATEWAY || this == GATEWAY;
+  }
+
+  /**
+   * Returns the most specific kind of the flow node.
+   *
+   * @param flowNode the flow node to classify
+   * @return the kind of the flow node
+   */
+  public static FlowNodeKind of(FlowNode flowNode) {
+    if (flowNode instanceof Event) {
+      if (flowNode instanceof StartEvent) {
+        return START_EVENT;
+      }
+      else if (flowNode instanceof EndEvent) {
+        return END_EVENT;
+      }
+      else if (flowNode instanceof BoundaryEvent) {
+        return BOUNDARY_EVENT;
+      }
+      else {
+        return INTERMEDIATE_EVENT;
+      }
+    }
+    else if (flowNode instanceof Activity) {
+      if (flowNode instanceof Task) {
+        return TASK;
+      }
+      else if (flowNode instanceof SubProcess) {
+        return ((SubProcess) flowNode).triggeredByEvent() ? EVENT_SUB_PROCESS : SUB_PROCESS;
+      }
+      else {
+        return ACTIVITY;
+      }
+    }
+    else if (flowNode instanceof Gateway) {
+      if (flowNode instanceof ExclusiveGateway) {
+        return EXCLUSIVE_GATEWAY;
+      }
+      else if (flowNode instanceof ParallelGateway) {
+        return PARALLEL_GATEWAY;
+      }
+      else {
+        return GATEWAY;
+      }
+    }
+    else {
+      return OTHER;
+    }
+  }
+
+}
@@ -13,7 +13,9 @@
 package org.camunda.bpm.model.bpmn.impl;
 
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.Query;
 import org.camunda.bpm.model.bpmn.impl.instance.DefinitionsImpl;
+import org.camunda.bpm.model.bpmn.instance.BpmnModelElementInstance;
 import org.camunda.bpm.model.bpmn.instance.Definitions;
 import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.ModelImpl;
@@ -39,4 +41,8 @@ public class BpmnModelInstanceImpl extends ModelInstanceImpl implements BpmnMode
     setDocumentElement(definitions);
   }
 
+  public <T extends BpmnModelElementInstance> Query<T> query(Class<T> instanceClass) {
+    return QueryImpl.forType(this, instanceClass);
+  }
+
 }
@@ -15,49 +15,473 @@ package org.camunda.bpm.model.bpmn.impl;
 
 import org.camunda.bpm.model.bpmn.BpmnModelException;
 import org.camunda.bpm.model.bpmn.Query;
+import org.camunda.bpm.model.bpmn.QueryFilter;
 import org.camunda.bpm.model.bpmn.instance.BpmnModelElementInstance;
+import org.camunda.bpm.model.bpmn.instance.FlowNode;
+import org.camunda.bpm.model.bpmn.instance.SequenceFlow;
+import org.camunda.bpm.model.xml.UnsupportedModelOperationException;
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
+import org.camunda.bpm.model.xml.impl.type.ModelElementTypeImpl;
+import org.camunda.bpm.model.xml.impl.type.attribute.AttributeImpl;
+import org.camunda.bpm.model.xml.impl.util.ModelUtil;
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.camunda.bpm.model.xml.type.ModelElementType;
+import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.reference.Reference;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
+ * A lazily evaluated query. Every query wraps an {@link Iterable} source and each step
+ * wraps the iterator of the previous query, so no intermediate results are materialized.
+ *
  * @author Sebastian Menski
  */
 public class QueryImpl<T extends BpmnModelElementInstance> implements Query<T> {
 
-  private final Collection<T> collection;
+  private final Iterable<T> source;
+
+  /** the model instance and the type if this query selects all instances of the type, otherwise null */
+  private final ModelInstanceImpl modelInstance;
+  private final ModelElementTypeImpl elementType;
+
+  public QueryImpl(Iterable<T> source) {
+    this(source, null, null);
+  }
+
+  protected QueryImpl(Iterable<T> source, ModelInstanceImpl modelInstance, ModelElementTypeImpl elementType) {
+    this.source = source;
+    this.modelInstance = modelInstance;
+    this.elementType = elementType;
+  }
+
+  /**
+   * Creates a query for all instances of a type which reads the elements from the
+   * element name index of the model instance.
+   *
+   * @param modelInstance the model instance to query
+   * @param instanceClass the instance class of the type
+   * @return the query for all instances of the type and its extending types
+   * @throws BpmnModelException if the type is not part of the model
+   */
+  public static <T extends BpmnModelElementInstance> Query<T> forType(final ModelInstanceImpl modelInstance, Class<T> instanceClass) {
+    final ModelElementTypeImpl elementType = (ModelElementTypeImpl) modelInstance.getModel().getType(instanceClass);
+    if (elementType == null) {
+      throw new BpmnModelException("Unknown element type " + instanceClass.getName());
+    }
+
+    Iterable<T> instances = new Iterable<T>() {
+      public Iterator<T> iterator() {
+        final Iterator<ModelElementType> types = elementType.getAllExtendingTypes().iterator();
+        return new LazyIterator<T>() {
+          private Iterator<Element> elements = Collections.<Element>emptyList().iterator();
+
+          @SuppressWarnings("unchecked")
+          protected T computeNext() {
+            while (!elements.hasNext()) {
+              if (!types.hasNext()) {
+                return null;
+              }
+              ModelElementType type = types.next();
+              if (!type.isAbstract()) {
+                elements = modelInstance.getElementsByNameNs(type.getTypeName(), type.getTypeNamespace()).iterator();
+              }
+            }
+            return (T) ModelUtil.getModelElement(elements.next(), modelInstance);
+          }
+        };
+      }
+    };
+    return new QueryImpl<T>(instances, modelInstance, elementType);
+  }
+
+  // evaluation ///////////////////////////////////////////////////
 
-  public QueryImpl(Collection<T> collection) {
-    this.collection = collection;
+  public Iterator<T> iterator() {
+    return source.iterator();
   }
 
   public List<T> list() {
-    return new ArrayList<T>(collection);
+    List<T> list = new ArrayList<T>();
+    for (T element : this) {
+      list.add(element);
+    }
+    return list;
   }
 
   public int count() {
-    return collection.size();
+    int count = 0;
+    for (Iterator<T> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+      count++;
+    }
+    return count;
   }
 
   public T singleResult() {
-    if (collection.size() == 1) {
-      return collection.iterator().next();
+    Iterator<T> iterator = iterator();
+    if (iterator.hasNext()) {
+      T result = iterator.next();
+      if (!iterator.hasNext()) {
+        return result;
+      }
+    }
+    throw new BpmnModelException("Collection expected to have <1> entry but has <" + count() + ">");
+  }
+
+  public T first() {
+    Iterator<T> iterator = iterator();
+    return iterator.hasNext() ? iterator.next() : null;
+  }
+
+  // filters //////////////////////////////////////////////////////
+
+  public Query<T> filter(final QueryFilter<? super T> filter) {
+    return new QueryImpl<T>(new Iterable<T>() {
+      public Iterator<T> iterator() {
+        final Iterator<T> elements = source.iterator();
+        return new LazyIterator<T>() {
+          protected T computeNext() {
+            while (elements.hasNext()) {
+              T element = elements.next();
+              if (filter.matches(element)) {
+                return element;
+              }
+            }
+            return null;
+          }
+        };
+      }
+    });
+  }
+
+  public Query<?> filterByType(final ModelElementType elementType) {
+    final Class<?> elementClass = elementType.getInstanceType();
+    return filter(new QueryFilter<T>() {
+      public boolean matches(T element) {
+        if (elementType instanceof ModelElementTypeImpl) {
+          return ((ModelElementTypeImpl) elementType).isBaseTypeOf(element.getElementType());
+        }
+        else {
+          return elementClass.isAssignableFrom(element.getClass());
+        }
+      }
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  public <V extends BpmnModelElementInstance> Query<V> filterByType(final Class<V> elementClass) {
+    return (Query<V>) (Query<?>) filter(new QueryFilter<T>() {
+      public boolean matches(T element) {
+        return elementClass.isInstance(element);
+      }
+    });
+  }
+
+  public Query<T> id(final String id) {
+    if (modelInstance == null) {
+      return attributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_ID, id);
+    }
+
+    // look up the element in the id index instead of iterating all instances of the type
+    return new QueryImpl<T>(new Iterable<T>() {
+      @SuppressWarnings("unchecked")
+      public Iterator<T> iterator() {
+        Element element = modelInstance.getElementById(id);
+        if (element != null) {
+          ModelElementInstance instance = ModelUtil.getModelElement(element, modelInstance);
+          if (elementType.isBaseTypeOf(instance.getElementType())) {
+            return Collections.singletonList((T) instance).iterator();
+          }
+        }
+        return Collections.<T>emptyList().iterator();
+      }
+    });
+  }
+
+  public Query<T> idStartsWith(final String prefix) {
+    return filter(new QueryFilter<T>() {
+      public boolean matches(T element) {
+        String id = element.getAttributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_ID);
+        return id != null && id.startsWith(prefix);
+      }
+    });
+  }
+
+  public Query<T> attributeValue(final String attributeName, final String value) {
+    Query<T> indexQuery = attributeIndexQuery(attributeName, null, value, false);
+    if (indexQuery != null) {
+      return indexQuery;
+    }
+    return filter(new QueryFilter<T>() {
+      public boolean matches(T element) {
+        return value.equals(element.getAttributeValue(attributeName));
+      }
+    });
+  }
+
+  public Query<T> attributeValueNs(final String attributeName, final String namespaceUri, final String value) {
+    Query<T> indexQuery = attributeIndexQuery(attributeName, namespaceUri, value, false);
+    if (indexQuery != null) {
+      return indexQuery;
+    }
+    return filter(new QueryFilter<T>() {
+      public boolean matches(T element) {
+        return value.equals(element.getAttributeValueNs(attributeName, namespaceUri));
+      }
+    });
+  }
+
+  public Query<T> attributeListContains(final String attributeName, final String item) {
+    Query<T> indexQuery = attributeIndexQuery(attributeName, null, item, true);
+    if (indexQuery != null) {
+      return indexQuery;
+    }
+    return filter(new QueryFilter<T>() {
+      public boolean matches(T element) {
+        return isListItem(element.getAttributeValue(attributeName), item);
+      }
+    });
+  }
+
+  public Query<T> attributeListContainsNs(final String attributeName, final String namespaceUri, final String item) {
+    Query<T> indexQuery = attributeIndexQuery(attributeName, namespaceUri, item, true);
+    if (indexQuery != null) {
+      return indexQuery;
     }
-    else {
-      throw new BpmnModelException("Collection expected to have <1> entry but has <" + collection.size() + ">");
+    return filter(new QueryFilter<T>() {
+      public boolean matches(T element) {
+        return isListItem(element.getAttributeValueNs(attributeName, namespaceUri), item);
+      }
+    });
+  }
+
+  private static boolean isListItem(String list, String item) {
+    if (list != null) {
+      for (String listItem : list.split(",")) {
+        if (listItem.trim().equals(item)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Creates a query which reads the elements from the secondary index of an attribute
+   * of the queried type.
+   *
+   * @param key the attribute value or, for list indexed attributes, the list item
+   * @param isListItem true if the key is a list item
+   * @return the query or null if this query does not select all instances of a type
+   * or the attribute is not indexed by the key
+   */
+  private Query<T> attributeIndexQuery(String attributeName, String namespaceUri, final String key, boolean isListItem) {
+    if (modelInstance == null) {
+      return null;
     }
+    final Attribute<?> attribute = elementType.getAttribute(attributeName);
+    if (attribute == null || !attribute.isIndexed() || ((AttributeImpl<?>) attribute).isListIndexed() != isListItem) {
+      return null;
+    }
+    if (namespaceUri == null ? attribute.getNamespaceUri() != null : !namespaceUri.equals(attribute.getNamespaceUri())) {
+      return null;
+    }
+
+    return new QueryImpl<T>(new Iterable<T>() {
+      public Iterator<T> iterator() {
+        final Iterator<Element> elements = modelInstance.getElementsByAttributeValue(attribute, key).iterator();
+        return new LazyIterator<T>() {
+          @SuppressWarnings("unchecked")
+          protected T computeNext() {
+            while (elements.hasNext()) {
+              // the index of an attribute of a base type also contains instances of other extending types
+              ModelElementInstance instance = ModelUtil.getModelElement(elements.next(), modelInstance);
+              if (elementType.isBaseTypeOf(instance.getElementType())) {
+                return (T) instance;
+              }
+            }
+            return null;
+          }
+        };
+      }
+    });
+  }
+
+  public Query<T> limit(final int maxResults) {
+    return new QueryImpl<T>(new Iterable<T>() {
+      public Iterator<T> iterator() {
+        final Iterator<T> elements = source.iterator();
+        return new LazyIterator<T>() {
+          private int count = 0;
+
+          protected T computeNext() {
+            if (count < maxResults && elements.hasNext()) {
+              count++;
+              return elements.next();
+            }
+            return null;
+          }
+        };
+      }
+    });
   }
 
-  public Query<?> filterByType(ModelElementType elementType) {
-    List<T> filtered = new ArrayList<T>();
-    Class<?> elementClass = elementType.getInstanceType();
-    for (T instance : collection) {
-      if (elementClass.isAssignableFrom(instance.getClass())) {
-        filtered.add(instance);
+  // traversal ////////////////////////////////////////////////////
+
+  public Query<BpmnModelElementInstance> children() {
+    return traverse(new Traversal<T, BpmnModelElementInstance>() {
+      public void collect(T element, List<BpmnModelElementInstance> results) {
+        ModelInstanceImpl elementModelInstance = (ModelInstanceImpl) element.getModelInstance();
+        for (Node child = element.getDomElement().getFirstChild(); child != null; child = child.getNextSibling()) {
+          if (child.getNodeType() == Node.ELEMENT_NODE) {
+            ModelElementInstance childElement = ModelUtil.getModelElement((Element) child, elementModelInstance);
+            if (childElement instanceof BpmnModelElementInstance) {
+              results.add((BpmnModelElementInstance) childElement);
+            }
+          }
+        }
       }
+    }, false);
+  }
+
+  public <V extends BpmnModelElementInstance> Query<V> children(Class<V> childClass) {
+    return children().filterByType(childClass);
+  }
+
+  public Query<BpmnModelElementInstance> parent() {
+    return traverse(new Traversal<T, BpmnModelElementInstance>() {
+      public void collect(T element, List<BpmnModelElementInstance> results) {
+        ModelElementInstance parentElement = element.getParentElement();
+        if (parentElement instanceof BpmnModelElementInstance) {
+          results.add((BpmnModelElementInstance) parentElement);
+        }
+      }
+    }, true);
+  }
+
+  public Query<BpmnModelElementInstance> referencedElements() {
+    return traverse(new Traversal<T, BpmnModelElementInstance>() {
+      public void collect(T element, List<BpmnModelElementInstance> results) {
+        for (Reference<?> reference : ((ModelElementTypeImpl) element.getElementType()).getAllOutgoingReferences()) {
+          ModelElementInstance referenceTargetElement = reference.getReferenceTargetElement(element);
+          if (referenceTargetElement instanceof BpmnModelElementInstance) {
+            results.add((BpmnModelElementInstance) referenceTargetElement);
+          }
+        }
+      }
+    }, true);
+  }
+
+  public Query<FlowNode> succeedingNodes() {
+    return traverse(new Traversal<T, FlowNode>() {
+      public void collect(T element, List<FlowNode> results) {
+        if (element instanceof FlowNode) {
+          for (SequenceFlow sequenceFlow : ((FlowNode) element).getOutgoing()) {
+            results.add(sequenceFlow.getTarget());
+          }
+        }
+      }
+    }, true);
+  }
+
+  public Query<FlowNode> previousNodes() {
+    return traverse(new Traversal<T, FlowNode>() {
+      public void collect(T element, List<FlowNode> results) {
+        if (element instanceof FlowNode) {
+          for (SequenceFlow sequenceFlow : ((FlowNode) element).getIncoming()) {
+            results.add(sequenceFlow.getSource());
+          }
+        }
+      }
+    }, true);
+  }
+
+  /**
+   * Creates a query which replaces each element of this query with the elements it leads to.
+   *
+   * @param traversal the traversal step
+   * @param isDistinctRequired true if different elements can lead to the same element, duplicates are skipped then
+   */
+  protected <R extends BpmnModelElementInstance> Query<R> traverse(final Traversal<T, R> traversal, final boolean isDistinctRequired) {
+    return new QueryImpl<R>(new Iterable<R>() {
+      public Iterator<R> iterator() {
+        final Iterator<T> elements = source.iterator();
+        return new LazyIterator<R>() {
+          private final List<R> results = new ArrayList<R>();
+          private final Set<R> visited = isDistinctRequired ? new HashSet<R>() : null;
+          private int position = 0;
+
+          protected R computeNext() {
+            while (true) {
+              while (position < results.size()) {
+                R result = results.get(position++);
+                if (result != null && (visited == null || visited.add(result))) {
+                  return result;
+                }
+              }
+              if (!elements.hasNext()) {
+                return null;
+              }
+              results.clear();
+              position = 0;
+              traversal.collect(elements.next(), results);
+            }
+          }
+        };
+      }
+    });
+  }
+
+  /**
+   * A traversal step from an element to related elements.
+   */
+  protected interface Traversal<S, R> {
+
+    /**
+     * Adds the elements related to the element to the results.
+     */
+    void collect(S element, List<R> results);
+
+  }
+
+  /**
+   * An iterator which computes its next element on demand, null marks the end.
+   */
+  protected abstract static class LazyIterator<E> implements Iterator<E> {
+
+    private E next;
+    private boolean isComputed = false;
+
+    protected abstract E computeNext();
+
+    public boolean hasNext() {
+      if (!isComputed) {
+        next = computeNext();
+        isComputed = true;
+      }
+      return next != null;
+    }
+
+    public E next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      isComputed = false;
+      return next;
+    }
+
+    public void remove() {
+      throw new UnsupportedModelOperationException("remove()", "query results cannot be removed");
     }
-    return new QueryImpl<T>(filtered);
+
   }
+
 }
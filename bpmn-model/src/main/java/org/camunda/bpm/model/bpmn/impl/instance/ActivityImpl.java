@@ -18,7 +18,8 @@ import org.camunda.bpm.model.bpmn.instance.*;
 import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
-import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
+import org.camunda.bpm.model.xml.type.attribute.IntegerAttribute;
 import org.camunda.bpm.model.xml.type.child.ChildElement;
 import org.camunda.bpm.model.xml.type.child.ChildElementCollection;
 import org.camunda.bpm.model.xml.type.child.SequenceBuilder;
@@ -35,9 +36,9 @@ import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.*;
  */
 public abstract class ActivityImpl extends FlowNodeImpl implements Activity {
 
-  private static Attribute<Boolean> isForCompensationAttribute;
-  private static Attribute<Integer> startQuantityAttribute;
-  private static Attribute<Integer> completionQuantityAttribute;
+  private static BooleanAttribute isForCompensationAttribute;
+  private static IntegerAttribute startQuantityAttribute;
+  private static IntegerAttribute completionQuantityAttribute;
   private static AttributeReference<SequenceFlow> defaultAttribute;
   private static ChildElement<IoSpecification> ioSpecificationChild;
   private static ChildElementCollection<Property> propertyCollection;
@@ -96,27 +97,27 @@ public abstract class ActivityImpl extends FlowNodeImpl implements Activity {
   }
 
   public boolean isForCompensation() {
-    return isForCompensationAttribute.getValue(this);
+    return isForCompensationAttribute.getBoolean(this, false);
   }
 
   public void setForCompensation(boolean isForCompensation) {
-    isForCompensationAttribute.setValue(this, isForCompensation);
+    isForCompensationAttribute.setBoolean(this, isForCompensation);
   }
 
   public int getStartQuantity() {
-    return startQuantityAttribute.getValue(this);
+    return startQuantityAttribute.getInt(this, 1);
   }
 
   public void setStartQuantity(int startQuantity) {
-    startQuantityAttribute.setValue(this, startQuantity);
+    startQuantityAttribute.setInt(this, startQuantity);
   }
 
   public int getCompletionQuantity() {
-    return completionQuantityAttribute.getValue(this);
+    return completionQuantityAttribute.getInt(this, 1);
   }
 
   public void setCompletionQuantity(int completionQuantity) {
-    completionQuantityAttribute.setValue(this, completionQuantity);
+    completionQuantityAttribute.setInt(this, completionQuantity);
   }
 
   public SequenceFlow getDefault() {
@@ -19,7 +19,7 @@ import org.camunda.bpm.model.bpmn.instance.CatchEvent;
 import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
-import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 import org.camunda.bpm.model.xml.type.reference.AttributeReference;
 
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.*;
@@ -32,7 +32,7 @@ import static org.camunda.bpm.model.xml.type.ModelElementTypeBuilder.ModelTypeIn
  */
 public class BoundaryEventImpl extends CatchEventImpl implements BoundaryEvent {
 
-  private static Attribute<Boolean> cancelActivityAttribute;
+  private static BooleanAttribute cancelActivityAttribute;
   private static AttributeReference<Activity> attachedToRefAttribute;
 
   public static void registerType(ModelBuilder modelBuilder) {
@@ -62,11 +62,11 @@ public class BoundaryEventImpl extends CatchEventImpl implements BoundaryEvent {
   }
 
   public boolean cancelActivity() {
-    return cancelActivityAttribute.getValue(this);
+    return cancelActivityAttribute.getBoolean(this, false);
   }
 
   public void setCancelActivity(boolean cancelActivity) {
-    cancelActivityAttribute.setValue(this, cancelActivity);
+    cancelActivityAttribute.setBoolean(this, cancelActivity);
   }
 
   public Activity getAttachedTo() {
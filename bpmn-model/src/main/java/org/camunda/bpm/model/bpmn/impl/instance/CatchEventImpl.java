@@ -17,7 +17,7 @@ import org.camunda.bpm.model.bpmn.instance.*;
 import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
-import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 import org.camunda.bpm.model.xml.type.child.ChildElement;
 import org.camunda.bpm.model.xml.type.child.ChildElementCollection;
 import org.camunda.bpm.model.xml.type.child.SequenceBuilder;
@@ -34,7 +34,7 @@ import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.*;
  */
 public abstract class CatchEventImpl extends EventImpl implements CatchEvent {
 
-  private static Attribute<Boolean> parallelMultipleAttribute;
+  private static BooleanAttribute parallelMultipleAttribute;
   private static ChildElementCollection<DataOutput> dataOutputCollection;
   private static ChildElementCollection<DataOutputAssociation> dataOutputAssociationCollection;
   private static ChildElement<OutputSet> outputSetChild;
@@ -78,11 +78,11 @@ public abstract class CatchEventImpl extends EventImpl implements CatchEvent {
   }
 
   public boolean isParallelMultiple() {
-    return parallelMultipleAttribute.getValue(this);
+    return parallelMultipleAttribute.getBoolean(this, false);
   }
 
   public void setParallelMultiple(boolean parallelMultiple) {
-    parallelMultipleAttribute.setValue(this, parallelMultiple);
+    parallelMultipleAttribute.setBoolean(this, parallelMultiple);
   }
 
   public Collection<DataOutput> getDataOutputs() {
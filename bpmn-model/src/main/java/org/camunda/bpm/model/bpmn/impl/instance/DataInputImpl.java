@@ -19,6 +19,7 @@ import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
 import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.*;
 import static org.camunda.bpm.model.xml.type.ModelElementTypeBuilder.ModelTypeInstanceProvider;
@@ -31,7 +32,7 @@ import static org.camunda.bpm.model.xml.type.ModelElementTypeBuilder.ModelTypeIn
 public class DataInputImpl extends ItemAwareElementImpl implements DataInput {
 
   private static Attribute<String> nameAttribute;
-  private static Attribute<Boolean> isCollectionAttribute;
+  private static BooleanAttribute isCollectionAttribute;
 
   public static void registerType(ModelBuilder modelBuilder) {
     ModelElementTypeBuilder typeBuilder = modelBuilder.defineType(DataInput.class, BPMN_ELEMENT_DATA_INPUT)
@@ -66,10 +67,10 @@ public class DataInputImpl extends ItemAwareElementImpl implements DataInput {
   }
 
   public boolean isCollection() {
-    return isCollectionAttribute.getValue(this);
+    return isCollectionAttribute.getBoolean(this, false);
   }
 
   public void setCollection(boolean isCollection) {
-    isCollectionAttribute.setValue(this, isCollection);
+    isCollectionAttribute.setBoolean(this, isCollection);
   }
 }
@@ -20,6 +20,7 @@ import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
 import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.*;
 import static org.camunda.bpm.model.xml.type.ModelElementTypeBuilder.ModelTypeInstanceProvider;
@@ -30,7 +31,7 @@ import static org.camunda.bpm.model.xml.type.ModelElementTypeBuilder.ModelTypeIn
 public class DataOutputImpl extends ItemAwareElementImpl implements DataOutput {
 
   private static Attribute<String> nameAttribute;
-  private static Attribute<Boolean> isCollectionAttribute;
+  private static BooleanAttribute isCollectionAttribute;
 
   public static void registerType(ModelBuilder modelBuilder) {
     ModelElementTypeBuilder typeBuilder = modelBuilder.defineType(DataOutput.class,BpmnModelConstants.BPMN_ELEMENT_DATA_OUTPUT)
@@ -65,11 +66,11 @@ public class DataOutputImpl extends ItemAwareElementImpl implements DataOutput {
   }
 
   public boolean isCollection() {
-    return isCollectionAttribute.getValue(this);
+    return isCollectionAttribute.getBoolean(this, false);
   }
 
   public void setCollection(boolean isCollection) {
-    isCollectionAttribute.setValue(this, isCollection);
+    isCollectionAttribute.setBoolean(this, isCollection);
   }
 
 }
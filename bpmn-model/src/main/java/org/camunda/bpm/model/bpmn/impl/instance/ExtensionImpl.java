@@ -19,6 +19,7 @@ import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
 import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 import org.camunda.bpm.model.xml.type.child.ChildElementCollection;
 import org.camunda.bpm.model.xml.type.child.SequenceBuilder;
 
@@ -35,7 +36,7 @@ import static org.camunda.bpm.model.xml.type.ModelElementTypeBuilder.ModelTypeIn
 public class ExtensionImpl extends BpmnModelElementInstanceImpl implements Extension {
 
   private static Attribute<String> definitionAttribute;
-  private static Attribute<Boolean> mustUnderstandAttribute;
+  private static BooleanAttribute mustUnderstandAttribute;
   private static ChildElementCollection<Documentation> documentationCollection;
 
   public static void registerType(ModelBuilder modelBuilder) {
@@ -76,11 +77,11 @@ public class ExtensionImpl extends BpmnModelElementInstanceImpl implements Exten
   }
 
   public boolean mustUnderstand() {
-    return mustUnderstandAttribute.getValue(this);
+    return mustUnderstandAttribute.getBoolean(this, false);
   }
 
   public void setMustUnderstand(boolean mustUnderstand) {
-    mustUnderstandAttribute.setValue(this, mustUnderstand);
+    mustUnderstandAttribute.setBoolean(this, mustUnderstand);
   }
 
   public Collection<Documentation> getDocumentations() {
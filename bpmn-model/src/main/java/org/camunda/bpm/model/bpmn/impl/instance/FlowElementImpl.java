@@ -46,6 +46,7 @@ public abstract class FlowElementImpl extends BaseElementImpl implements FlowEle
       .abstractType();
 
     nameAttribute = typeBuilder.stringAttribute(BPMN_ATTRIBUTE_NAME)
+      .indexed()
       .build();
 
     SequenceBuilder sequenceBuilder = typeBuilder.sequence();
@@ -24,7 +24,7 @@ import org.camunda.bpm.model.xml.type.child.SequenceBuilder;
 import org.camunda.bpm.model.xml.type.reference.ElementReferenceCollection;
 
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.BPMN20_NS;
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.BPMN_ELEMENT_FLOW_NODE;
@@ -71,18 +71,10 @@ public abstract class FlowNodeImpl extends FlowElementImpl implements FlowNode {
   }
 
   public Query<FlowNode> getPreviousNodes() {
-    Collection<FlowNode> previousNodes = new HashSet<FlowNode>();
-    for (SequenceFlow sequenceFlow : getIncoming()) {
-      previousNodes.add(sequenceFlow.getSource());
-    }
-    return new QueryImpl<FlowNode>(previousNodes);
+    return new QueryImpl<FlowNode>(Collections.<FlowNode>singletonList(this)).previousNodes();
   }
 
   public Query<FlowNode> getSucceedingNodes() {
-    Collection<FlowNode> succeedingNodes = new HashSet<FlowNode>();
-    for (SequenceFlow sequenceFlow : getOutgoing()) {
-      succeedingNodes.add(sequenceFlow.getTarget());
-    }
-    return new QueryImpl<FlowNode>(succeedingNodes);
+    return new QueryImpl<FlowNode>(Collections.<FlowNode>singletonList(this)).succeedingNodes();
   }
 }
@@ -21,6 +21,7 @@ import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
 import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.*;
 import static org.camunda.bpm.model.xml.type.ModelElementTypeBuilder.ModelTypeInstanceProvider;
@@ -31,7 +32,7 @@ import static org.camunda.bpm.model.xml.type.ModelElementTypeBuilder.ModelTypeIn
 public class ItemDefinitionImpl extends RootElementImpl implements ItemDefinition {
 
   private static Attribute<String> structureRefAttribute;
-  private static Attribute<Boolean> isCollectionAttribute;
+  private static BooleanAttribute isCollectionAttribute;
   private static Attribute<ItemKind> itemKindAttribute;
 
   public static void registerType(ModelBuilder modelBuilder) {
@@ -71,11 +72,11 @@ public class ItemDefinitionImpl extends RootElementImpl implements ItemDefinitio
   }
 
   public boolean isCollection() {
-    return isCollectionAttribute.getValue(this);
+    return isCollectionAttribute.getBoolean(this, false);
   }
 
   public void setCollection(boolean isCollection) {
-    isCollectionAttribute.setValue(this, isCollection);
+    isCollectionAttribute.setBoolean(this, isCollection);
   }
 
   public ItemKind getItemKind() {
@@ -22,6 +22,7 @@ import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder.ModelTypeInstanceProvider;
 import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 import org.camunda.bpm.model.xml.type.child.ChildElement;
 import org.camunda.bpm.model.xml.type.child.ChildElementCollection;
 import org.camunda.bpm.model.xml.type.child.SequenceBuilder;
@@ -40,8 +41,8 @@ import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.*;
 public class ProcessImpl extends CallableElementImpl implements Process {
 
   private static Attribute<ProcessType> processTypeAttribute;
-  private static Attribute<Boolean> isClosedAttribute;
-  private static Attribute<Boolean> isExecutableAttribute;
+  private static BooleanAttribute isClosedAttribute;
+  private static BooleanAttribute isExecutableAttribute;
   // TODO: definitionalCollaborationRef
   private static ChildElement<Auditing> auditingChild;
   private static ChildElement<Monitoring> monitoringChild;
@@ -128,19 +129,19 @@ public class ProcessImpl extends CallableElementImpl implements Process {
   }
 
   public boolean isClosed() {
-    return isClosedAttribute.getValue(this);
+    return isClosedAttribute.getBoolean(this, false);
   }
 
   public void setClosed(boolean closed) {
-    isClosedAttribute.setValue(this, closed);
+    isClosedAttribute.setBoolean(this, closed);
   }
 
   public boolean isExecutable() {
-    return isExecutableAttribute.getValue(this);
+    return isExecutableAttribute.getBoolean(this, false);
   }
 
   public void setExecutable(boolean executable) {
-    isExecutableAttribute.setValue(this, executable);
+    isExecutableAttribute.setBoolean(this, executable);
   }
 
   public Auditing getAuditing() {
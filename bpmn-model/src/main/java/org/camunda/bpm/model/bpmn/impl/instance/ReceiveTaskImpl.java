@@ -21,6 +21,7 @@ import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
 import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 import org.camunda.bpm.model.xml.type.reference.AttributeReference;
 
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.*;
@@ -34,7 +35,7 @@ import static org.camunda.bpm.model.xml.type.ModelElementTypeBuilder.ModelTypeIn
 public class ReceiveTaskImpl extends TaskImpl implements ReceiveTask {
 
   private static Attribute<String> implementationAttribute;
-  private static Attribute<Boolean> instantiateAttribute;
+  private static BooleanAttribute instantiateAttribute;
   private static AttributeReference<Message> messageRefAttribute;
   private static AttributeReference<Operation> operationRefAttribute;
 
@@ -80,11 +81,11 @@ public class ReceiveTaskImpl extends TaskImpl implements ReceiveTask {
   }
 
   public boolean instantiate() {
-    return instantiateAttribute.getValue(this);
+    return instantiateAttribute.getBoolean(this, false);
   }
 
   public void setInstantiate(boolean instantiate) {
-    instantiateAttribute.setValue(this, instantiate);
+    instantiateAttribute.setBoolean(this, instantiate);
   }
 
   public Message getMessage() {
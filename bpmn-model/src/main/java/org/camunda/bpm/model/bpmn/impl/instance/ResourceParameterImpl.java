@@ -20,6 +20,7 @@ import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
 import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 import org.camunda.bpm.model.xml.type.reference.AttributeReference;
 
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.*;
@@ -34,7 +35,7 @@ public class ResourceParameterImpl extends BaseElementImpl implements ResourcePa
 
   private static Attribute<String> nameAttribute;
   private static AttributeReference<ItemDefinition> typeAttribute;
-  private static Attribute<Boolean> isRequiredAttribute;
+  private static BooleanAttribute isRequiredAttribute;
 
   public static void registerType(ModelBuilder modelBuilder) {
     ModelElementTypeBuilder typeBuilder = modelBuilder.defineType(ResourceParameter.class, BPMN_ELEMENT_RESOURCE_PARAMETER)
@@ -80,10 +81,10 @@ public class ResourceParameterImpl extends BaseElementImpl implements ResourcePa
   }
 
   public boolean isRequired() {
-    return isRequiredAttribute.getValue(this);
+    return isRequiredAttribute.getBoolean(this, false);
   }
 
   public void setRequired(boolean isRequired) {
-   isRequiredAttribute.setValue(this, isRequired);
+   isRequiredAttribute.setBoolean(this, isRequired);
   }
 }
@@ -21,7 +21,7 @@ import org.camunda.bpm.model.bpmn.instance.SequenceFlow;
 import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
-import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 import org.camunda.bpm.model.xml.type.child.ChildElement;
 import org.camunda.bpm.model.xml.type.child.SequenceBuilder;
 import org.camunda.bpm.model.xml.type.reference.AttributeReference;
@@ -38,7 +38,7 @@ public class SequenceFlowImpl extends FlowElementImpl implements SequenceFlow {
 
   private static AttributeReference<FlowNode> sourceRefAttribute;
   private static AttributeReference<FlowNode> targetRefAttribute;
-  private static Attribute<Boolean> isImmediateAttribute;
+  private static BooleanAttribute isImmediateAttribute;
   private static ChildElement<ConditionExpression> conditionExpressionCollection;
 
   public static void registerType(ModelBuilder modelBuilder) {
@@ -99,11 +99,11 @@ public class SequenceFlowImpl extends FlowElementImpl implements SequenceFlow {
   }
 
   public boolean isImmediate() {
-    return isImmediateAttribute.getValue(this);
+    return isImmediateAttribute.getBoolean(this, false);
   }
 
   public void setImmediate(boolean isImmediate) {
-    isImmediateAttribute.setValue(this, isImmediate);
+    isImmediateAttribute.setBoolean(this, isImmediate);
   }
 
   public ConditionExpression getConditionExpression() {
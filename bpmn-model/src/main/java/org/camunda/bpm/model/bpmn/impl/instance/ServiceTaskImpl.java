@@ -58,6 +58,7 @@ public class ServiceTaskImpl extends TaskImpl implements ServiceTask {
 
     classAttribute = typeBuilder.stringAttribute(ACTIVITI_ATTRIBUTE_CLASS)
       .namespace(ACTIVITI_NS)
+      .indexed()
       .build();
 
     typeBuilder.build();
@@ -20,6 +20,7 @@ import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
 import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.*;
 
@@ -30,7 +31,7 @@ import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.*;
  */
 public class StartEventImpl extends CatchEventImpl implements StartEvent {
 
-  private static Attribute<Boolean> isInterruptingAttribute;
+  private static BooleanAttribute isInterruptingAttribute;
   private static Attribute<String> formKeyAttribute;
 
   public static void registerType(ModelBuilder modelBuilder) {
@@ -66,11 +67,11 @@ public class StartEventImpl extends CatchEventImpl implements StartEvent {
   }
 
   public boolean isInterrupting() {
-    return isInterruptingAttribute.getValue(this);
+    return isInterruptingAttribute.getBoolean(this, false);
   }
 
   public void setInterrupting(boolean isInterrupting) {
-    isInterruptingAttribute.setValue(this, isInterrupting);
+    isInterruptingAttribute.setBoolean(this, isInterrupting);
   }
 
   public String getFormKey() {
@@ -17,7 +17,7 @@ import org.camunda.bpm.model.bpmn.instance.*;
 import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
-import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 import org.camunda.bpm.model.xml.type.child.ChildElementCollection;
 import org.camunda.bpm.model.xml.type.child.SequenceBuilder;
 
@@ -33,7 +33,7 @@ import static org.camunda.bpm.model.xml.type.ModelElementTypeBuilder.ModelTypeIn
  */
 public class SubProcessImpl extends ActivityImpl implements SubProcess {
 
-  private static Attribute<Boolean> triggeredByEventAttribute;
+  private static BooleanAttribute triggeredByEventAttribute;
   private static ChildElementCollection<LaneSet> laneSetCollection;
   private static ChildElementCollection<FlowElement> flowElementCollection;
   private static ChildElementCollection<Artifact> artifactCollection;
@@ -71,11 +71,11 @@ public class SubProcessImpl extends ActivityImpl implements SubProcess {
   }
 
   public boolean triggeredByEvent() {
-    return triggeredByEventAttribute.getValue(this);
+    return triggeredByEventAttribute.getBoolean(this, false);
   }
 
   public void setTriggeredByEvent(boolean triggeredByEvent) {
-    triggeredByEventAttribute.setValue(this, triggeredByEvent);
+    triggeredByEventAttribute.setBoolean(this, triggeredByEvent);
   }
 
   public Collection<LaneSet> getLaneSets() {
@@ -72,6 +72,7 @@ public class UserTaskImpl extends TaskImpl implements UserTask {
 
     candidateGroupsAttribute = typeBuilder.stringAttribute(ACTIVITI_ATTRIBUTE_CANDIDATE_GROUPS)
       .namespace(ACTIVITI_NS)
+      .indexedList()
       .build();
 
     SequenceBuilder sequenceBuilder = typeBuilder.sequence();
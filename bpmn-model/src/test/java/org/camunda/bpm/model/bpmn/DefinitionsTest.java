@@ -18,6 +18,8 @@ import org.camunda.bpm.model.bpmn.instance.Process;
 import org.camunda.bpm.model.bpmn.util.BpmnModelResource;
 import org.camunda.bpm.model.xml.ModelReferenceException;
 import org.camunda.bpm.model.xml.ModelValidationException;
+import org.camunda.bpm.model.xml.ParseValidationMode;
+import org.camunda.bpm.model.xml.WriteValidationPolicy;
 import org.camunda.bpm.model.xml.impl.util.IoUtil;
 import org.junit.Assert;
 import org.junit.Test;
@@ -72,6 +74,28 @@ public class DefinitionsTest extends BpmnModelTest {
     }
   }
 
+  @Test
+  public void shouldNotImportWrongOrderedSequenceWithValidationAfterParse() {
+    try {
+      Bpmn.readModelFromStream(getClass().getResourceAsStream("DefinitionsTest.shouldNotImportWrongOrderedSequence.bpmn"), ParseValidationMode.AFTER_PARSE);
+      Assert.fail("Model is invalid and should not pass the validation");
+    }
+    catch (Exception e) {
+      assertThat(e).isInstanceOf(ModelValidationException.class);
+    }
+  }
+
+  @Test
+  public void shouldNotImportWrongOrderedSequenceWithMetamodelValidation() {
+    try {
+      Bpmn.readModelFromStream(getClass().getResourceAsStream("DefinitionsTest.shouldNotImportWrongOrderedSequence.bpmn"), ParseValidationMode.METAMODEL);
+      Assert.fail("Model is invalid and should not pass the validation");
+    }
+    catch (Exception e) {
+      assertThat(e).isInstanceOf(ModelValidationException.class);
+    }
+  }
+
   @Test
   public void shouldAddChildElementsInCorrectOrder() {
     // create an empty model
@@ -158,6 +182,38 @@ public class DefinitionsTest extends BpmnModelTest {
     assertThat(modelString).isEqualTo(fileString);
   }
 
+  @Test
+  public void shouldOnlyValidateModifiedModelBeforeWriting() {
+    InputStream inputStream = getClass().getResourceAsStream("DefinitionsTest.shouldImportEmptyDefinitions.bpmn");
+    BpmnModelInstanceImpl modelInstance = (BpmnModelInstanceImpl) Bpmn.readModelFromStream(inputStream);
+    IoUtil.closeSilently(inputStream);
+
+    // the parsed model was validated and is not modified
+    assertThat(modelInstance.isModifiedSinceValidation()).isFalse();
+    assertThat(WriteValidationPolicy.IF_MODIFIED.isValidationRequired(modelInstance)).isFalse();
+    assertThat(WriteValidationPolicy.ALWAYS.isValidationRequired(modelInstance)).isTrue();
+
+    // an import without the required attributes is not valid
+    Import importElement = modelInstance.newInstance(Import.class);
+    modelInstance.getDefinitions().getImports().add(importElement);
+    assertThat(modelInstance.isModifiedSinceValidation()).isTrue();
+
+    assertThat(Bpmn.convertToString(modelInstance, WriteValidationPolicy.NEVER)).contains("<import/>");
+    try {
+      Bpmn.convertToString(modelInstance);
+      Assert.fail("Exception expected");
+    }
+    catch (ModelValidationException e) {
+      // expected
+    }
+
+    importElement.setNamespace("Imports");
+    importElement.setLocation("here");
+    importElement.setImportType("example");
+    Bpmn.convertToString(modelInstance);
+    assertThat(modelInstance.isModifiedSinceValidation()).isFalse();
+  }
+
   @Test
   public void shouldAddMessageAndMessageEventDefinition() {
     // create empty model
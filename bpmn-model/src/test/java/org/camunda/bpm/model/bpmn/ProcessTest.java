@@ -12,15 +12,21 @@
  */
 package org.camunda.bpm.model.bpmn;
 
+import org.camunda.bpm.model.bpmn.instance.Documentation;
+import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
+import org.camunda.bpm.model.bpmn.instance.FlowElement;
 import org.camunda.bpm.model.bpmn.instance.Process;
 import org.camunda.bpm.model.bpmn.instance.RootElement;
+import org.camunda.bpm.model.bpmn.instance.Task;
 import org.camunda.bpm.model.bpmn.util.BpmnModelResource;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.junit.Test;
+import org.w3c.dom.Element;
 
 import java.util.Collection;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.BPMN20_NS;
 
 /**
  * @author Daniel Meyer
@@ -49,5 +55,66 @@ public class ProcessTest extends BpmnModelTest {
 
   }
 
+  @Test
+  public void shouldReuseCachedFlowElements() {
+    BpmnModelInstance modelInstance = Bpmn.createProcess().id("process")
+      .startEvent().id("start")
+      .userTask().id("task")
+      .endEvent().id("end")
+      .done();
+    Process process = (Process) modelInstance.getModelElementById("process");
+
+    Collection<FlowElement> flowElements = process.getFlowElements();
+    assertThat(flowElements).hasSize(5);
+
+    // a child appended to the DOM without the model api is not part of the cached flow elements
+    Element processElement = process.getDomElement();
+    processElement.appendChild(processElement.getOwnerDocument().createElementNS(BPMN20_NS, "task"));
+    assertThat(process.getFlowElements()).hasSize(5);
+    assertThat(flowElements).hasSize(5);
+
+    // a modification through the model api invalidates the cached flow elements of all views
+    Task task = modelInstance.newInstance(Task.class);
+    task.setId("otherTask");
+    process.getFlowElements().add(task);
+    assertThat(process.getFlowElements()).hasSize(7);
+    assertThat(flowElements).hasSize(7);
+  }
+
+  @Test
+  public void shouldInsertIntoEarlierSequenceSlots() {
+    BpmnModelInstance modelInstance = Bpmn.createProcess().id("process")
+      .startEvent().id("start")
+      .userTask().id("task")
+      .endEvent().id("end")
+      .done();
+    Process process = (Process) modelInstance.getModelElementById("process");
+    Element processElement = process.getDomElement();
+    Element startElement = modelInstance.getModelElementById("start").getDomElement();
+
+    Documentation documentation = modelInstance.newInstance(Documentation.class);
+    process.getDocumentations().add(documentation);
+    ExtensionElements extensionElements = modelInstance.newInstance(ExtensionElements.class);
+    process.setExtensionElements(extensionElements);
+    Documentation otherDocumentation = modelInstance.newInstance(Documentation.class);
+    process.getDocumentations().add(otherDocumentation);
+
+    assertThat(processElement.getFirstChild()).isSameAs(documentation.getDomElement());
+    assertThat(documentation.getDomElement().getNextSibling()).isSameAs(otherDocumentation.getDomElement());
+    assertThat(otherDocumentation.getDomElement().getNextSibling()).isSameAs(extensionElements.getDomElement());
+    assertThat(extensionElements.getDomElement().getNextSibling()).isSameAs(startElement);
+
+    // after the last documentation is removed the previous one is the last of its slot
+    process.getDocumentations().remove(otherDocumentation);
+    Documentation lastDocumentation = modelInstance.newInstance(Documentation.class);
+    process.getDocumentations().add(lastDocumentation);
+    assertThat(documentation.getDomElement().getNextSibling()).isSameAs(lastDocumentation.getDomElement());
+    assertThat(lastDocumentation.getDomElement().getNextSibling()).isSameAs(extensionElements.getDomElement());
+
+    Task task = modelInstance.newInstance(Task.class);
+    task.setId("otherTask");
+    process.getFlowElements().add(task);
+    assertThat(processElement.getLastChild()).isSameAs(task.getDomElement());
+  }
 
 }
@@ -13,12 +13,20 @@
 
 package org.camunda.bpm.model.bpmn;
 
+import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
 import org.camunda.bpm.model.bpmn.instance.*;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
+import org.camunda.bpm.model.xml.impl.type.ModelElementTypeImpl;
 import org.camunda.bpm.model.xml.type.ModelElementType;
+import org.camunda.bpm.model.xml.type.attribute.Attribute;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
@@ -36,9 +44,9 @@ public class QueryTest {
   public static void createModelInstance() {
     modelInstance = Bpmn.createProcess()
       .startEvent().id("start")
-      .userTask().id("user")
+      .userTask().id("user").name("Approve")
       .parallelGateway().id("gateway1")
-        .serviceTask()
+        .serviceTask().className("org.camunda.Service")
         .endEvent()
       .parallel()
         .parallelGateway().id("gateway2")
@@ -110,4 +118,122 @@ public class QueryTest {
       assertThat(e).isInstanceOf(BpmnModelException.class).hasMessageEndingWith("<3>");
     }
   }
+
+  @Test
+  public void testTypeQuery() {
+    assertThat(modelInstance.query(Task.class).count()).isEqualTo(5);
+    assertThat(modelInstance.query(UserTask.class).list()).hasSize(2);
+    assertThat(modelInstance.query(StartEvent.class).first().getId()).isEqualTo("start");
+
+    List<String> ids = new ArrayList<String>();
+    for (Gateway gateway : modelInstance.query(Gateway.class)) {
+      ids.add(gateway.getId());
+    }
+    assertThat(ids).containsOnly("gateway1", "gateway2");
+  }
+
+  @Test
+  public void testIdQuery() {
+    assertThat(modelInstance.query(FlowNode.class).id("gateway1").singleResult().getId()).isEqualTo("gateway1");
+    assertThat(modelInstance.query(Task.class).id("gateway1").count()).isEqualTo(0);
+    assertThat(modelInstance.query(FlowNode.class).id("unknown").first()).isNull();
+    assertThat(startSucceeding.id("user").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void testAttributeFilters() {
+    assertThat(modelInstance.query(FlowNode.class).idStartsWith("gateway").count()).isEqualTo(2);
+    assertThat(modelInstance.query(Task.class).attributeValue("name", "Approve").singleResult().getId()).isEqualTo("user");
+    assertThat(modelInstance.query(ServiceTask.class).attributeValueNs("class", BpmnModelConstants.ACTIVITI_NS, "org.camunda.Service").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void testIndexedAttributes() {
+    BpmnModelInstance indexedModelInstance = Bpmn.createProcess()
+      .startEvent()
+      .userTask().id("review").name("Review").candidateGroups("sales, management")
+      .userTask().id("approve").name("Approve").candidateGroups("management")
+      .serviceTask().id("notify").name("Review").className("org.camunda.Notify")
+      .endEvent()
+      .done();
+
+    assertThat(indexedModelInstance.query(FlowElement.class).attributeValue("name", "Review").count()).isEqualTo(2);
+    assertThat(indexedModelInstance.query(UserTask.class).attributeValue("name", "Review").singleResult().getId()).isEqualTo("review");
+    assertThat(indexedModelInstance.query(ServiceTask.class).attributeValueNs("class", BpmnModelConstants.ACTIVITI_NS, "org.camunda.Notify").singleResult().getId()).isEqualTo("notify");
+    assertThat(indexedModelInstance.query(UserTask.class).attributeListContainsNs("candidateGroups", BpmnModelConstants.ACTIVITI_NS, "management").count()).isEqualTo(2);
+    assertThat(indexedModelInstance.query(UserTask.class).attributeListContainsNs("candidateGroups", BpmnModelConstants.ACTIVITI_NS, "sales").singleResult().getId()).isEqualTo("review");
+
+    // the indexes follow attribute changes and removed elements
+    UserTask review = (UserTask) indexedModelInstance.getModelElementById("review");
+    review.setCandidateGroups("accounting");
+    review.setName("Check");
+    assertThat(indexedModelInstance.query(UserTask.class).attributeListContainsNs("candidateGroups", BpmnModelConstants.ACTIVITI_NS, "sales").count()).isEqualTo(0);
+    assertThat(indexedModelInstance.query(UserTask.class).attributeListContainsNs("candidateGroups", BpmnModelConstants.ACTIVITI_NS, "accounting").singleResult()).isEqualTo(review);
+    assertThat(indexedModelInstance.query(FlowElement.class).attributeValue("name", "Check").singleResult()).isEqualTo(review);
+
+    ServiceTask notify = (ServiceTask) indexedModelInstance.getModelElementById("notify");
+    notify.removeAttributeNs("class", BpmnModelConstants.ACTIVITI_NS);
+    assertThat(indexedModelInstance.query(ServiceTask.class).attributeValueNs("class", BpmnModelConstants.ACTIVITI_NS, "org.camunda.Notify").count()).isEqualTo(0);
+    notify.getParentElement().removeChildElement(notify);
+    assertThat(indexedModelInstance.query(FlowElement.class).attributeValue("name", "Review").count()).isEqualTo(0);
+
+    ModelInstanceImpl modelInstanceImpl = (ModelInstanceImpl) indexedModelInstance;
+    Attribute<?> candidateGroups = ((ModelElementTypeImpl) indexedModelInstance.getModel().getType(UserTask.class)).getAttribute("candidateGroups");
+    assertThat(modelInstanceImpl.getAttributeValueIndexKeyCount(candidateGroups)).isEqualTo(2);
+    assertThat(modelInstanceImpl.getAttributeValueIndexEntryCount(candidateGroups)).isEqualTo(2);
+  }
+
+  @Test
+  public void testIndexedAttributesInDocumentOrder() {
+    BpmnModelInstance indexedModelInstance = Bpmn.createProcess().id("process")
+      .startEvent()
+      .userTask().id("first").name("Review")
+      .userTask().id("second").name("Review")
+      .endEvent()
+      .done();
+    Process process = (Process) indexedModelInstance.getModelElementById("process");
+
+    UserTask inserted = indexedModelInstance.newInstance(UserTask.class);
+    inserted.setId("inserted");
+    inserted.setName("Review");
+    process.insertElementAfter(inserted, null);
+    UserTask appended = indexedModelInstance.newInstance(UserTask.class);
+    appended.setId("appended");
+    appended.setName("Review");
+    process.getFlowElements().add(appended);
+
+    List<String> ids = new ArrayList<String>();
+    for (FlowElement flowElement : indexedModelInstance.query(FlowElement.class).attributeValue("name", "Review")) {
+      ids.add(flowElement.getId());
+    }
+    assertThat(ids).containsExactly("inserted", "first", "second", "appended");
+  }
+
+  @Test
+  public void testTraversal() {
+    assertThat(modelInstance.query(StartEvent.class).succeedingNodes().succeedingNodes().singleResult().getId()).isEqualTo("gateway1");
+    assertThat(modelInstance.query(ParallelGateway.class).succeedingNodes().count()).isEqualTo(5);
+    assertThat(gateway2Succeeding.previousNodes().singleResult().getId()).isEqualTo("gateway2");
+    assertThat(modelInstance.query(Process.class).children(StartEvent.class).count()).isEqualTo(1);
+    assertThat(modelInstance.query(EndEvent.class).parent().singleResult()).isInstanceOf(Process.class);
+
+    List<BpmnModelElementInstance> referencedElements = modelInstance.query(SequenceFlow.class).limit(1).referencedElements().list();
+    assertThat(referencedElements).hasSize(2);
+    assertThat(referencedElements.get(0)).isInstanceOf(FlowNode.class);
+  }
+
+  @Test
+  public void testLimitShortCircuits() {
+    final List<FlowNode> visited = new ArrayList<FlowNode>();
+    Query<FlowNode> query = modelInstance.query(FlowNode.class).filter(new QueryFilter<FlowNode>() {
+      public boolean matches(FlowNode element) {
+        visited.add(element);
+        return true;
+      }
+    });
+
+    assertThat(query.limit(2).list()).hasSize(2);
+    assertThat(visited).hasSize(2);
+  }
+
 }
@@ -0,0 +1,183 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.bpmn.graph;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.model.bpmn.instance.Activity;
+import org.camunda.bpm.model.bpmn.instance.BoundaryEvent;
+import org.camunda.bpm.model.bpmn.instance.EndEvent;
+import org.camunda.bpm.model.bpmn.instance.MessageEventDefinition;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.bpmn.instance.SequenceFlow;
+import org.camunda.bpm.model.bpmn.instance.UserTask;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FlowGraphAnalysisTest {
+
+  @Test
+  public void testSoundProcess() {
+    FlowGraph graph = FlowGraph.compile(getProcess(createSoundModel()));
+    FlowGraphAnalysis analysis = FlowGraphAnalysis.analyze(graph);
+
+    assertThat(analysis.isSound()).isTrue();
+    assertThat(analysis.getUnreachableNodes()).isEmpty();
+    assertThat(analysis.getNodesNotReachingEndEvent()).isEmpty();
+    assertThat(analysis.getLoopsWithoutExit()).isEmpty();
+    assertThat(analysis.getComponentCount()).isEqualTo(graph.getNodeCount());
+
+    int fork = graph.getNodeIndex("fork");
+    int join = graph.getNodeIndex("join");
+    int taskA = graph.getNodeIndex("a");
+    assertThat(analysis.getPairedGateway(fork)).isEqualTo(join);
+    assertThat(analysis.getPairedGateway(join)).isEqualTo(fork);
+    assertThat(analysis.getUnpairedGateways()).isEmpty();
+
+    assertThat(analysis.getImmediateDominator(join)).isEqualTo(fork);
+    assertThat(analysis.getImmediateDominator(graph.getNodeIndex("start"))).isEqualTo(FlowGraph.NO_NODE);
+    assertThat(analysis.getImmediatePostDominator(fork)).isEqualTo(join);
+    assertThat(analysis.dominates(fork, taskA)).isTrue();
+    assertThat(analysis.dominates(taskA, join)).isFalse();
+    assertThat(analysis.postDominates(join, taskA)).isTrue();
+  }
+
+  @Test
+  public void testDefects() {
+    BpmnModelInstance modelInstance = Bpmn.createProcess().id("process")
+      .startEvent().id("start")
+      .exclusiveGateway().id("split")
+        .endEvent().id("end")
+      .parallel("split")
+        .userTask().id("loop1")
+        .userTask().id("loop2")
+        .connectTo("loop1")
+      .done();
+    Process process = getProcess(modelInstance);
+    UserTask deadTask = modelInstance.newInstance(UserTask.class);
+    deadTask.setId("dead");
+    process.getFlowElements().add(deadTask);
+
+    FlowGraph graph = FlowGraph.compile(process);
+    FlowGraphAnalysis analysis = FlowGraphAnalysis.analyze(graph);
+    int loop1 = graph.getNodeIndex("loop1");
+    int loop2 = graph.getNodeIndex("loop2");
+    int dead = graph.getNodeIndex("dead");
+
+    assertThat(analysis.isSound()).isFalse();
+    assertThat(analysis.getUnreachableNodes()).containsOnly(dead);
+    assertThat(analysis.getNodesNotReachingEndEvent()).containsOnly(loop1, loop2, dead);
+
+    List<int[]> loops = analysis.getLoopsWithoutExit();
+    assertThat(loops).hasSize(1);
+    assertThat(loops.get(0)).containsOnly(loop1, loop2);
+    assertThat(analysis.getComponent(loop1)).isEqualTo(analysis.getComponent(loop2));
+
+    assertThat(analysis.getUnpairedGateways()).containsOnly(graph.getNodeIndex("split"));
+    assertThat(analysis.getImmediatePostDominator(loop1)).isEqualTo(FlowGraph.NO_NODE);
+  }
+
+  @Test
+  public void testLoopLeftByBoundaryEvent() {
+    BpmnModelInstance modelInstance = Bpmn.createProcess().id("process")
+      .startEvent().id("start")
+      .userTask().id("a")
+      .userTask().id("b")
+      .connectTo("a")
+      .done();
+    Process process = getProcess(modelInstance);
+
+    BoundaryEvent boundaryEvent = modelInstance.newInstance(BoundaryEvent.class);
+    boundaryEvent.setId("message");
+    process.getFlowElements().add(boundaryEvent);
+    boundaryEvent.setAttachedTo((Activity) modelInstance.getModelElementById("b"));
+    boundaryEvent.getEventDefinitions().add(modelInstance.newInstance(MessageEventDefinition.class));
+    EndEvent end = modelInstance.newInstance(EndEvent.class);
+    end.setId("end");
+    process.getFlowElements().add(end);
+    SequenceFlow flow = modelInstance.newInstance(SequenceFlow.class);
+    flow.setId("messageFlow");
+    process.getFlowElements().add(flow);
+    flow.setSource(boundaryEvent);
+    flow.setTarget(end);
+
+    FlowGraph graph = FlowGraph.compile(process);
+    FlowGraphAnalysis analysis = FlowGraphAnalysis.analyze(graph);
+
+    assertThat(analysis.isSound()).isTrue();
+    assertThat(analysis.getNodesNotReachingEndEvent()).isEmpty();
+    assertThat(analysis.getLoopsWithoutExit()).isEmpty();
+    assertThat(analysis.getImmediatePostDominator(graph.getNodeIndex("b"))).isEqualTo(graph.getNodeIndex("message"));
+    assertThat(analysis.postDominates(graph.getNodeIndex("end"), graph.getNodeIndex("start"))).isTrue();
+  }
+
+  @Test
+  public void testLargeProcess() {
+    AbstractFlowNodeBuilder builder = Bpmn.createProcess().id("process").startEvent().id("start");
+    for (int i = 0; i < 5000; i++) {
+      builder = builder.userTask().id("task" + i);
+    }
+    FlowGraph graph = FlowGraph.compile(getProcess(builder.endEvent().id("end").done()));
+    FlowGraphAnalysis analysis = FlowGraphAnalysis.analyze(graph);
+
+    assertThat(analysis.isSound()).isTrue();
+    assertThat(analysis.getImmediateDominator(graph.getNodeIndex("end"))).isEqualTo(graph.getNodeIndex("task4999"));
+    assertThat(analysis.postDominates(graph.getNodeIndex("end"), graph.getNodeIndex("start"))).isTrue();
+  }
+
+  @Test
+  public void testParallelAnalysis() {
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try {
+      FlowGraph first = FlowGraph.compile(getProcess(createSoundModel()));
+      FlowGraph second = FlowGraph.compile(getProcess(createSoundModel()));
+      List<FlowGraphAnalysis> analyses = FlowGraphAnalysis.analyze(Arrays.asList(first, second), executorService);
+      assertThat(analyses).hasSize(2);
+      assertThat(analyses.get(0).getGraph()).isSameAs(first);
+      assertThat(analyses.get(1).getGraph()).isSameAs(second);
+
+      Map<String, FlowGraphAnalysis> analysesByProcessId = FlowGraphAnalysis.analyzeProcesses(createSoundModel(), executorService);
+      assertThat(analysesByProcessId).hasSize(1);
+      assertThat(analysesByProcessId.get("process").isSound()).isTrue();
+    }
+    finally {
+      executorService.shutdown();
+    }
+  }
+
+  private BpmnModelInstance createSoundModel() {
+    return Bpmn.createProcess().id("process")
+      .startEvent().id("start")
+      .parallelGateway().id("fork")
+        .userTask().id("a")
+        .parallelGateway().id("join")
+        .endEvent().id("end")
+      .parallel("fork")
+        .userTask().id("b")
+        .connectTo("join")
+      .done();
+  }
+
+  private Process getProcess(BpmnModelInstance modelInstance) {
+    return (Process) modelInstance.getModelElementById("process");
+  }
+
+}
@@ -0,0 +1,167 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.bpmn.graph;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelException;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.EndEvent;
+import org.camunda.bpm.model.bpmn.instance.FlowNode;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.bpmn.instance.SequenceFlow;
+import org.camunda.bpm.model.bpmn.instance.StartEvent;
+import org.camunda.bpm.model.bpmn.instance.SubProcess;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class FlowGraphTest {
+
+  private BpmnModelInstance modelInstance;
+  private Process process;
+
+  @Before
+  public void createModelInstance() {
+    modelInstance = Bpmn.createProcess().id("process")
+      .startEvent().id("start")
+      .userTask().id("user")
+      .parallelGateway().id("fork")
+        .serviceTask().id("service")
+        .endEvent().id("end1")
+      .parallel()
+        .scriptTask().id("script")
+        .endEvent().id("end2")
+      .done();
+    process = (Process) modelInstance.getModelElementById("process");
+  }
+
+  @Test
+  public void testNodesAndFlows() {
+    FlowGraph graph = FlowGraph.compile(process);
+
+    assertThat(graph.getNodeCount()).isEqualTo(7);
+    assertThat(graph.getFlowCount()).isEqualTo(6);
+
+    for (int node = 0; node < graph.getNodeCount(); node++) {
+      FlowNode flowNode = graph.getNode(node);
+      assertThat(graph.getNodeIndex(flowNode)).isEqualTo(node);
+      assertThat(graph.getNodeIndex(flowNode.getId())).isEqualTo(node);
+      assertThat(graph.getNodeId(node)).isEqualTo(flowNode.getId());
+      assertThat(graph.getParentNode(node)).isEqualTo(FlowGraph.NO_NODE);
+      assertThat(succeedingNodeIds(graph, node)).isEqualTo(ids(flowNode.getSucceedingNodes().list()));
+      assertThat(previousNodeIds(graph, node)).isEqualTo(ids(flowNode.getPreviousNodes().list()));
+    }
+
+    for (int flow = 0; flow < graph.getFlowCount(); flow++) {
+      SequenceFlow sequenceFlow = graph.getFlow(flow);
+      assertThat(graph.getNode(graph.getFlowSource(flow))).isEqualTo(sequenceFlow.getSource());
+      assertThat(graph.getNode(graph.getFlowTarget(flow))).isEqualTo(sequenceFlow.getTarget());
+    }
+
+    assertThat(graph.getNodeIndex("unknown")).isEqualTo(FlowGraph.NO_NODE);
+  }
+
+  @Test
+  public void testNodeKinds() {
+    FlowGraph graph = FlowGraph.compile(process);
+
+    assertThat(graph.getNodeKind(graph.getNodeIndex("start"))).isEqualTo(FlowNodeKind.START_EVENT);
+    assertThat(graph.getNodeKind(graph.getNodeIndex("user"))).isEqualTo(FlowNodeKind.TASK);
+    assertThat(graph.getNodeKind(graph.getNodeIndex("fork"))).isEqualTo(FlowNodeKind.PARALLEL_GATEWAY);
+    assertThat(graph.getNodeKind(graph.getNodeIndex("end1"))).isEqualTo(FlowNodeKind.END_EVENT);
+    assertThat(graph.getNodeKind(graph.getNodeIndex("fork")).isGateway()).isTrue();
+    assertThat(graph.getNodeKind(graph.getNodeIndex("user")).isActivity()).isTrue();
+  }
+
+  @Test
+  public void testSubProcess() {
+    SubProcess subProcess = modelInstance.newInstance(SubProcess.class);
+    subProcess.setId("subProcess");
+    process.getFlowElements().add(subProcess);
+
+    StartEvent subStart = modelInstance.newInstance(StartEvent.class);
+    subStart.setId("subStart");
+    subProcess.getFlowElements().add(subStart);
+    EndEvent subEnd = modelInstance.newInstance(EndEvent.class);
+    subEnd.setId("subEnd");
+    subProcess.getFlowElements().add(subEnd);
+    SequenceFlow subFlow = modelInstance.newInstance(SequenceFlow.class);
+    subFlow.setId("subFlow");
+    subProcess.getFlowElements().add(subFlow);
+    subFlow.setSource(subStart);
+    subFlow.setTarget(subEnd);
+
+    FlowGraph graph = FlowGraph.compile(process);
+    int subProcessNode = graph.getNodeIndex("subProcess");
+    int subStartNode = graph.getNodeIndex("subStart");
+    assertThat(graph.getNodeKind(subProcessNode)).isEqualTo(FlowNodeKind.SUB_PROCESS);
+    assertThat(graph.getParentNode(subStartNode)).isEqualTo(subProcessNode);
+    assertThat(graph.getOutgoingFlowCount(subStartNode)).isEqualTo(1);
+    assertThat(graph.getSucceedingNode(subStartNode, 0)).isEqualTo(graph.getNodeIndex("subEnd"));
+
+    FlowGraph subGraph = FlowGraph.compile(subProcess);
+    assertThat(subGraph.getNodeCount()).isEqualTo(2);
+    assertThat(subGraph.getFlowCount()).isEqualTo(1);
+    assertThat(subGraph.getParentNode(subGraph.getNodeIndex("subStart"))).isEqualTo(FlowGraph.NO_NODE);
+  }
+
+  @Test
+  public void testFlowToNodeOutsideOfGraph() {
+    SubProcess subProcess = modelInstance.newInstance(SubProcess.class);
+    subProcess.setId("subProcess");
+    process.getFlowElements().add(subProcess);
+    SequenceFlow flow = modelInstance.newInstance(SequenceFlow.class);
+    flow.setId("outsideFlow");
+    subProcess.getFlowElements().add(flow);
+    flow.setSource((FlowNode) modelInstance.getModelElementById("start"));
+    flow.setTarget((FlowNode) modelInstance.getModelElementById("user"));
+
+    try {
+      FlowGraph.compile(subProcess);
+      fail("sequence flow connects flow nodes outside of the sub process");
+    }
+    catch (BpmnModelException e) {
+      assertThat(e).hasMessageContaining("outsideFlow");
+    }
+  }
+
+  private Set<String> succeedingNodeIds(FlowGraph graph, int node) {
+    Set<String> ids = new HashSet<String>();
+    for (int i = 0; i < graph.getOutgoingFlowCount(node); i++) {
+      ids.add(graph.getNodeId(graph.getSucceedingNode(node, i)));
+    }
+    return ids;
+  }
+
+  private Set<String> previousNodeIds(FlowGraph graph, int node) {
+    Set<String> ids = new HashSet<String>();
+    for (int i = 0; i < graph.getIncomingFlowCount(node); i++) {
+      ids.add(graph.getNodeId(graph.getPreviousNode(node, i)));
+    }
+    return ids;
+  }
+
+  private Set<String> ids(Iterable<FlowNode> flowNodes) {
+    Set<String> ids = new HashSet<String>();
+    for (FlowNode flowNode : flowNodes) {
+      ids.add(flowNode.getId());
+    }
+    return ids;
+  }
+
+}
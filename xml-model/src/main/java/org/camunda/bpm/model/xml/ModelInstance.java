@@ -90,4 +90,13 @@ public interface ModelInstance {
    */
   Collection<ModelElementInstance> getModelElementsByType(ModelElementType referencingType);
 
+  /**
+   * Returns whether the model was modified through the model api since it was last
+   * validated successfully, e.g. after it was parsed. Changes made directly to the
+   * DOM document are not detected.
+   *
+   * @return true if the model was never validated or was modified since it was last validated
+   */
+  boolean isModifiedSinceValidation();
+
 }
@@ -0,0 +1,46 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml;
+
+/**
+ * Controls when the schema validation of a parsed model is performed. Each
+ * mode validates the document exactly once. The schema is compiled once per
+ * parser and shared by all parses, so no mode loads the schema again.
+ */
+public enum ParseValidationMode {
+
+  /**
+   * The document is validated by the schema-aware parser while the DOM
+   * document is built. Invalid documents are rejected before the DOM
+   * document is completed. This is the default, the document is read in a
+   * single pass and it costs about as much as {@link #AFTER_PARSE}.
+   */
+  DURING_PARSE,
+
+  /**
+   * The DOM document is built by a non-validating parser and the finished
+   * document is validated afterwards. The validation is a second pass over the
+   * DOM document which also adds the default attribute values to it.
+   */
+  AFTER_PARSE,
+
+  /**
+   * The DOM document is built by a non-validating parser and the model instance
+   * is checked against the constraints of its metamodel instead of the schema,
+   * see {@link org.camunda.bpm.model.xml.impl.validation.MetamodelValidator}.
+   * This takes about half the time of the schema validation but is less strict, and default
+   * attribute values declared by the schema are not added to the document.
+   */
+  METAMODEL
+
+}
@@ -0,0 +1,55 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml;
+
+/**
+ * Controls whether a model is validated against its schema before it is written.
+ */
+public enum WriteValidationPolicy {
+
+  /**
+   * The model is validated before every write.
+   */
+  ALWAYS {
+    public boolean isValidationRequired(ModelInstance modelInstance) {
+      return true;
+    }
+  },
+
+  /**
+   * The model is only validated if it was modified through the model api since it
+   * was last validated successfully, e.g. after it was parsed. Changes made directly
+   * to the DOM document are not detected.
+   */
+  IF_MODIFIED {
+    public boolean isValidationRequired(ModelInstance modelInstance) {
+      return modelInstance.isModifiedSinceValidation();
+    }
+  },
+
+  /**
+   * The model is written without validation.
+   */
+  NEVER {
+    public boolean isValidationRequired(ModelInstance modelInstance) {
+      return false;
+    }
+  };
+
+  /**
+   * @param modelInstance the model instance to write
+   * @return true if the model instance has to be validated before it is written
+   */
+  public abstract boolean isValidationRequired(ModelInstance modelInstance);
+
+}
@@ -34,6 +34,13 @@ import static org.camunda.bpm.model.xml.type.ModelElementTypeBuilder.ModelTypeIn
  */
 public class ModelBuilderImpl extends ModelBuilder {
 
+  /** creates the instances of generic types, see {@link #defineGenericType(String, String)} */
+  static final ModelTypeInstanceProvider<ModelElementInstance> GENERIC_TYPE_INSTANCE_PROVIDER = new ModelTypeInstanceProvider<ModelElementInstance>() {
+    public ModelElementInstance newInstance(ModelTypeInstanceContext instanceContext) {
+      return new ModelElementInstanceImpl(instanceContext);
+    }
+  };
+
   private final List<ModelElementTypeBuilderImpl> typeBuilders = new ArrayList<ModelElementTypeBuilderImpl>();
   private final ModelImpl model;
 
@@ -50,11 +57,7 @@ public class ModelBuilderImpl extends ModelBuilder {
   public ModelElementType defineGenericType(String typeName, String typeNamespaceUri) {
     ModelElementTypeBuilder typeBuilder = defineType(ModelElementInstance.class, typeName)
       .namespaceUri(typeNamespaceUri)
-      .instanceProvider(new ModelTypeInstanceProvider<ModelElementInstance>() {
-        public ModelElementInstance newInstance(ModelTypeInstanceContext instanceContext) {
-          return new ModelElementInstanceImpl(instanceContext);
-        }
-      });
+      .instanceProvider(GENERIC_TYPE_INSTANCE_PROVIDER);
 
     return typeBuilder.build();
   }
@@ -66,6 +69,7 @@ public class ModelBuilderImpl extends ModelBuilder {
     for (ModelElementTypeBuilderImpl typeBuilder : typeBuilders) {
       typeBuilder.performModelBuild(model);
     }
+    model.freeze();
     return model;
   }
 
@@ -13,15 +13,18 @@
 package org.camunda.bpm.model.xml.impl;
 
 import org.camunda.bpm.model.xml.Model;
+import org.camunda.bpm.model.xml.impl.type.ModelElementTypeImpl;
 import org.camunda.bpm.model.xml.impl.util.ModelUtil;
-import org.camunda.bpm.model.xml.impl.util.QName;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.camunda.bpm.model.xml.type.ModelElementType;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A model contains all defined types and the relationship between them.
@@ -31,8 +34,16 @@ import java.util.Map;
  */
 public class ModelImpl implements Model {
 
-  private final Map<QName, ModelElementType> typesByName = new HashMap<QName, ModelElementType>();
+  /** the types by namespace URI and name, so that a lookup does not allocate a key */
+  private final Map<String, Map<String, ModelElementType>> typesByNamespace = new HashMap<String, Map<String, ModelElementType>>();
+  private final List<ModelElementType> types = new ArrayList<ModelElementType>();
   private final Map<Class<? extends ModelElementInstance>, ModelElementType> typesByClass = new HashMap<Class<? extends ModelElementInstance>, ModelElementType>();
+
+  /** the generic types of unknown elements by namespace URI and name, see {@link #registerGenericType(String, String)} */
+  private final ConcurrentMap<String, ConcurrentMap<String, ModelElementType>> genericTypesByNamespace = new ConcurrentHashMap<String, ConcurrentMap<String, ModelElementType>>();
+
+  /** the generic types of unknown elements without namespace by name */
+  private final ConcurrentMap<String, ModelElementType> genericTypesWithoutNamespace = new ConcurrentHashMap<String, ModelElementType>();
   private final String modelName;
 
   /**
@@ -44,7 +55,12 @@ public class ModelImpl implements Model {
   }
 
   public Collection<ModelElementType> getTypes() {
-    return new ArrayList<ModelElementType>(typesByName.values());
+    List<ModelElementType> allTypes = new ArrayList<ModelElementType>(types);
+    for (Map<String, ModelElementType> genericTypesByName : genericTypesByNamespace.values()) {
+      allTypes.addAll(genericTypesByName.values());
+    }
+    allTypes.addAll(genericTypesWithoutNamespace.values());
+    return allTypes;
   }
 
   public ModelElementType getType(Class<? extends ModelElementInstance> instanceClass) {
@@ -56,7 +72,60 @@ public class ModelImpl implements Model {
   }
 
   public ModelElementType getTypeForName(String typeName, String namespaceUri) {
-    return typesByName.get(ModelUtil.getQName(typeName, namespaceUri));
+    ModelElementType type = null;
+    Map<String, ModelElementType> typesByName = typesByNamespace.get(namespaceUri);
+    if (typesByName != null) {
+      type = typesByName.get(typeName);
+    }
+    if (type == null && typeName != null) {
+      Map<String, ModelElementType> genericTypesByName = namespaceUri == null ? genericTypesWithoutNamespace : genericTypesByNamespace.get(namespaceUri);
+      if (genericTypesByName != null) {
+        type = genericTypesByName.get(typeName);
+      }
+    }
+    return type;
+  }
+
+  /**
+   * Returns the generic type for elements which have no type in this model. A generic type
+   * is created and frozen on the first request for its name and then shared by all model
+   * instances. Unlike {@link ModelBuilderImpl#defineGenericType(String, String)} this does
+   * not rebuild the model, so it is safe while other threads parse model instances.
+   *
+   * @param typeName  the name of the generic type
+   * @param namespaceUri  the namespace URI of the generic type
+   * @return the generic type
+   */
+  public ModelElementType registerGenericType(String typeName, String namespaceUri) {
+    ModelUtil.ensureNotNull(typeName, "typeName");
+    ConcurrentMap<String, ModelElementType> genericTypesByName = getGenericTypesByName(namespaceUri);
+    ModelElementType genericType = genericTypesByName.get(typeName);
+    if (genericType == null) {
+      ModelElementTypeImpl newGenericType = new ModelElementTypeImpl(this, typeName, ModelElementInstance.class);
+      newGenericType.setTypeNamespace(namespaceUri);
+      newGenericType.setInstanceProvider(ModelBuilderImpl.GENERIC_TYPE_INSTANCE_PROVIDER);
+      newGenericType.freeze();
+      genericType = genericTypesByName.putIfAbsent(typeName, newGenericType);
+      if (genericType == null) {
+        genericType = newGenericType;
+      }
+    }
+    return genericType;
+  }
+
+  private ConcurrentMap<String, ModelElementType> getGenericTypesByName(String namespaceUri) {
+    if (namespaceUri == null) {
+      return genericTypesWithoutNamespace;
+    }
+    ConcurrentMap<String, ModelElementType> genericTypesByName = genericTypesByNamespace.get(namespaceUri);
+    if (genericTypesByName == null) {
+      genericTypesByName = new ConcurrentHashMap<String, ModelElementType>();
+      ConcurrentMap<String, ModelElementType> existingGenericTypesByName = genericTypesByNamespace.putIfAbsent(namespaceUri, genericTypesByName);
+      if (existingGenericTypesByName != null) {
+        genericTypesByName = existingGenericTypesByName;
+      }
+    }
+    return genericTypesByName;
   }
 
   /**
@@ -66,11 +135,36 @@ public class ModelImpl implements Model {
    * @param instanceType  the instance class of the type to register
    */
   public void registerType(ModelElementType modelElementType, Class<? extends ModelElementInstance> instanceType) {
-    QName qName = ModelUtil.getQName(modelElementType.getTypeName(), modelElementType.getTypeNamespace());
-    typesByName.put(qName, modelElementType);
+    String namespaceUri = modelElementType.getTypeNamespace();
+    Map<String, ModelElementType> typesByName = typesByNamespace.get(namespaceUri);
+    if (typesByName == null) {
+      typesByName = new HashMap<String, ModelElementType>();
+      typesByNamespace.put(namespaceUri, typesByName);
+    }
+    ModelElementType existingType = typesByName.put(modelElementType.getTypeName(), modelElementType);
+    if (existingType != null) {
+      types.remove(existingType);
+    }
+    types.add(modelElementType);
     typesByClass.put(instanceType, modelElementType);
   }
 
+  /**
+   * Assigns an id to every registered type and precomputes the metamodel lookups
+   * of the types. Called at the end of every build of the model.
+   */
+  public void freeze() {
+    int typeId = 0;
+    for (ModelElementType type : types) {
+      ModelElementTypeImpl typeImpl = (ModelElementTypeImpl) type;
+      typeImpl.unfreeze();
+      typeImpl.setTypeId(typeId++);
+    }
+    for (ModelElementType type : types) {
+      ((ModelElementTypeImpl) type).freeze();
+    }
+  }
+
   public String getModelName() {
     return modelName;
   }
@@ -17,16 +17,33 @@ import org.camunda.bpm.model.xml.ModelBuilder;
 import org.camunda.bpm.model.xml.ModelException;
 import org.camunda.bpm.model.xml.ModelInstance;
 import org.camunda.bpm.model.xml.impl.instance.ModelElementInstanceImpl;
+import org.camunda.bpm.model.xml.impl.type.ModelElementTypeImpl;
+import org.camunda.bpm.model.xml.impl.type.attribute.AttributeImpl;
 import org.camunda.bpm.model.xml.impl.util.DomUtil;
 import org.camunda.bpm.model.xml.impl.util.ModelUtil;
+import org.camunda.bpm.model.xml.impl.util.QName;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.camunda.bpm.model.xml.type.ModelElementType;
+import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.reference.Reference;
+import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import javax.xml.XMLConstants;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * An instance of a model
@@ -37,14 +54,76 @@ import java.util.List;
  */
 public class ModelInstanceImpl implements ModelInstance {
 
+  /** orders DOM nodes by their position in the document */
+  private static final Comparator<Node> DOCUMENT_ORDER = new Comparator<Node>() {
+    public int compare(Node node, Node otherNode) {
+      return DomUtil.compareDocumentOrder(node, otherNode);
+    }
+  };
+
   private final Document document;
-  private ModelImpl model;
+  private final ModelImpl model;
   private final ModelBuilder modelBuilder;
 
+  /**
+   * the model element instances of the DOM elements, see {@link ModelUtil#getModelElement(Element, ModelInstanceImpl)}.
+   * Like the DOM user data it replaces, it keeps the instances for the lifetime of the model instance.
+   */
+  private final Map<Element, ModelElementInstance> modelElements = new IdentityHashMap<Element, ModelElementInstance>();
+
+  /**
+   * the child modification counts, cached child element views, cached reference targets and cached insertion
+   * slots of DOM elements, see {@link #getCachedChildElements(Element, Object)},
+   * {@link #getCachedReferenceTargets(Element, Reference)} and {@link #getCachedLastChildElementsBySlot(Element)}
+   */
+  private final Map<Element, ChildElementCache> childElementCaches = new IdentityHashMap<Element, ChildElementCache>();
+
+  /** all elements attached to the document, indexed by the values of their id attributes */
+  private final Map<String, Element> elementsById = new HashMap<String, Element>();
+
+  /** all elements attached to the document, indexed by their element name, the keys are the names cached by {@link #getQName(String, String)} */
+  private final Map<QName, IndexedElements> elementsByName = new HashMap<QName, IndexedElements>();
+
+  /** all attached reference source elements, indexed by reference and the identifier of the referenced element */
+  private final Map<Reference<?>, Map<String, Set<Element>>> referenceSourceElements = new HashMap<Reference<?>, Map<String, Set<Element>>>();
+
+  /** all attached elements with indexed attributes, indexed by attribute and attribute value */
+  private final Map<Attribute<?>, Map<String, IndexedElements>> elementsByAttributeValue = new HashMap<Attribute<?>, Map<String, IndexedElements>>();
+
+  /** the namespace declarations of attached elements by prefix, see {@link #lookupNamespaceUri(Element, String)} */
+  private final Map<Element, Map<String, String>> namespaceDeclarations = new HashMap<Element, Map<String, String>>();
+
+  /** the qualified names of elements and parsed identifiers by namespace URI and local name, see {@link #getQName(String, String)} */
+  private final Map<String, Map<String, QName>> qNames = new HashMap<String, Map<String, QName>>();
+
+  /** counts the modifications of child nodes of all elements, so the child modification count of an element never repeats */
+  private int childModificationCount = 0;
+
+  /** counts the modifications of the ids of attached elements, used to invalidate cached reference targets */
+  private int idModificationCount = 0;
+
+  /** counts the modifications of the model through the model api */
+  private int modificationCount = 0;
+
+  /** the modification count at the last successful validation, or -1 if the model was never validated */
+  private int validatedModificationCount = -1;
+
+  private final List<ModelModificationListener> modificationListeners = new ArrayList<ModelModificationListener>();
+
+  /** whether the whole document is indexed, which visits all elements in document order */
+  private boolean isIndexingDocument;
+
   public ModelInstanceImpl(ModelImpl model, ModelBuilder modelBuilder, Document document) {
     this.model = model;
     this.modelBuilder = modelBuilder;
     this.document = document;
+    isIndexingDocument = true;
+    try {
+      indexSubtree(DomUtil.getDocumentElement(document));
+    }
+    finally {
+      isIndexingDocument = false;
+    }
   }
 
   public Document getDocument() {
@@ -63,7 +142,11 @@ public class ModelInstanceImpl implements ModelInstance {
   public void setDocumentElement(ModelElementInstance modelElement) {
     ModelUtil.ensureInstanceOf(modelElement, ModelElementInstanceImpl.class);
     Element domElement = modelElement.getDomElement();
+    Element existingDocumentElement = DomUtil.getDocumentElement(document);
     DomUtil.setDocumentElement(document, domElement);
+    incrementModificationCount();
+    unindexSubtree(existingDocumentElement);
+    indexSubtree(domElement);
   }
 
   public <T extends ModelElementInstance> T newInstance(Class<T> type) {
@@ -84,18 +167,20 @@ public class ModelInstanceImpl implements ModelInstance {
     return model;
   }
 
+  /**
+   * Returns the generic type for elements which have no type in the model, see
+   * {@link ModelImpl#registerGenericType(String, String)}.
+   *
+   * @param localName  the local name of the elements
+   * @param namespaceUri  the namespace URI of the elements
+   * @return the generic type
+   */
   public ModelElementType registerGenericType(String localName, String namespaceUri) {
-    ModelElementType elementType = modelBuilder.defineGenericType(localName, namespaceUri);
-    model = (ModelImpl) modelBuilder.build();
-    return elementType;
+    return model.registerGenericType(localName, namespaceUri);
   }
 
   public ModelElementInstance getModelElementById(String id) {
-    if (id == null) {
-      return null;
-    }
-
-    Element element = DomUtil.findElementById(document, id);
+    Element element = getElementById(id);
     if(element != null) {
       return ModelUtil.getModelElement(element, this);
     } else {
@@ -103,6 +188,70 @@ public class ModelInstanceImpl implements ModelInstance {
     }
   }
 
+  /**
+   * Returns the attached DOM element with the given id.
+   *
+   * @param id  the id of the element
+   * @return the DOM element or null if no element with this id exists
+   */
+  public Element getElementById(String id) {
+    if (id == null) {
+      return null;
+    }
+
+    Element element = elementsById.get(id);
+    if (element == null) {
+      // fall back to the DOM for elements which were not connected through the model api
+      element = DomUtil.findElementById(document, id);
+    }
+    return element;
+  }
+
+  /**
+   * Returns a counter which changes whenever the model is modified through the model api.
+   * Changes made directly to the DOM document are not counted.
+   *
+   * @return the current modification count
+   */
+  public int getModificationCount() {
+    return modificationCount;
+  }
+
+  public void incrementModificationCount() {
+    modificationCount++;
+  }
+
+  /**
+   * Records a modification of the attributes, the text content or the child elements of the element.
+   *
+   * @param element the modified element
+   */
+  public void elementModified(Element element) {
+    modificationCount++;
+    for (ModelModificationListener listener : modificationListeners) {
+      listener.elementModified(element);
+    }
+  }
+
+  public void addModificationListener(ModelModificationListener listener) {
+    modificationListeners.add(listener);
+  }
+
+  public void removeModificationListener(ModelModificationListener listener) {
+    modificationListeners.remove(listener);
+  }
+
+  /**
+   * Records that the model was successfully validated in its current state.
+   */
+  public void markValidated() {
+    validatedModificationCount = modificationCount;
+  }
+
+  public boolean isModifiedSinceValidation() {
+    return validatedModificationCount != modificationCount;
+  }
+
   public Collection<ModelElementInstance> getModelElementsByType(ModelElementType type) {
     Collection<ModelElementType> extendingTypes = type.getAllExtendingTypes();
 
@@ -115,6 +264,640 @@ public class ModelInstanceImpl implements ModelInstance {
     return instances;
   }
 
+  /**
+   * Updates the id index after an id attribute of an element changed. Elements
+   * which are not attached to the document are ignored, they are indexed once
+   * they are added to the document.
+   *
+   * @param element  the DOM element which id changed
+   * @param oldId  the previous id or null if the element had no id
+   * @param newId  the new id or null if the id was removed
+   */
+  public void updateElementId(Element element, String oldId, String newId) {
+    boolean isIdChanged = oldId == null ? newId != null : !oldId.equals(newId);
+    if (isIdChanged && oldId != null && elementsById.get(oldId) == element) {
+      elementsById.remove(oldId);
+      idModificationCount++;
+    }
+    if (isIdChanged && newId != null && isAttached(element)) {
+      elementsById.put(newId, element);
+      idModificationCount++;
+    }
+    for (ModelModificationListener listener : modificationListeners) {
+      listener.elementIdChanged(element, oldId, newId);
+    }
+  }
+
+  /**
+   * Returns all attached elements with the given name in document order.
+   *
+   * @param localName  the local name of the elements
+   * @param namespaceUri  the namespace URI of the elements
+   * @return a snapshot of the DOM elements with the given name
+   */
+  public List<Element> getElementsByNameNs(String localName, String namespaceUri) {
+    IndexedElements elements = elementsByName.get(getQName(localName, namespaceUri));
+    if (elements == null) {
+      return new ArrayList<Element>();
+    }
+    return elements.getInDocumentOrder();
+  }
+
+  /**
+   * Adds the reference source element to the reverse reference index. Elements which
+   * are not attached to the document are ignored, they are indexed once they are
+   * added to the document.
+   *
+   * @param reference  the reference which uses the element as reference source
+   * @param identifier  the identifier of the referenced element
+   * @param referenceSourceElement  the DOM element of the reference source
+   */
+  public void addReferenceSourceElement(Reference<?> reference, String identifier, Element referenceSourceElement) {
+    if (identifier == null || identifier.length() == 0 || !isAttached(referenceSourceElement)) {
+      return;
+    }
+    Map<String, Set<Element>> sourceElementsByIdentifier = referenceSourceElements.get(reference);
+    if (sourceElementsByIdentifier == null) {
+      sourceElementsByIdentifier = new HashMap<String, Set<Element>>();
+      referenceSourceElements.put(reference, sourceElementsByIdentifier);
+    }
+    Set<Element> sourceElements = sourceElementsByIdentifier.get(identifier);
+    if (sourceElements == null) {
+      sourceElements = new LinkedHashSet<Element>();
+      sourceElementsByIdentifier.put(identifier, sourceElements);
+    }
+    sourceElements.add(referenceSourceElement);
+  }
+
+  /**
+   * Removes the reference source element from the reverse reference index.
+   *
+   * @param reference  the reference which uses the element as reference source
+   * @param identifier  the identifier of the referenced element
+   * @param referenceSourceElement  the DOM element of the reference source
+   */
+  public void removeReferenceSourceElement(Reference<?> reference, String identifier, Element referenceSourceElement) {
+    if (identifier == null) {
+      return;
+    }
+    Map<String, Set<Element>> sourceElementsByIdentifier = referenceSourceElements.get(reference);
+    if (sourceElementsByIdentifier != null) {
+      Set<Element> sourceElements = sourceElementsByIdentifier.get(identifier);
+      if (sourceElements != null) {
+        sourceElements.remove(referenceSourceElement);
+        if (sourceElements.isEmpty()) {
+          sourceElementsByIdentifier.remove(identifier);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns all attached elements which reference the identifier by any reference.
+   *
+   * @param identifier  the identifier of the referenced element
+   * @return a snapshot of the DOM elements of the reference sources
+   */
+  public List<Element> getReferenceSourceElements(String identifier) {
+    List<Element> result = new ArrayList<Element>();
+    for (Map<String, Set<Element>> sourceElementsByIdentifier : referenceSourceElements.values()) {
+      Set<Element> sourceElements = sourceElementsByIdentifier.get(identifier);
+      if (sourceElements != null) {
+        result.addAll(sourceElements);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns all attached elements which reference the identifier by the given reference.
+   *
+   * @param reference  the reference to find the reference source elements for
+   * @param identifier  the identifier of the referenced element
+   * @return a snapshot of the DOM elements of the reference sources
+   */
+  public List<Element> getReferenceSourceElements(Reference<?> reference, String identifier) {
+    Map<String, Set<Element>> sourceElementsByIdentifier = referenceSourceElements.get(reference);
+    if (sourceElementsByIdentifier != null) {
+      Set<Element> sourceElements = sourceElementsByIdentifier.get(identifier);
+      if (sourceElements != null) {
+        return new ArrayList<Element>(sourceElements);
+      }
+    }
+    return new ArrayList<Element>();
+  }
+
+  /**
+   * Adds an element to the secondary index of an indexed attribute under the current
+   * value of the attribute. Elements which are not attached to the document are ignored,
+   * they are indexed once they are added to the document.
+   *
+   * @param attribute  the indexed attribute
+   * @param element  the DOM element which declares the attribute
+   */
+  public void indexAttributeValue(Attribute<?> attribute, Element element) {
+    if (isAttached(element)) {
+      addAttributeValueIndexEntries(attribute, element);
+    }
+  }
+
+  /**
+   * Removes an element from the secondary index of an indexed attribute. Has to be
+   * called before the value of the attribute changes.
+   *
+   * @param attribute  the indexed attribute
+   * @param element  the DOM element which declares the attribute
+   */
+  public void unindexAttributeValue(Attribute<?> attribute, Element element) {
+    Map<String, IndexedElements> elementsByValue = elementsByAttributeValue.get(attribute);
+    if (elementsByValue == null) {
+      return;
+    }
+    for (String key : ((AttributeImpl<?>) attribute).getIndexKeys(element)) {
+      IndexedElements elements = elementsByValue.get(key);
+      if (elements != null) {
+        elements.removeElement(element);
+        if (elements.isEmpty()) {
+          elementsByValue.remove(key);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns all attached elements with the given value of an indexed attribute in
+   * document order. For list indexed attributes the value is an item of the list.
+   *
+   * @param attribute  the indexed attribute
+   * @param value  the attribute value or list item
+   * @return a snapshot of the DOM elements with the attribute value
+   * @throws ModelException if the attribute is not indexed
+   */
+  public List<Element> getElementsByAttributeValue(Attribute<?> attribute, String value) {
+    if (!attribute.isIndexed()) {
+      throw new ModelException("Attribute '" + attribute.getAttributeName() + "' of type '"
+        + attribute.getOwningElementType().getTypeName() + "' is not indexed");
+    }
+    Map<String, IndexedElements> elementsByValue = elementsByAttributeValue.get(attribute);
+    if (elementsByValue != null) {
+      IndexedElements elements = elementsByValue.get(value);
+      if (elements != null) {
+        return elements.getInDocumentOrder();
+      }
+    }
+    return new ArrayList<Element>();
+  }
+
+  /**
+   * Returns the number of distinct values in the secondary index of an attribute.
+   * Together with {@link #getAttributeValueIndexEntryCount(Attribute)} this allows
+   * to measure the memory used by the index.
+   *
+   * @param attribute  the indexed attribute
+   * @return the number of distinct indexed values
+   */
+  public int getAttributeValueIndexKeyCount(Attribute<?> attribute) {
+    Map<String, IndexedElements> elementsByValue = elementsByAttributeValue.get(attribute);
+    return elementsByValue == null ? 0 : elementsByValue.size();
+  }
+
+  /**
+   * Returns the number of (value, element) entries in the secondary index of an attribute.
+   *
+   * @param attribute  the indexed attribute
+   * @return the number of index entries
+   */
+  public int getAttributeValueIndexEntryCount(Attribute<?> attribute) {
+    int count = 0;
+    Map<String, IndexedElements> elementsByValue = elementsByAttributeValue.get(attribute);
+    if (elementsByValue != null) {
+      for (IndexedElements elements : elementsByValue.values()) {
+        count += elements.size();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Adds an element and all of its descendants to the id, name, reference and attribute value indexes.
+   * Should be called after the element was attached to the document.
+   *
+   * @param element  the root element of the subtree to index
+   */
+  public void indexSubtree(Element element) {
+    if (element == null || !isAttached(element)) {
+      return;
+    }
+    for (ModelModificationListener listener : modificationListeners) {
+      listener.subtreeAttached(element);
+    }
+    Node node = element;
+    while (node != null) {
+      if (node.getNodeType() == Node.ELEMENT_NODE) {
+        Element domElement = (Element) node;
+        ModelElementTypeImpl elementType = (ModelElementTypeImpl) model.getTypeForName(domElement.getLocalName(), domElement.getNamespaceURI());
+        for (String id : getIds(domElement, elementType)) {
+          elementsById.put(id, domElement);
+          idModificationCount++;
+        }
+        addElementByName(domElement);
+        addNamespaceDeclarations(domElement);
+        if (elementType != null) {
+          for (Attribute<?> attribute : elementType.getAllIndexedAttributes()) {
+            addAttributeValueIndexEntries(attribute, domElement);
+          }
+          List<Reference<?>> outgoingReferences = elementType.getAllOutgoingReferences();
+          if (!outgoingReferences.isEmpty()) {
+            ModelElementInstance referenceSourceElement = ModelUtil.getModelElement(domElement, this);
+            for (Reference<?> reference : outgoingReferences) {
+              addReferenceSourceElement(reference, reference.getReferenceIdentifier(referenceSourceElement), domElement);
+            }
+          }
+        }
+      }
+      node = DomUtil.nextNodeInSubtree(node, element);
+    }
+  }
+
+  /**
+   * Removes an element and all of its descendants from the id, name, reference and attribute value indexes.
+   *
+   * @param element  the root element of the subtree to remove from the indexes
+   */
+  public void unindexSubtree(Element element) {
+    if (element == null) {
+      return;
+    }
+    for (ModelModificationListener listener : modificationListeners) {
+      listener.subtreeDetached(element);
+    }
+    Node node = element;
+    while (node != null) {
+      if (node.getNodeType() == Node.ELEMENT_NODE) {
+        Element domElement = (Element) node;
+        ModelElementTypeImpl elementType = (ModelElementTypeImpl) model.getTypeForName(domElement.getLocalName(), domElement.getNamespaceURI());
+        for (String id : getIds(domElement, elementType)) {
+          if (elementsById.get(id) == domElement) {
+            elementsById.remove(id);
+            idModificationCount++;
+          }
+        }
+        removeElementByName(domElement);
+        namespaceDeclarations.remove(domElement);
+        childElementCaches.remove(domElement);
+        if (elementType != null) {
+          for (Attribute<?> attribute : elementType.getAllIndexedAttributes()) {
+            unindexAttributeValue(attribute, domElement);
+          }
+          List<Reference<?>> outgoingReferences = elementType.getAllOutgoingReferences();
+          if (!outgoingReferences.isEmpty()) {
+            ModelElementInstance referenceSourceElement = ModelUtil.getModelElement(domElement, this);
+            for (Reference<?> reference : outgoingReferences) {
+              removeReferenceSourceElement(reference, reference.getReferenceIdentifier(referenceSourceElement), domElement);
+            }
+          }
+        }
+      }
+      node = DomUtil.nextNodeInSubtree(node, element);
+    }
+  }
+
+  private void addAttributeValueIndexEntries(Attribute<?> attribute, Element element) {
+    List<String> keys = ((AttributeImpl<?>) attribute).getIndexKeys(element);
+    if (keys.isEmpty()) {
+      return;
+    }
+    Map<String, IndexedElements> elementsByValue = elementsByAttributeValue.get(attribute);
+    if (elementsByValue == null) {
+      elementsByValue = new HashMap<String, IndexedElements>();
+      elementsByAttributeValue.put(attribute, elementsByValue);
+    }
+    for (String key : keys) {
+      IndexedElements elements = elementsByValue.get(key);
+      if (elements == null) {
+        elements = new IndexedElements();
+        elementsByValue.put(key, elements);
+      }
+      elements.addElement(element, isIndexingDocument);
+    }
+  }
+
+  private void addElementByName(Element element) {
+    QName elementName = getQName(element.getLocalName(), element.getNamespaceURI());
+    IndexedElements elements = elementsByName.get(elementName);
+    if (elements == null) {
+      elements = new IndexedElements();
+      elementsByName.put(elementName, elements);
+    }
+    elements.addElement(element, isIndexingDocument);
+  }
+
+  private void removeElementByName(Element element) {
+    QName elementName = getQName(element.getLocalName(), element.getNamespaceURI());
+    IndexedElements elements = elementsByName.get(elementName);
+    if (elements != null) {
+      elements.removeElement(element);
+      if (elements.isEmpty()) {
+        elementsByName.remove(elementName);
+      }
+    }
+  }
+
+  /**
+   * Returns the registered model element instance of a DOM element.
+   *
+   * @param element  the DOM element
+   * @return the model element instance or null if none was registered yet
+   */
+  public ModelElementInstance getRegisteredModelElement(Element element) {
+    return modelElements.get(element);
+  }
+
+  /**
+   * Registers the model element instance of a DOM element. Every DOM element has at most
+   * one model element instance, because model element instances cache attribute values.
+   *
+   * @param element  the DOM element
+   * @param modelElement  the model element instance of the DOM element
+   */
+  public void registerModelElement(Element element, ModelElementInstance modelElement) {
+    modelElements.put(element, modelElement);
+  }
+
+  /**
+   * Returns the modification count of the child nodes of a DOM element, which changes on
+   * every {@link #incrementChildModificationCount(Element)}. The cached child elements of
+   * detached elements are discarded and their count is reset to 0, later modifications
+   * continue with the count of the model instance, so a count never repeats.
+   *
+   * @param element  the DOM element
+   * @return the modification count of the child nodes
+   */
+  public int getChildModificationCount(Element element) {
+    ChildElementCache cache = childElementCaches.get(element);
+    return cache == null ? 0 : cache.modificationCount;
+  }
+
+  /**
+   * Marks the child nodes of a DOM element as modified and discards all cached views on them.
+   *
+   * @param element  the DOM element which child nodes were modified
+   */
+  public void incrementChildModificationCount(Element element) {
+    ChildElementCache cache = childElementCaches.get(element);
+    if (cache == null) {
+      cache = new ChildElementCache();
+      childElementCaches.put(element, cache);
+    }
+    cache.modificationCount = ++childModificationCount;
+    cache.views.clear();
+    cache.referenceTargets.clear();
+    cache.lastChildElementsBySlot = null;
+  }
+
+  /**
+   * Returns a view on the child elements of a DOM element which was cached by
+   * {@link #cacheChildElements(Element, Object, List)} since the last modification
+   * of the child nodes.
+   *
+   * @param element  the parent DOM element
+   * @param key  the key of the view, e.g. the child element collection
+   * @return the cached child elements or null if none are cached
+   */
+  public List<Element> getCachedChildElements(Element element, Object key) {
+    ChildElementCache cache = childElementCaches.get(element);
+    return cache == null ? null : cache.views.get(key);
+  }
+
+  /**
+   * Caches a view on the child elements of a DOM element until the child nodes are modified.
+   * The cached list must not be modified afterwards.
+   *
+   * @param element  the parent DOM element
+   * @param key  the key of the view, e.g. the child element collection
+   * @param childElements  the child elements of the view
+   */
+  public void cacheChildElements(Element element, Object key, List<Element> childElements) {
+    ChildElementCache cache = childElementCaches.get(element);
+    if (cache == null) {
+      cache = new ChildElementCache();
+      childElementCaches.put(element, cache);
+    }
+    cache.views.put(key, childElements);
+  }
+
+  /**
+   * Returns the last child element of each sequence slot of a DOM element which was cached by
+   * {@link #cacheLastChildElementsBySlot(Element, Element[])} since the last modification of
+   * the child nodes.
+   *
+   * @param element  the parent DOM element
+   * @return the last child element by the index of its child element type or null if none are cached
+   */
+  public Element[] getCachedLastChildElementsBySlot(Element element) {
+    ChildElementCache cache = childElementCaches.get(element);
+    return cache == null ? null : cache.lastChildElementsBySlot;
+  }
+
+  /**
+   * Caches the last child element of each sequence slot of a DOM element until the child nodes
+   * are modified. Callers which modify the child nodes and update the slots have to cache them
+   * again afterwards.
+   *
+   * @param element  the parent DOM element
+   * @param lastChildElementsBySlot  the last child element by the index of its child element type
+   */
+  public void cacheLastChildElementsBySlot(Element element, Element[] lastChildElementsBySlot) {
+    ChildElementCache cache = childElementCaches.get(element);
+    if (cache == null) {
+      cache = new ChildElementCache();
+      childElementCaches.put(element, cache);
+    }
+    cache.lastChildElementsBySlot = lastChildElementsBySlot;
+  }
+
+  /**
+   * Returns the reference target elements of a reference source parent element which were
+   * cached by {@link #cacheReferenceTargets(Element, Reference, List)}. The cached targets
+   * are discarded if the child nodes of the parent element or any id of an attached
+   * element changed since, or the reference identifier of a reference source changed, see
+   * {@link #discardCachedReferenceTargets(Element, Reference)}.
+   *
+   * @param element  the DOM element of the reference source parent
+   * @param reference  the reference which resolved the targets
+   * @return the cached reference target elements or null if none are cached
+   */
+  public List<Element> getCachedReferenceTargets(Element element, Reference<?> reference) {
+    ChildElementCache cache = childElementCaches.get(element);
+    if (cache == null) {
+      return null;
+    }
+    ReferenceTargets referenceTargets = cache.referenceTargets.get(reference);
+    if (referenceTargets == null || referenceTargets.idModificationCount != idModificationCount) {
+      return null;
+    }
+    return referenceTargets.elements;
+  }
+
+  /**
+   * Caches the resolved reference target elements of a reference source parent element.
+   * The cached list must not be modified afterwards.
+   *
+   * @param element  the DOM element of the reference source parent
+   * @param reference  the reference which resolved the targets
+   * @param referenceTargetElements  the DOM elements of the reference targets
+   */
+  public void cacheReferenceTargets(Element element, Reference<?> reference, List<Element> referenceTargetElements) {
+    ChildElementCache cache = childElementCaches.get(element);
+    if (cache == null) {
+      cache = new ChildElementCache();
+      childElementCaches.put(element, cache);
+    }
+    cache.referenceTargets.put(reference, new ReferenceTargets(idModificationCount, referenceTargetElements));
+  }
+
+  /**
+   * Discards the cached reference target elements of a reference source parent element.
+   * Has to be called after a reference identifier of a reference source changed.
+   *
+   * @param element  the DOM element of the reference source parent
+   * @param reference  the reference which resolved the targets
+   */
+  public void discardCachedReferenceTargets(Element element, Reference<?> reference) {
+    ChildElementCache cache = childElementCaches.get(element);
+    if (cache != null) {
+      cache.referenceTargets.remove(reference);
+    }
+  }
+
+  /**
+   * Resolves a namespace prefix in the scope of an element. The namespace declarations of
+   * attached elements are cached, so a resolution needs one map lookup per ancestor instead
+   * of scanning the attributes of every ancestor. Prefixes which are not declared by an
+   * attached ancestor are resolved by the DOM.
+   *
+   * @param scope  the element in whose scope the prefix is resolved
+   * @param prefix  the prefix to resolve or null for the default namespace
+   * @return the namespace URI or null if the prefix is not bound
+   */
+  public String lookupNamespaceUri(Element scope, String prefix) {
+    if (!namespaceDeclarations.isEmpty()) {
+      Node node = scope;
+      while (node != null && node.getNodeType() == Node.ELEMENT_NODE) {
+        Map<String, String> declarations = namespaceDeclarations.get(node);
+        if (declarations != null && declarations.containsKey(prefix)) {
+          return declarations.get(prefix);
+        }
+        node = node.getParentNode();
+      }
+    }
+    return DomUtil.getNamespaceUriForPrefix(scope, prefix);
+  }
+
+  /**
+   * Returns the qualified name with the given local name and namespace URI. The names are
+   * cached for the lifetime of this model instance, so names of unknown elements and parsed
+   * identifiers are shared within the instance but not interned for all instances like the
+   * metamodel type names of {@link QName#of(String, String)}.
+   *
+   * @param localName  the local name
+   * @param namespaceUri  the namespace URI or null
+   * @return the cached qualified name
+   */
+  public QName getQName(String localName, String namespaceUri) {
+    Map<String, QName> names = qNames.get(namespaceUri);
+    if (names == null) {
+      names = new HashMap<String, QName>();
+      qNames.put(namespaceUri, names);
+    }
+    QName qName = names.get(localName);
+    if (qName == null) {
+      qName = new QName(localName, namespaceUri);
+      names.put(localName, qName);
+    }
+    return qName;
+  }
+
+  /**
+   * Updates the cached namespace declarations of an element. Has to be called after a
+   * namespace declaration attribute of an attached element was set or removed.
+   *
+   * @param element  the element whose namespace declarations changed
+   */
+  public void updateNamespaceDeclarations(Element element) {
+    namespaceDeclarations.remove(element);
+    if (isAttached(element)) {
+      addNamespaceDeclarations(element);
+    }
+  }
+
+  private void addNamespaceDeclarations(Element element) {
+    Map<String, String> declarations = null;
+    NamedNodeMap attributes = element.getAttributes();
+    for (int i = 0; i < attributes.getLength(); i++) {
+      Attr attr = (Attr) attributes.item(i);
+      if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI())) {
+        if (declarations == null) {
+          declarations = new HashMap<String, String>(4);
+        }
+        // xmlns declares the default namespace, xmlns:prefix a prefix, an empty value undeclares it
+        String prefix = attr.getPrefix() == null ? null : attr.getLocalName();
+        String namespaceUri = attr.getValue();
+        declarations.put(prefix, namespaceUri.length() == 0 ? null : namespaceUri);
+      }
+    }
+    if (declarations != null) {
+      namespaceDeclarations.put(element, declarations);
+    }
+  }
+
+  /**
+   * Returns the values of all id attributes of an element. An attribute is an
+   * id attribute if it is marked as id in the DOM or declared as id attribute
+   * by the model element type.
+   */
+  private List<String> getIds(Element element, ModelElementTypeImpl elementType) {
+    List<String> ids = new ArrayList<String>(1);
+    NamedNodeMap attributes = element.getAttributes();
+    for (int i = 0; i < attributes.getLength(); i++) {
+      Attr attr = (Attr) attributes.item(i);
+      if (attr.isId()) {
+        ids.add(attr.getValue());
+      }
+    }
+
+    if (elementType != null) {
+      for (Attribute<?> attribute : elementType.getAllAttributes()) {
+        if (attribute.isIdAttribute()) {
+          String id;
+          if (attribute.getNamespaceUri() == null) {
+            id = DomUtil.getAttributeValue(attribute.getAttributeName(), element);
+          }
+          else {
+            id = DomUtil.getAttributeValueNs(attribute.getAttributeName(), attribute.getNamespaceUri(), element);
+          }
+          if (id != null && !ids.contains(id)) {
+            ids.add(id);
+          }
+        }
+      }
+    }
+    return ids;
+  }
+
+  /**
+   * Tests whether a DOM node is connected to the document of this model instance.
+   */
+  public boolean isAttached(Node node) {
+    while (node != null) {
+      if (node == document) {
+        return true;
+      }
+      node = node.getParentNode();
+    }
+    return false;
+  }
+
   /**
    * Clones the model instance but not the model. So only the wrapped DOM document is cloned.
    * Changes of the model are persistent between multiple model instances.
@@ -122,6 +905,100 @@ public class ModelInstanceImpl implements ModelInstance {
    * @return the new model instance
    */
   public Object clone() {
-    return new ModelInstanceImpl(model, modelBuilder, (Document) document.cloneNode(true));
+    ModelInstanceImpl clonedModelInstance = new ModelInstanceImpl(model, modelBuilder, (Document) document.cloneNode(true));
+    if (!isModifiedSinceValidation()) {
+      clonedModelInstance.markValidated();
+    }
+    return clonedModelInstance;
   }
+
+  /**
+   * The indexed elements of an index entry in insertion order. The insertion order stays the
+   * document order as long as every added element follows the last added element, like during
+   * parsing or when the fluent builder appends elements. Otherwise the elements are sorted
+   * lazily on the next query.
+   */
+  private static class IndexedElements extends LinkedHashSet<Element> {
+
+    private static final long serialVersionUID = 1L;
+
+    private Element lastElement;
+
+    private boolean isInDocumentOrder = true;
+
+    /**
+     * @param element  the element to add
+     * @param isFollowingAllElements  true if the element is known to follow all elements of this entry
+     */
+    void addElement(Element element, boolean isFollowingAllElements) {
+      if (contains(element)) {
+        return;
+      }
+      if (isInDocumentOrder && !isEmpty() && !isFollowingAllElements && !isFollowingLastElement(element)) {
+        isInDocumentOrder = false;
+      }
+      add(element);
+      lastElement = element;
+    }
+
+    private boolean isFollowingLastElement(Element element) {
+      // after the last element was removed it is unknown which element is the last one
+      return lastElement != null && DOCUMENT_ORDER.compare(lastElement, element) < 0;
+    }
+
+    void removeElement(Element element) {
+      if (remove(element) && element == lastElement) {
+        lastElement = null;
+      }
+    }
+
+    /**
+     * @return a snapshot of the elements in document order
+     */
+    List<Element> getInDocumentOrder() {
+      List<Element> elements = new ArrayList<Element>(this);
+      if (!isInDocumentOrder) {
+        Collections.sort(elements, DOCUMENT_ORDER);
+        clear();
+        addAll(elements);
+        lastElement = elements.get(elements.size() - 1);
+        isInDocumentOrder = true;
+      }
+      return elements;
+    }
+
+  }
+
+  /**
+   * The child modification count of a DOM element and the views on its child elements
+   * and the reference targets which were resolved since the last modification.
+   */
+  private static class ChildElementCache {
+
+    private int modificationCount = 0;
+
+    private final Map<Object, List<Element>> views = new HashMap<Object, List<Element>>(4);
+
+    private final Map<Reference<?>, ReferenceTargets> referenceTargets = new HashMap<Reference<?>, ReferenceTargets>(2);
+
+    private Element[] lastChildElementsBySlot;
+
+  }
+
+  /**
+   * Resolved reference target elements together with the id modification count they were resolved for.
+   */
+  private static class ReferenceTargets {
+
+    private final int idModificationCount;
+
+    private final List<Element> elements;
+
+    ReferenceTargets(int idModificationCount, List<Element> elements) {
+      this.idModificationCount = idModificationCount;
+      this.elements = elements;
+    }
+
+  }
+
 }
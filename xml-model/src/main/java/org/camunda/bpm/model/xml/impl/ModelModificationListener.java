@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl;
+
+import org.w3c.dom.Element;
+
+/**
+ * Is notified about modifications of a model instance made through the model api,
+ * see {@link ModelInstanceImpl#addModificationListener(ModelModificationListener)}.
+ */
+public interface ModelModificationListener {
+
+  /**
+   * The attributes, the text content or the child elements of the element were changed.
+   *
+   * @param element the modified element
+   */
+  void elementModified(Element element);
+
+  /**
+   * The element was attached to the document together with its descendants.
+   *
+   * @param element the root element of the attached subtree
+   */
+  void subtreeAttached(Element element);
+
+  /**
+   * The element was detached from the document together with its descendants.
+   *
+   * @param element the root element of the detached subtree
+   */
+  void subtreeDetached(Element element);
+
+  /**
+   * The id of the element was changed.
+   *
+   * @param element the element
+   * @param oldId the previous id or null if the element had no id
+   * @param newId the new id or null if the id was removed
+   */
+  void elementIdChanged(Element element, String oldId, String newId);
+
+}
@@ -25,11 +25,13 @@ import org.camunda.bpm.model.xml.type.attribute.Attribute;
 import org.camunda.bpm.model.xml.type.reference.Reference;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
+import javax.xml.XMLConstants;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Base class for implementing Model Elements.
@@ -45,6 +47,14 @@ public class ModelElementInstanceImpl implements ModelElementInstance {
   private final Element domElement;
   /** the implementing model element type */
   private final ModelElementTypeImpl elementType;
+  /** the converted values of attributes, see {@link AttributeImpl#getValue(ModelElementInstance)} */
+  private Map<Attribute<?>, Object> attributeValueCache;
+
+  /** returned by {@link #getCachedAttributeValue(Attribute)} if the value is not cached */
+  public static final Object UNCACHED_VALUE = new Object();
+
+  /** marks cached insertion slots of child elements which are not in sequence order, see {@link #getLastChildElementsBySlot()} */
+  private static final Element[] NO_SEQUENCE_ORDER = new Element[0];
 
   public ModelElementInstanceImpl(ModelTypeInstanceContext instanceContext) {
     this.domElement = instanceContext.getDomElement();
@@ -74,6 +84,41 @@ public class ModelElementInstanceImpl implements ModelElementInstance {
     return elementType;
   }
 
+  /**
+   * Returns the cached converted value of an attribute.
+   *
+   * @param attribute the attribute to get the value for
+   * @return the cached value, which may be null, or {@link #UNCACHED_VALUE}
+   */
+  public Object getCachedAttributeValue(Attribute<?> attribute) {
+    if (attributeValueCache != null) {
+      Object value = attributeValueCache.get(attribute);
+      if (value != null || attributeValueCache.containsKey(attribute)) {
+        return value;
+      }
+    }
+    return UNCACHED_VALUE;
+  }
+
+  /**
+   * Caches the converted value of an attribute until an attribute of this element changes.
+   *
+   * @param attribute the attribute to cache the value for
+   * @param value the converted value
+   */
+  public void cacheAttributeValue(Attribute<?> attribute, Object value) {
+    if (attributeValueCache == null) {
+      attributeValueCache = new HashMap<Attribute<?>, Object>(4);
+    }
+    attributeValueCache.put(attribute, value);
+  }
+
+  private void invalidateAttributeValueCache() {
+    if (attributeValueCache != null) {
+      attributeValueCache.clear();
+    }
+  }
+
   public String getAttributeValue(String attributeName) {
     return DomUtil.getAttributeValue(attributeName, domElement);
   }
@@ -84,12 +129,19 @@ public class ModelElementInstanceImpl implements ModelElementInstance {
 
   public void setAttributeValue(String attributeName, String xmlValue, boolean isIdAttribute) {
     String oldValue = getAttributeValue(attributeName);
+    Attribute<?> attribute = elementType.getAttribute(attributeName);
+    unindexOutgoingReferences(attribute);
+    unindexAttributeValue(attribute);
     DomUtil.setAttributeValue(attributeName, xmlValue, domElement);
+    invalidateAttributeValueCache();
+    modelInstance.elementModified(domElement);
     if(isIdAttribute) {
       DomUtil.setIdAttribute(domElement, attributeName);
+      modelInstance.updateElementId(domElement, oldValue, xmlValue);
     }
-    Attribute<?> attribute = elementType.getAttribute(attributeName);
     if (attribute != null) {
+      indexOutgoingReferences(attribute);
+      indexAttributeValue(attribute);
       ((AttributeImpl<?>) attribute).updateIncomingReferences(this, xmlValue, oldValue);
     }
   }
@@ -101,8 +153,15 @@ public class ModelElementInstanceImpl implements ModelElementInstance {
       if (identifier != null) {
         ((AttributeImpl<?>) attribute).unlinkReference(this, identifier);
       }
+      if (attribute.isIdAttribute()) {
+        modelInstance.updateElementId(domElement, getAttributeValue(attributeName), null);
+      }
+      unindexOutgoingReferences(attribute);
+      unindexAttributeValue(attribute);
     }
     DomUtil.removeAttribute(domElement, attributeName);
+    invalidateAttributeValueCache();
+    modelInstance.elementModified(domElement);
   }
 
   public String getAttributeValueNs(String attributeName, String namespaceUri) {
@@ -116,12 +175,20 @@ public class ModelElementInstanceImpl implements ModelElementInstance {
   public void setAttributeValueNs(String attributeName, String namespaceUri, String xmlValue, boolean isIdAttribute) {
     String oldValue = getAttributeValueNs(attributeName, namespaceUri);
     String prefix = domElement.getOwnerDocument().getDocumentElement().lookupPrefix(namespaceUri);
+    Attribute<?> attribute = elementType.getAttribute(attributeName);
+    unindexOutgoingReferences(attribute);
+    unindexAttributeValue(attribute);
     DomUtil.setAttributeValueNs(attributeName, namespaceUri, xmlValue, domElement);
+    invalidateAttributeValueCache();
+    updateNamespaceDeclarations(namespaceUri);
+    modelInstance.elementModified(domElement);
     if(isIdAttribute) {
       DomUtil.setIdAttributeNs(domElement, attributeName, namespaceUri);
+      modelInstance.updateElementId(domElement, oldValue, xmlValue);
     }
-    Attribute<?> attribute = elementType.getAttribute(attributeName);
     if (attribute != null) {
+      indexOutgoingReferences(attribute);
+      indexAttributeValue(attribute);
       ((AttributeImpl<?>) attribute).updateIncomingReferences(this, xmlValue, oldValue);
     }
   }
@@ -133,8 +200,22 @@ public class ModelElementInstanceImpl implements ModelElementInstance {
       if (identifier != null) {
         ((AttributeImpl<?>) attribute).unlinkReference(this, identifier);
       }
+      if (attribute.isIdAttribute()) {
+        modelInstance.updateElementId(domElement, getAttributeValueNs(attributeName, namespaceUri), null);
+      }
+      unindexOutgoingReferences(attribute);
+      unindexAttributeValue(attribute);
     }
     DomUtil.removeAttributeNs(domElement, attributeName, namespaceUri);
+    invalidateAttributeValueCache();
+    updateNamespaceDeclarations(namespaceUri);
+    modelInstance.elementModified(domElement);
+  }
+
+  private void updateNamespaceDeclarations(String namespaceUri) {
+    if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(namespaceUri)) {
+      modelInstance.updateNamespaceDeclarations(domElement);
+    }
   }
 
   public String getTextContent() {
@@ -142,7 +223,16 @@ public class ModelElementInstanceImpl implements ModelElementInstance {
   }
 
   public void setTextContent(String textContent) {
+    List<Reference<?>> outgoingElementReferences = elementType.getAllOutgoingElementReferences();
+    for (Reference<?> reference : outgoingElementReferences) {
+      ((ReferenceImpl<?>) reference).unindexReferenceSourceElement(this);
+    }
     DomUtil.setTextContent(domElement, textContent);
+    modelInstance.incrementChildModificationCount(domElement);
+    modelInstance.elementModified(domElement);
+    for (Reference<?> reference : outgoingElementReferences) {
+      ((ReferenceImpl<?>) reference).indexReferenceSourceElement(this);
+    }
   }
 
   public String getRawTextContent() {
@@ -150,22 +240,20 @@ public class ModelElementInstanceImpl implements ModelElementInstance {
   }
 
   public ModelElementInstance getUniqueChildElementByNameNs(String elementName, String namespaceUri) {
-    NodeList childNodes = domElement.getChildNodes();
-    List<Element> childElements = DomUtil.filterNodeListByName(childNodes, elementName, namespaceUri);
+    Element childElement = DomUtil.getFirstChildElementByName(domElement, elementName, namespaceUri);
 
-    if(!childElements.isEmpty()) {
-      return ModelUtil.getModelElement(childElements.get(0), modelInstance);
+    if(childElement != null) {
+      return ModelUtil.getModelElement(childElement, modelInstance);
     } else {
       return null;
     }
   }
 
   public ModelElementInstance getUniqueChildElementByType(Class<?> elementType) {
-    NodeList childNodes = domElement.getChildNodes();
-    List<Element> childElements = DomUtil.filterNodeListByType(childNodes, elementType, modelInstance);
+    Element childElement = DomUtil.getFirstChildElementByType(domElement, elementType, modelInstance);
 
-    if(!childElements.isEmpty()) {
-      return ModelUtil.getModelElement(childElements.get(0), modelInstance);
+    if(childElement != null) {
+      return ModelUtil.getModelElement(childElement, modelInstance);
     }
     else {
       return null;
@@ -197,6 +285,62 @@ public class ModelElementInstanceImpl implements ModelElementInstance {
 
     // replace the existing child with the new child in the DOM
     domElement.replaceChild(newChildDomElement, existingChildDomElement);
+    modelInstance.incrementChildModificationCount(domElement);
+    modelInstance.elementModified(domElement);
+
+    // update the id index of the model instance
+    modelInstance.unindexSubtree(existingChildDomElement);
+    modelInstance.indexSubtree(newChildDomElement);
+  }
+
+  /**
+   * Removes this element from the reverse reference index for all references
+   * which use the given attribute as reference source.
+   *
+   * @param attribute the reference source attribute, may be null
+   */
+  private void unindexOutgoingReferences(Attribute<?> attribute) {
+    if (attribute != null) {
+      for (Reference<?> reference : attribute.getOutgoingReferences()) {
+        ((ReferenceImpl<?>) reference).unindexReferenceSourceElement(this);
+      }
+    }
+  }
+
+  /**
+   * Adds this element to the reverse reference index for all references
+   * which use the given attribute as reference source.
+   *
+   * @param attribute the reference source attribute
+   */
+  private void indexOutgoingReferences(Attribute<?> attribute) {
+    for (Reference<?> reference : attribute.getOutgoingReferences()) {
+      ((ReferenceImpl<?>) reference).indexReferenceSourceElement(this);
+    }
+  }
+
+  /**
+   * Removes this element from the secondary index of the given attribute,
+   * if the attribute is indexed.
+   *
+   * @param attribute the attribute which value changes, may be null
+   */
+  private void unindexAttributeValue(Attribute<?> attribute) {
+    if (attribute != null && attribute.isIndexed()) {
+      modelInstance.unindexAttributeValue(attribute, domElement);
+    }
+  }
+
+  /**
+   * Adds this element to the secondary index of the given attribute,
+   * if the attribute is indexed.
+   *
+   * @param attribute the attribute which value changed
+   */
+  private void indexAttributeValue(Attribute<?> attribute) {
+    if (attribute.isIndexed()) {
+      modelInstance.indexAttributeValue(attribute, domElement);
+    }
   }
 
   @SuppressWarnings("unchecked")
@@ -231,15 +375,40 @@ public class ModelElementInstanceImpl implements ModelElementInstance {
 
   public void addChildElement(ModelElementInstance newChild) {
     ModelUtil.ensureInstanceOf(newChild, ModelElementInstanceImpl.class);
-    ModelElementInstance elementToInsertAfter = findElementToInsertAfter(newChild);
-    insertElementAfter(newChild, elementToInsertAfter);
+    int newElementTypeIndex = elementType.getChildElementTypeIndex(newChild);
+    Element newChildDomElement = newChild.getDomElement();
+    // an element moved within this element would leave a stale slot behind
+    Element[] lastChildElements = newChildDomElement.getParentNode() == domElement ? null : getLastChildElementsBySlot();
+    if (lastChildElements != null && !isChildElementOfSlots(lastChildElements, newElementTypeIndex)) {
+      // the child nodes were modified without the model api, e.g. through the DOM
+      lastChildElements = null;
+    }
+    if (lastChildElements == null) {
+      insertElementAfter(newChild, findElementToInsertAfter(newChild, newElementTypeIndex));
+    }
+    else {
+      insertElementAfter(newChild, findElementToInsertAfter(lastChildElements, newElementTypeIndex));
+      lastChildElements[newElementTypeIndex] = newChildDomElement;
+      modelInstance.cacheLastChildElementsBySlot(domElement, lastChildElements);
+    }
   }
 
   public boolean removeChildElement(ModelElementInstance child) {
     ModelElementInstanceImpl childImpl = (ModelElementInstanceImpl) child;
     childImpl.unlinkAllReferences();
     childImpl.unlinkAllChildReferences();
-    return DomUtil.removeChild(domElement, child.getDomElement());
+    Element[] lastChildElements = modelInstance.getCachedLastChildElementsBySlot(domElement);
+    Element previousChildElement = getPreviousSiblingElement(child.getDomElement());
+    boolean isRemoved = DomUtil.removeChild(domElement, child.getDomElement());
+    if (isRemoved) {
+      modelInstance.incrementChildModificationCount(domElement);
+      if (lastChildElements != null && lastChildElements != NO_SEQUENCE_ORDER) {
+        updateLastChildElementsBySlot(lastChildElements, child, previousChildElement);
+      }
+      modelInstance.elementModified(domElement);
+      modelInstance.unindexSubtree(child.getDomElement());
+    }
+    return isRemoved;
   }
 
   public Collection<ModelElementInstance> getChildElementsByType(ModelElementType childElementType) {
@@ -247,38 +416,145 @@ public class ModelElementInstanceImpl implements ModelElementInstance {
     for (ModelElementType extendingType : childElementType.getExtendingTypes()) {
       instances.addAll(getChildElementsByType(extendingType));
     }
-    List<Element> elements = DomUtil.filterNodeListByName(DomUtil.getChildNodes(domElement), childElementType.getTypeName(), childElementType.getTypeNamespace());
+    List<Element> elements = DomUtil.filterChildElementsByName(domElement, childElementType.getTypeName(), childElementType.getTypeNamespace());
     instances.addAll(ModelUtil.getModelElementCollection(elements, modelInstance));
     return instances;
   }
 
   /**
    * Returns the element after which the new element should be inserted in the DOM document.
+   * The child elements are scanned from the end, so appending to the last sequence slot
+   * which already has children only looks at the last child element. Used if the child
+   * elements are not in sequence order, otherwise the insertion slots are used.
    *
    * @param elementToInsert  the new element to insert
+   * @param newElementTypeIndex  the index of the child element type of the new element
    * @return the element to insert after or null
    */
-  private ModelElementInstance findElementToInsertAfter(ModelElementInstance elementToInsert) {
-    List<ModelElementType> childElementTypes = elementType.getAllChildElementTypes();
-    List<Element> childDomElements = DomUtil.filterNodeList(domElement.getChildNodes(), new DomUtil.ElementNodeListFilter());
-    Collection<ModelElementInstance> childElements = ModelUtil.getModelElementCollection(childDomElements, modelInstance);
-
-    ModelElementInstance insertAfterElement = null;
-    int newElementTypeIndex = ModelUtil.getIndexOfElementType(elementToInsert, childElementTypes);
-    for (ModelElementInstance childElement : childElements) {
-      int childElementTypeIndex = ModelUtil.getIndexOfElementType(childElement, childElementTypes);
-      if (newElementTypeIndex >= childElementTypeIndex) {
-        insertAfterElement = childElement;
+  private ModelElementInstance findElementToInsertAfter(ModelElementInstance elementToInsert, int newElementTypeIndex) {
+    Node childNode = domElement.getLastChild();
+    while (childNode != null) {
+      if (childNode.getNodeType() == Node.ELEMENT_NODE) {
+        ModelElementInstance childElement = ModelUtil.getModelElement((Element) childNode, modelInstance);
+        if (elementType.getChildElementTypeIndex(childElement) <= newElementTypeIndex) {
+          return childElement;
+        }
       }
-      else {
-        break;
+      childNode = childNode.getPreviousSibling();
+    }
+    return null;
+  }
+
+  /**
+   * Returns the element after which the new element should be inserted in the DOM document,
+   * which is the last child element of the closest sequence slot up to the slot of the new
+   * element. This only looks at the slots, so it does not depend on the number of children.
+   *
+   * @param lastChildElements  the last child element by sequence slot
+   * @param newElementTypeIndex  the index of the child element type of the new element
+   * @return the element to insert after or null
+   */
+  private ModelElementInstance findElementToInsertAfter(Element[] lastChildElements, int newElementTypeIndex) {
+    for (int index = newElementTypeIndex; index >= 0; index--) {
+      if (lastChildElements[index] != null) {
+        return ModelUtil.getModelElement(lastChildElements[index], modelInstance);
       }
     }
-    return insertAfterElement;
+    return null;
+  }
+
+  /**
+   * Returns the last child element of each sequence slot, indexed by the index of the child element
+   * type. The slots are built by one scan over the child elements and then updated by
+   * {@link #addChildElement(ModelElementInstance)} and {@link #removeChildElement(ModelElementInstance)},
+   * other modifications of the child nodes discard them.
+   *
+   * @return the last child element by sequence slot or null if the child elements are not in sequence order
+   */
+  private Element[] getLastChildElementsBySlot() {
+    Element[] lastChildElements = modelInstance.getCachedLastChildElementsBySlot(domElement);
+    if (lastChildElements == null) {
+      lastChildElements = scanLastChildElementsBySlot();
+      modelInstance.cacheLastChildElementsBySlot(domElement, lastChildElements);
+    }
+    return lastChildElements == NO_SEQUENCE_ORDER ? null : lastChildElements;
+  }
+
+  private boolean isChildElementOfSlots(Element[] lastChildElements, int newElementTypeIndex) {
+    for (int index = newElementTypeIndex; index >= 0; index--) {
+      if (lastChildElements[index] != null) {
+        return lastChildElements[index].getParentNode() == domElement;
+      }
+    }
+    return true;
+  }
+
+  private Element[] scanLastChildElementsBySlot() {
+    Element[] lastChildElements = new Element[elementType.getAllChildElementTypes().size()];
+    int lastIndex = 0;
+    Node childNode = domElement.getFirstChild();
+    while (childNode != null) {
+      if (childNode.getNodeType() == Node.ELEMENT_NODE) {
+        int index;
+        try {
+          index = elementType.getChildElementTypeIndex(ModelUtil.getModelElement((Element) childNode, modelInstance));
+        }
+        catch (ModelException e) {
+          // the child element is not a valid child of this type, e.g. an unknown element
+          return NO_SEQUENCE_ORDER;
+        }
+        if (index < lastIndex) {
+          // e.g. the document was not validated against the schema
+          return NO_SEQUENCE_ORDER;
+        }
+        lastChildElements[index] = (Element) childNode;
+        lastIndex = index;
+      }
+      childNode = childNode.getNextSibling();
+    }
+    return lastChildElements;
+  }
+
+  /**
+   * Updates the insertion slots after a child element was removed. If it was the last child element
+   * of its slot, the previous child element becomes the last one if it is in the same slot.
+   */
+  private void updateLastChildElementsBySlot(Element[] lastChildElements, ModelElementInstance removedChild, Element previousChildElement) {
+    try {
+      int index = elementType.getChildElementTypeIndex(removedChild);
+      if (lastChildElements[index] == removedChild.getDomElement()) {
+        if (previousChildElement != null
+          && elementType.getChildElementTypeIndex(ModelUtil.getModelElement(previousChildElement, modelInstance)) == index) {
+          lastChildElements[index] = previousChildElement;
+        }
+        else {
+          lastChildElements[index] = null;
+        }
+      }
+    }
+    catch (ModelException e) {
+      // a child element has no slot, so the slots are built again on the next insertion
+      return;
+    }
+    modelInstance.cacheLastChildElementsBySlot(domElement, lastChildElements);
+  }
+
+  private static Element getPreviousSiblingElement(Element element) {
+    Node node = element.getPreviousSibling();
+    while (node != null && node.getNodeType() != Node.ELEMENT_NODE) {
+      node = node.getPreviousSibling();
+    }
+    return (Element) node;
   }
 
   public void insertElementAfter(ModelElementInstance elementToInsert, ModelElementInstance insertAfterElement) {
     Element domElementToInsert = elementToInsert.getDomElement();
+    Node previousParentNode = domElementToInsert.getParentNode();
+    if (previousParentNode instanceof Element && previousParentNode != domElement) {
+      // the element is moved from another parent element
+      modelInstance.incrementChildModificationCount((Element) previousParentNode);
+      modelInstance.elementModified((Element) previousParentNode);
+    }
     if (insertAfterElement == null) {
       Node firstChild = domElement.getFirstChild();
       if (firstChild == null) {
@@ -297,6 +573,9 @@ public class ModelElementInstanceImpl implements ModelElementInstance {
         domElement.insertBefore(domElementToInsert, insertBeforeElement);
       }
     }
+    modelInstance.incrementChildModificationCount(domElement);
+    modelInstance.elementModified(domElement);
+    modelInstance.indexSubtree(domElementToInsert);
   }
 
   /**
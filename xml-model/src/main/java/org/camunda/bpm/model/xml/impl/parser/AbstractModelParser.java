@@ -15,17 +15,26 @@ package org.camunda.bpm.model.xml.impl.parser;
 import java.io.IOException;
 import java.io.InputStream;
 
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 
 import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.ModelParseException;
 import org.camunda.bpm.model.xml.ModelValidationException;
+import org.camunda.bpm.model.xml.ParseValidationMode;
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
 import org.camunda.bpm.model.xml.impl.util.DomUtil;
+import org.camunda.bpm.model.xml.impl.validation.MetamodelValidator;
 import org.w3c.dom.Document;
+import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
 
 /**
  * @author Daniel Meyer
@@ -33,14 +42,42 @@ import org.xml.sax.SAXException;
  */
 public abstract class AbstractModelParser {
 
-  private final DocumentBuilderFactory documentBuilderFactory;
+  /** the default maximum number of idle document builders and validators kept per parser */
+  public static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+  private final ReusableInstancePool<DocumentBuilder> documentBuilderPool;
+  private final ReusableInstancePool<DocumentBuilder> nonValidatingDocumentBuilderPool;
+  private final ReusableInstancePool<Validator> validatorPool;
+  private final MetamodelValidator metamodelValidator = new MetamodelValidator();
   protected SchemaFactory schemaFactory;
   protected Schema schema;
 
   protected AbstractModelParser() {
-    DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-    configureFactory(dbf);
-    this.documentBuilderFactory = dbf;
+    this(DEFAULT_POOL_SIZE);
+  }
+
+  /**
+   * @param poolSize the maximum number of idle document builders and validators kept by this parser
+   */
+  protected AbstractModelParser(int poolSize) {
+    this.documentBuilderPool = new DocumentBuilderPool(poolSize) {
+      protected DocumentBuilderFactory createDocumentBuilderFactory() {
+        return createValidatingDocumentBuilderFactory();
+      }
+    };
+    this.nonValidatingDocumentBuilderPool = new DocumentBuilderPool(poolSize) {
+      protected DocumentBuilderFactory createDocumentBuilderFactory() {
+        return createNonValidatingDocumentBuilderFactory();
+      }
+    };
+    this.validatorPool = new ReusableInstancePool<Validator>(poolSize) {
+      protected Validator create() {
+        return schema.newValidator();
+      }
+      protected void reset(Validator validator) {
+        validator.reset();
+      }
+    };
   }
 
   /**
@@ -54,16 +91,83 @@ public abstract class AbstractModelParser {
     dbf.setNamespaceAware(true);
   }
 
+  /**
+   * Creates the factory of the schema-validating document builders. If the parser has a
+   * schema, the factory validates against the compiled schema, so the schema is not loaded
+   * again for each parse.
+   *
+   * @return the configured factory
+   */
+  protected DocumentBuilderFactory createValidatingDocumentBuilderFactory() {
+    DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+    configureFactory(dbf);
+    if (schema != null) {
+      // the schema replaces the DTD validation, which would report documents without DTD as invalid
+      dbf.setValidating(false);
+      dbf.setSchema(schema);
+    }
+    return dbf;
+  }
+
+  /**
+   * Creates the factory of the non-validating document builders.
+   *
+   * @return the configured factory
+   */
+  protected DocumentBuilderFactory createNonValidatingDocumentBuilderFactory() {
+    DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+    configureFactory(dbf);
+    dbf.setValidating(false);
+    return dbf;
+  }
+
   public ModelInstance parseModelFromStream(InputStream inputStream) {
-    Document document = DomUtil.parseInputStream(documentBuilderFactory, inputStream);
-    validateModel(document);
-    return createModelInstance(document);
+    return parseModelFromStream(inputStream, ParseValidationMode.DURING_PARSE);
+  }
+
+  /**
+   * Parse a model from the input stream and validate it exactly once.
+   *
+   * @param inputStream the input stream to parse
+   * @param validationMode determines whether the document is validated while it is parsed, afterwards or against the metamodel
+   * @return the new model instance
+   * @throws ModelParseException if the input stream cannot be parsed
+   * @throws ModelValidationException if the document is not valid
+   */
+  public ModelInstance parseModelFromStream(InputStream inputStream, ParseValidationMode validationMode) {
+    if (validationMode == ParseValidationMode.METAMODEL) {
+      ModelInstance modelInstance = createModelInstance(parse(nonValidatingDocumentBuilderPool, inputStream));
+      metamodelValidator.assertValid(modelInstance);
+      return modelInstance;
+    }
 
+    Document document;
+    if (schema == null) {
+      document = parse(documentBuilderPool, inputStream);
+    }
+    else if (validationMode == ParseValidationMode.AFTER_PARSE) {
+      document = parse(nonValidatingDocumentBuilderPool, inputStream);
+      validateAndAugmentModel(document);
+    }
+    else {
+      document = parseAndValidate(inputStream);
+    }
+
+    ModelInstance modelInstance = createModelInstance(document);
+    if (schema != null && modelInstance instanceof ModelInstanceImpl) {
+      ((ModelInstanceImpl) modelInstance).markValidated();
+    }
+    return modelInstance;
   }
 
   public ModelInstance getEmptyModel() {
-    Document document = DomUtil.getEmptyDocument(documentBuilderFactory);
-    return createModelInstance(document);
+    DocumentBuilder documentBuilder = documentBuilderPool.acquire();
+    try {
+      return createModelInstance(documentBuilder.newDocument());
+    }
+    finally {
+      documentBuilderPool.release(documentBuilder);
+    }
   }
 
   /**
@@ -76,16 +180,180 @@ public abstract class AbstractModelParser {
       return;
     }
 
-    Validator validator = schema.newValidator();
+    Validator validator = validatorPool.acquire();
     try {
       validator.validate(new DOMSource(document));
     } catch (IOException e) {
       throw new ModelValidationException("Error during DOM document validation", e);
     } catch (SAXException e) {
       throw new ModelValidationException("DOM document is not valid", e);
+    } finally {
+      validatorPool.release(validator);
     }
   }
 
+  /**
+   * Validate the DOM document of the model instance and record that the model
+   * instance is valid in its current state.
+   *
+   * @param modelInstance the model instance to validate
+   * @throws ModelValidationException if the model instance is not valid
+   */
+  public void validateModel(ModelInstance modelInstance) {
+    validateModel(modelInstance.getDocument());
+    if (modelInstance instanceof ModelInstanceImpl) {
+      ((ModelInstanceImpl) modelInstance).markValidated();
+    }
+  }
+
+  /**
+   * Parses the input stream with the schema-validating parser. Validation errors
+   * abort the parsing instead of only being reported by the default error handler.
+   */
+  protected Document parseAndValidate(InputStream inputStream) {
+    ValidationErrorHandler errorHandler = new ValidationErrorHandler();
+    DocumentBuilder documentBuilder = documentBuilderPool.acquire();
+    try {
+      documentBuilder.setErrorHandler(errorHandler);
+      return DomUtil.parseInputStream(documentBuilder, inputStream);
+    }
+    catch (ModelParseException e) {
+      if (errorHandler.getValidationError() != null) {
+        throw new ModelValidationException("DOM document is not valid", errorHandler.getValidationError());
+      }
+      throw e;
+    }
+    finally {
+      documentBuilderPool.release(documentBuilder);
+    }
+  }
+
+  /**
+   * Parses the input stream with a document builder of the given pool.
+   */
+  protected Document parse(ReusableInstancePool<DocumentBuilder> pool, InputStream inputStream) {
+    DocumentBuilder documentBuilder = pool.acquire();
+    try {
+      return DomUtil.parseInputStream(documentBuilder, inputStream);
+    }
+    finally {
+      pool.release(documentBuilder);
+    }
+  }
+
+  /**
+   * Validates the DOM document and adds the default values declared
+   * by the schema to it, as the schema-validating parser would do.
+   */
+  protected void validateAndAugmentModel(Document document) {
+    Validator validator = validatorPool.acquire();
+    try {
+      validator.validate(new DOMSource(document), new DOMResult(document));
+    } catch (IOException e) {
+      throw new ModelValidationException("Error during DOM document validation", e);
+    } catch (SAXException e) {
+      throw new ModelValidationException("DOM document is not valid", e);
+    } finally {
+      validatorPool.release(validator);
+    }
+  }
+
+  /**
+   * @return the pool of the schema-validating document builders used for parsing and creating empty models,
+   * the builders share the compiled schema of this parser
+   */
+  public ReusableInstancePool<DocumentBuilder> getDocumentBuilderPool() {
+    return documentBuilderPool;
+  }
+
+  /**
+   * @return the pool of the non-validating document builders used by {@link ParseValidationMode#AFTER_PARSE}
+   */
+  public ReusableInstancePool<DocumentBuilder> getNonValidatingDocumentBuilderPool() {
+    return nonValidatingDocumentBuilderPool;
+  }
+
+  /**
+   * @return the pool of the schema validators
+   */
+  public ReusableInstancePool<Validator> getValidatorPool() {
+    return validatorPool;
+  }
+
   protected abstract ModelInstance createModelInstance(Document document);
 
+  /**
+   * Pools the document builders of a factory. The factory is created on the first
+   * acquisition, because subclasses set the schema after the parser is constructed.
+   * The error handler of a parse is removed on reset, so later parses use the default
+   * error handler again.
+   */
+  protected abstract static class DocumentBuilderPool extends ReusableInstancePool<DocumentBuilder> {
+
+    private volatile DocumentBuilderFactory documentBuilderFactory;
+
+    public DocumentBuilderPool(int maxSize) {
+      super(maxSize);
+    }
+
+    protected abstract DocumentBuilderFactory createDocumentBuilderFactory();
+
+    public DocumentBuilderFactory getDocumentBuilderFactory() {
+      DocumentBuilderFactory factory = documentBuilderFactory;
+      if (factory == null) {
+        synchronized (this) {
+          factory = documentBuilderFactory;
+          if (factory == null) {
+            factory = createDocumentBuilderFactory();
+            documentBuilderFactory = factory;
+          }
+        }
+      }
+      return factory;
+    }
+
+    protected DocumentBuilder create() {
+      DocumentBuilderFactory factory = getDocumentBuilderFactory();
+      try {
+        // factories are not thread-safe, but pools can miss concurrently
+        synchronized (factory) {
+          return factory.newDocumentBuilder();
+        }
+      } catch (ParserConfigurationException e) {
+        throw new ModelParseException("Unable to create a new document builder", e);
+      }
+    }
+
+    protected void reset(DocumentBuilder documentBuilder) {
+      documentBuilder.reset();
+      documentBuilder.setErrorHandler(null);
+    }
+  }
+
+  /**
+   * Aborts the parsing on the first validation error and remembers it, so
+   * it can be distinguished from errors of a not well-formed document.
+   */
+  protected static class ValidationErrorHandler implements ErrorHandler {
+
+    protected SAXParseException validationError;
+
+    public void warning(SAXParseException exception) {
+      // ignore warnings
+    }
+
+    public void error(SAXParseException exception) throws SAXException {
+      validationError = exception;
+      throw exception;
+    }
+
+    public void fatalError(SAXParseException exception) throws SAXException {
+      throw exception;
+    }
+
+    public SAXParseException getValidationError() {
+      return validationError;
+    }
+  }
+
 }
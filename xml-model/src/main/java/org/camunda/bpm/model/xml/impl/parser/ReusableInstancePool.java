@@ -0,0 +1,122 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.parser;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of instances which are expensive to create but can be reset
+ * and reused, like {@link javax.xml.parsers.DocumentBuilder} and
+ * {@link javax.xml.validation.Validator}. The pool can be shared between threads,
+ * an acquired instance is confined to the acquiring thread until it is released.
+ * If the pool is empty a new instance is created, if it is full released
+ * instances are discarded.
+ *
+ * @param <T> the type of the pooled instances
+ */
+public abstract class ReusableInstancePool<T> {
+
+  private final int maxSize;
+  private final BlockingQueue<T> idleInstances;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  public ReusableInstancePool(int maxSize) {
+    this.maxSize = maxSize;
+    this.idleInstances = new ArrayBlockingQueue<T>(maxSize);
+  }
+
+  /**
+   * Returns an idle instance of the pool or creates a new one if no idle instance exists.
+   * The instance has to be returned with {@link #release(Object)} after usage.
+   *
+   * @return the instance for exclusive use by the caller
+   */
+  public T acquire() {
+    T instance = idleInstances.poll();
+    if (instance != null) {
+      hitCount.incrementAndGet();
+      return instance;
+    }
+    else {
+      missCount.incrementAndGet();
+      return create();
+    }
+  }
+
+  /**
+   * Resets the instance and returns it to the pool.
+   *
+   * @param instance the instance acquired by {@link #acquire()}
+   */
+  public void release(T instance) {
+    try {
+      reset(instance);
+    }
+    catch (RuntimeException e) {
+      // discard instances which cannot be reset
+      return;
+    }
+    idleInstances.offer(instance);
+  }
+
+  /**
+   * @return the maximum number of idle instances kept by the pool
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @return the number of idle instances currently kept by the pool
+   */
+  public int getSize() {
+    return idleInstances.size();
+  }
+
+  /**
+   * @return the number of acquisitions served by an idle instance
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * @return the number of acquisitions which created a new instance
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * @return the ratio of acquisitions served by an idle instance, 0 if no instance was acquired yet
+   */
+  public double getHitRate() {
+    long hits = hitCount.get();
+    long total = hits + missCount.get();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  /**
+   * Creates a new instance if the pool is empty.
+   */
+  protected abstract T create();
+
+  /**
+   * Resets an instance to its initial state before it is returned to the pool.
+   */
+  protected abstract void reset(T instance);
+
+}
@@ -19,15 +19,17 @@ import org.camunda.bpm.model.xml.Model;
 import org.camunda.bpm.model.xml.ModelException;
 import org.camunda.bpm.model.xml.impl.ModelBuildOperation;
 import org.camunda.bpm.model.xml.impl.ModelImpl;
-import org.camunda.bpm.model.xml.impl.type.attribute.BooleanAttributeBuilder;
+import org.camunda.bpm.model.xml.impl.type.attribute.BooleanAttributeBuilderImpl;
 import org.camunda.bpm.model.xml.impl.type.attribute.EnumAttributeBuilder;
-import org.camunda.bpm.model.xml.impl.type.attribute.IntegerAttributeBuilder;
+import org.camunda.bpm.model.xml.impl.type.attribute.IntegerAttributeBuilderImpl;
 import org.camunda.bpm.model.xml.impl.type.attribute.StringAttributeBuilderImpl;
 import org.camunda.bpm.model.xml.impl.type.child.SequenceBuilderImpl;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.camunda.bpm.model.xml.type.ModelElementType;
 import org.camunda.bpm.model.xml.type.ModelElementTypeBuilder;
 import org.camunda.bpm.model.xml.type.attribute.AttributeBuilder;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttributeBuilder;
+import org.camunda.bpm.model.xml.type.attribute.IntegerAttributeBuilder;
 import org.camunda.bpm.model.xml.type.attribute.StringAttributeBuilder;
 import org.camunda.bpm.model.xml.type.child.SequenceBuilder;
 
@@ -65,8 +67,8 @@ public class ModelElementTypeBuilderImpl implements ModelElementTypeBuilder, Mod
     return this;
   }
 
-  public AttributeBuilder<Boolean> booleanAttribute(String attributeName) {
-    BooleanAttributeBuilder builder = new BooleanAttributeBuilder(attributeName, modelType);
+  public BooleanAttributeBuilder booleanAttribute(String attributeName) {
+    BooleanAttributeBuilderImpl builder = new BooleanAttributeBuilderImpl(attributeName, modelType);
     modelBuildOperations.add(builder);
     return builder;
   }
@@ -77,8 +79,8 @@ public class ModelElementTypeBuilderImpl implements ModelElementTypeBuilder, Mod
     return builder;
   }
 
-  public AttributeBuilder<Integer> integerAttribute(String attributeName) {
-    IntegerAttributeBuilder builder = new IntegerAttributeBuilder(attributeName, modelType);
+  public IntegerAttributeBuilder integerAttribute(String attributeName) {
+    IntegerAttributeBuilderImpl builder = new IntegerAttributeBuilderImpl(attributeName, modelType);
     modelBuildOperations.add(builder);
     return builder;
   }
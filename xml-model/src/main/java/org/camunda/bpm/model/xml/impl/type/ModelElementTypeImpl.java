@@ -13,6 +13,7 @@
 package org.camunda.bpm.model.xml.impl.type;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.camunda.bpm.model.xml.Model;
 import org.camunda.bpm.model.xml.ModelException;
@@ -20,13 +21,13 @@ import org.camunda.bpm.model.xml.ModelInstance;
 import org.camunda.bpm.model.xml.impl.ModelImpl;
 import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
-import org.camunda.bpm.model.xml.impl.util.DomUtil;
 import org.camunda.bpm.model.xml.impl.util.ModelTypeException;
 import org.camunda.bpm.model.xml.impl.util.ModelUtil;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.camunda.bpm.model.xml.type.ModelElementType;
 import org.camunda.bpm.model.xml.type.attribute.Attribute;
 import org.camunda.bpm.model.xml.type.child.ChildElementCollection;
+import org.camunda.bpm.model.xml.type.reference.Reference;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -56,10 +57,41 @@ public class ModelElementTypeImpl implements ModelElementType {
 
   private final List<ChildElementCollection<?>> childElementCollections = new ArrayList<ChildElementCollection<?>>();
 
+  /** the element references which use instances of this type as reference source */
+  private final List<Reference<?>> outgoingElementReferences = new ArrayList<Reference<?>>();
+
   private ModelTypeInstanceProvider<?> instanceProvider;
 
   private boolean isAbstract;
 
+  /** the id of this type in its model, assigned when the model is built */
+  private int typeId = -1;
+
+  /** whether the lookups below are precomputed, see {@link #freeze()} */
+  private boolean frozen;
+
+  private List<Attribute<?>> allAttributes;
+
+  private Map<String, Attribute<?>> attributesByName;
+
+  private List<Attribute<?>> allIndexedAttributes;
+
+  private List<ModelElementType> allChildElementTypes;
+
+  private List<ChildElementCollection<?>> allChildElementCollections;
+
+  private Set<ModelElementType> allExtendingTypes;
+
+  /** the ids of this type and all of its base types */
+  private BitSet baseTypeIds;
+
+  private List<Reference<?>> allOutgoingReferences;
+
+  private List<Reference<?>> allOutgoingElementReferences;
+
+  /** the sequence index of child elements in {@link #getAllChildElementTypes()} by their instance class */
+  private final Map<Class<?>, Integer> childElementTypeIndexByClass = new ConcurrentHashMap<Class<?>, Integer>();
+
   public ModelElementTypeImpl(ModelImpl model, String name, Class<? extends ModelElementInstance> instanceType) {
     this.model = model;
     this.typeName = name;
@@ -70,7 +102,10 @@ public class ModelElementTypeImpl implements ModelElementType {
     ModelInstanceImpl modelInstanceImpl = (ModelInstanceImpl) modelInstance;
     Document document = modelInstanceImpl.getDocument();
     Element domElement = document.createElementNS(typeNamespace, typeName);
-    return newInstance(modelInstanceImpl, domElement);
+    ModelElementInstance modelElement = newInstance(modelInstanceImpl, domElement);
+    // the model element caches attribute values, so it has to be the only one for the DOM element
+    modelInstanceImpl.registerModelElement(domElement, modelElement);
+    return modelElement;
   }
 
   public ModelElementInstance newInstance(ModelInstanceImpl modelInstance, Element domElement) {
@@ -89,8 +124,16 @@ public class ModelElementTypeImpl implements ModelElementType {
     childElementCollections.add(childElementCollection);
   }
 
+  public void registerOutgoingElementReference(Reference<?> reference) {
+    if (!outgoingElementReferences.contains(reference)) {
+      outgoingElementReferences.add(reference);
+    }
+  }
+
   public void registerExtendingType(ModelElementType modelType) {
-    extendingTypes.add(modelType);
+    if (!extendingTypes.contains(modelType)) {
+      extendingTypes.add(modelType);
+    }
   }
 
   protected ModelElementInstance createModelElementInstance(ModelTypeInstanceContext instanceContext) {
@@ -148,6 +191,9 @@ public class ModelElementTypeImpl implements ModelElementType {
   }
 
   public Collection<ModelElementType> getAllExtendingTypes() {
+    if (frozen) {
+      return allExtendingTypes;
+    }
     HashSet<ModelElementType> extendingTypes = new HashSet<ModelElementType>();
     extendingTypes.add(this);
     resolveExtendingTypes(extendingTypes);
@@ -195,6 +241,9 @@ public class ModelElementTypeImpl implements ModelElementType {
   }
 
   public List<ModelElementType> getAllChildElementTypes() {
+    if (frozen) {
+      return allChildElementTypes;
+    }
     List<ModelElementType> allChildElementTypes = new ArrayList<ModelElementType>();
     if (baseType != null) {
       allChildElementTypes.addAll(baseType.getAllChildElementTypes());
@@ -208,6 +257,9 @@ public class ModelElementTypeImpl implements ModelElementType {
   }
 
   public List<ChildElementCollection<?>> getAllChildElementCollections() {
+    if (frozen) {
+      return allChildElementCollections;
+    }
     List<ChildElementCollection<?>> allChildElementCollections = new ArrayList<ChildElementCollection<?>>();
     if (baseType != null) {
       allChildElementCollections.addAll(baseType.getAllChildElementCollections());
@@ -218,8 +270,7 @@ public class ModelElementTypeImpl implements ModelElementType {
 
   public Collection<ModelElementInstance> getInstances(ModelInstance modelInstance) {
     ModelInstanceImpl modelInstanceImpl = (ModelInstanceImpl) modelInstance;
-    Document document = modelInstanceImpl.getDocument();
-    List<Element> elements = DomUtil.findElementByNameNs(document, typeName, typeNamespace);
+    List<Element> elements = modelInstanceImpl.getElementsByNameNs(typeName, typeNamespace);
     List<ModelElementInstance> resultList = new ArrayList<ModelElementInstance>();
     for (Element element : elements) {
       resultList.add(ModelUtil.getModelElement(element, modelInstanceImpl));
@@ -234,6 +285,16 @@ public class ModelElementTypeImpl implements ModelElementType {
    * @return true if {@code childElementTypeClass} is a base type of this type, else otherwise
    */
   public boolean isBaseTypeOf(ModelElementType elementType) {
+    if (this == elementType) {
+      return true;
+    }
+    else if (frozen && elementType instanceof ModelElementTypeImpl) {
+      ModelElementTypeImpl elementTypeImpl = (ModelElementTypeImpl) elementType;
+      if (elementTypeImpl.frozen && elementTypeImpl.model == model && typeId >= 0) {
+        return elementTypeImpl.baseTypeIds.get(typeId);
+      }
+    }
+
     if (this.equals(elementType)) {
       return true;
     }
@@ -249,6 +310,9 @@ public class ModelElementTypeImpl implements ModelElementType {
    * @return the list of all attributes
    */
   public Collection<Attribute<?>> getAllAttributes() {
+    if (frozen) {
+      return allAttributes;
+    }
     List<Attribute<?>> allAttributes = new ArrayList<Attribute<?>>();
     allAttributes.addAll(getAttributes());
     Collection<ModelElementType> baseTypes = ModelUtil.calculateAllBaseTypes(this);
@@ -258,6 +322,25 @@ public class ModelElementTypeImpl implements ModelElementType {
     return allAttributes;
   }
 
+  /**
+   * Returns all attributes of this type and its base types which declare a
+   * secondary value index.
+   *
+   * @return the list of all indexed attributes
+   */
+  public List<Attribute<?>> getAllIndexedAttributes() {
+    if (frozen) {
+      return allIndexedAttributes;
+    }
+    List<Attribute<?>> allIndexedAttributes = new ArrayList<Attribute<?>>();
+    for (Attribute<?> attribute : getAllAttributes()) {
+      if (attribute.isIndexed()) {
+        allIndexedAttributes.add(attribute);
+      }
+    }
+    return allIndexedAttributes;
+  }
+
   /**
    * Return the attribute for the attribute name
    *
@@ -265,6 +348,9 @@ public class ModelElementTypeImpl implements ModelElementType {
    * @return the attribute or null if it not exists
    */
   public Attribute<?> getAttribute(String attributeName) {
+    if (frozen) {
+      return attributesByName.get(attributeName);
+    }
     for (Attribute<?> attribute : getAllAttributes()) {
       if (attribute.getAttributeName().equals(attributeName)) {
         return attribute;
@@ -273,6 +359,132 @@ public class ModelElementTypeImpl implements ModelElementType {
     return null;
   }
 
+  /**
+   * Returns all references which use instances of this type as reference source, either
+   * by an attribute or by the text content of the element. Includes the references
+   * of all base types.
+   *
+   * @return the list of all outgoing references
+   */
+  public List<Reference<?>> getAllOutgoingReferences() {
+    if (frozen) {
+      return allOutgoingReferences;
+    }
+    List<Reference<?>> allOutgoingReferences = new ArrayList<Reference<?>>();
+    for (Attribute<?> attribute : getAllAttributes()) {
+      allOutgoingReferences.addAll(attribute.getOutgoingReferences());
+    }
+    allOutgoingReferences.addAll(getAllOutgoingElementReferences());
+    return allOutgoingReferences;
+  }
+
+  /**
+   * Returns all element references which use the text content of instances
+   * of this type as reference identifier. Includes the references of all base types.
+   *
+   * @return the list of all outgoing element references
+   */
+  public List<Reference<?>> getAllOutgoingElementReferences() {
+    if (frozen) {
+      return allOutgoingElementReferences;
+    }
+    List<Reference<?>> allOutgoingElementReferences = new ArrayList<Reference<?>>();
+    ModelElementTypeImpl type = this;
+    while (type != null) {
+      allOutgoingElementReferences.addAll(type.outgoingElementReferences);
+      type = type.baseType;
+    }
+    return allOutgoingElementReferences;
+  }
+
+  /**
+   * Returns the index of the child element type of a child element in the sequence of
+   * all child element types of this type. The index is cached by the instance class of
+   * the child element.
+   *
+   * @param childElement the child element to get the sequence index for
+   * @return the index of the child element type
+   * @throws ModelException if the child element is not a valid child of this type
+   */
+  public int getChildElementTypeIndex(ModelElementInstance childElement) {
+    Class<?> childElementClass = childElement.getClass();
+    Integer index = childElementTypeIndexByClass.get(childElementClass);
+    if (index == null) {
+      index = ModelUtil.getIndexOfElementType(childElement, getAllChildElementTypes());
+      childElementTypeIndexByClass.put(childElementClass, index);
+    }
+    return index;
+  }
+
+  public int getTypeId() {
+    return typeId;
+  }
+
+  public void setTypeId(int typeId) {
+    this.typeId = typeId;
+  }
+
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  /**
+   * Precomputes the flattened attributes, child element types, child element collections,
+   * extending types, base types and references of this type. Afterwards the lookups of
+   * these properties are answered without walking the type hierarchy. Has to be called
+   * again after the type or one of its base or extending types changed, which is done
+   * on every build of the model.
+   */
+  public void freeze() {
+    unfreeze();
+
+    List<Attribute<?>> allAttributes = new ArrayList<Attribute<?>>(getAllAttributes());
+    Map<String, Attribute<?>> attributesByName = new HashMap<String, Attribute<?>>();
+    for (Attribute<?> attribute : allAttributes) {
+      // the attributes of this type take precedence over the attributes of base types
+      if (!attributesByName.containsKey(attribute.getAttributeName())) {
+        attributesByName.put(attribute.getAttributeName(), attribute);
+      }
+    }
+
+    BitSet baseTypeIds = new BitSet();
+    ModelElementTypeImpl type = this;
+    while (type != null) {
+      if (type.typeId >= 0) {
+        baseTypeIds.set(type.typeId);
+      }
+      type = type.baseType;
+    }
+
+    this.allAttributes = Collections.unmodifiableList(allAttributes);
+    this.attributesByName = attributesByName;
+    this.allIndexedAttributes = Collections.unmodifiableList(getAllIndexedAttributes());
+    this.allChildElementTypes = Collections.unmodifiableList(getAllChildElementTypes());
+    this.allChildElementCollections = Collections.unmodifiableList(getAllChildElementCollections());
+    this.allExtendingTypes = Collections.unmodifiableSet((Set<ModelElementType>) getAllExtendingTypes());
+    this.baseTypeIds = baseTypeIds;
+    this.allOutgoingReferences = Collections.unmodifiableList(getAllOutgoingReferences());
+    this.allOutgoingElementReferences = Collections.unmodifiableList(getAllOutgoingElementReferences());
+    frozen = true;
+  }
+
+  /**
+   * Discards the precomputed lookups, so they are calculated on every call again.
+   */
+  public void unfreeze() {
+    frozen = false;
+    childElementTypeIndexByClass.clear();
+    allAttributes = null;
+    attributesByName = null;
+    allIndexedAttributes = null;
+    allChildElementTypes = null;
+    allChildElementCollections = null;
+    allExtendingTypes = null;
+    baseTypeIds = null;
+    allOutgoingReferences = null;
+    allOutgoingElementReferences = null;
+  }
+
   public ChildElementCollection<?> getChildElementCollection(ModelElementType childElementType) {
     for (ChildElementCollection<?> childElementCollection : getChildElementCollections()) {
       if (childElementType.equals(childElementCollection.getChildElementType(model))) {
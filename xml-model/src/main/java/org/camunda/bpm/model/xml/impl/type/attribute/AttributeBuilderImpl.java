@@ -46,6 +46,11 @@ public abstract class AttributeBuilderImpl<T> implements AttributeBuilder<T>, Mo
   }
 
 
+  public AttributeBuilder<T> indexed() {
+    attribute.setIndexed();
+    return this;
+  }
+
   public AttributeBuilder<T> defaultValue(T defaultValue) {
     attribute.setDefaultValue(defaultValue);
     return this;
@@ -61,6 +66,10 @@ public abstract class AttributeBuilderImpl<T> implements AttributeBuilder<T>, Mo
     return attribute;
   }
 
+  protected AttributeImpl<T> getAttribute() {
+    return attribute;
+  }
+
   public void performModelBuild(Model model) {
     // do nothing
   }
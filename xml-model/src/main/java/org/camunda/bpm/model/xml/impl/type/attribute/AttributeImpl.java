@@ -13,13 +13,17 @@
 package org.camunda.bpm.model.xml.impl.type.attribute;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import org.camunda.bpm.model.xml.impl.instance.ModelElementInstanceImpl;
 import org.camunda.bpm.model.xml.impl.type.reference.ReferenceImpl;
+import org.camunda.bpm.model.xml.impl.util.DomUtil;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.camunda.bpm.model.xml.type.attribute.Attribute;
 import org.camunda.bpm.model.xml.type.ModelElementType;
 import org.camunda.bpm.model.xml.type.reference.Reference;
+import org.w3c.dom.Element;
 
 /**
  * <p>Base class for implementing primitive value attributes</p>
@@ -29,6 +33,9 @@ import org.camunda.bpm.model.xml.type.reference.Reference;
  */
 public abstract class AttributeImpl<T> implements Attribute<T> {
 
+  /** cached by model elements for attributes which are not set, so that the current default value applies */
+  protected static final Object UNSET_VALUE = new Object();
+
   /** the local name of the attribute */
   private String attributeName;
 
@@ -45,6 +52,12 @@ public abstract class AttributeImpl<T> implements Attribute<T> {
 
   private boolean isIdAttribute = false;
 
+  /** whether the model instances index the elements by the value of this attribute */
+  private boolean isIndexed = false;
+
+  /** whether the value is a comma separated list which is indexed by its items */
+  private boolean isListIndexed = false;
+
   private final List<Reference<?>> outgoingReferences = new ArrayList<Reference<?>>();
 
   private final List<Reference<?>> incomingReferences = new ArrayList<Reference<?>>();
@@ -76,24 +89,62 @@ public abstract class AttributeImpl<T> implements Attribute<T> {
   }
 
   /**
-   * returns the value of the attribute.
+   * returns the value of the attribute. The converted value is cached by the model
+   * element until one of its attributes changes.
    *
    * @return the value of the attribute.
    */
+  @SuppressWarnings("unchecked")
   public T getValue(ModelElementInstance modelElement) {
-    String value;
+    Object value = getConvertedValue(modelElement);
+    if (value == UNSET_VALUE) {
+      return getUnsetValue();
+    }
+    else {
+      return (T) value;
+    }
+  }
+
+  /**
+   * Returns the converted value of the attribute without applying the default value.
+   * The value is cached by the model element until one of its attributes changes.
+   *
+   * @return the converted value or {@link #UNSET_VALUE} if the attribute is not set
+   */
+  protected Object getConvertedValue(ModelElementInstance modelElement) {
+    if (!(modelElement instanceof ModelElementInstanceImpl)) {
+      String rawValue = getRawValue(modelElement);
+      return rawValue == null ? UNSET_VALUE : convertXmlValueToModelValue(rawValue);
+    }
+
+    ModelElementInstanceImpl modelElementImpl = (ModelElementInstanceImpl) modelElement;
+    Object value = modelElementImpl.getCachedAttributeValue(this);
+    if (value == ModelElementInstanceImpl.UNCACHED_VALUE) {
+      String rawValue = getRawValue(modelElement);
+      value = rawValue == null ? UNSET_VALUE : convertXmlValueToModelValue(rawValue);
+      modelElementImpl.cacheAttributeValue(this, value);
+    }
+    return value;
+  }
+
+  private String getRawValue(ModelElementInstance modelElement) {
     if(namespaceUri == null) {
-      value = modelElement.getAttributeValue(attributeName);
+      return modelElement.getAttributeValue(attributeName);
     } else {
-      value = modelElement.getAttributeValueNs(attributeName, namespaceUri);
+      return modelElement.getAttributeValueNs(attributeName, namespaceUri);
     }
+  }
 
+  /**
+   * @return the value of the attribute if it is not set on the domElement
+   */
+  private T getUnsetValue() {
     // default value
-    if(value == null && defaultValue != null) {
+    if (defaultValue != null) {
       return defaultValue;
-    } else {
-      return convertXmlValueToModelValue(value);
     }
+    // not cached, the attribute is shared by all threads and the conversion of null parses nothing
+    return convertXmlValueToModelValue(null);
   }
 
   /**
@@ -102,7 +153,10 @@ public abstract class AttributeImpl<T> implements Attribute<T> {
    *  the value of the attribute.
    */
   public void setValue(ModelElementInstance modelElement, T value) {
-    String xmlValue = convertModelValueToXmlValue(value);
+    setRawValue(modelElement, convertModelValueToXmlValue(value));
+  }
+
+  protected void setRawValue(ModelElementInstance modelElement, String xmlValue) {
     if(namespaceUri == null) {
       modelElement.setAttributeValue(attributeName, xmlValue, isIdAttribute);
     } else {
@@ -163,6 +217,58 @@ public abstract class AttributeImpl<T> implements Attribute<T> {
     this.isIdAttribute = true;
   }
 
+  public boolean isIndexed() {
+    return isIndexed;
+  }
+
+  public void setIndexed() {
+    this.isIndexed = true;
+  }
+
+  public boolean isListIndexed() {
+    return isListIndexed;
+  }
+
+  /**
+   * Indicate that the attribute value is a comma separated list which is indexed by its items
+   */
+  public void setListIndexed() {
+    this.isIndexed = true;
+    this.isListIndexed = true;
+  }
+
+  /**
+   * Returns the keys under which a DOM element is stored in the secondary index of
+   * this attribute: the raw value or, for list indexed attributes, the trimmed items
+   * of the comma separated value.
+   *
+   * @param domElement the DOM element to get the keys for
+   * @return the index keys, empty if the attribute is not set
+   */
+  public List<String> getIndexKeys(Element domElement) {
+    String value;
+    if (namespaceUri == null) {
+      value = DomUtil.getAttributeValue(attributeName, domElement);
+    }
+    else {
+      value = DomUtil.getAttributeValueNs(attributeName, namespaceUri, domElement);
+    }
+    if (value == null) {
+      return Collections.emptyList();
+    }
+    if (!isListIndexed) {
+      return Collections.singletonList(value);
+    }
+    List<String> keys = new ArrayList<String>();
+    for (String item : value.split(",")) {
+      item = item.trim();
+      if (item.length() > 0 && !keys.contains(item)) {
+        keys.add(item);
+      }
+    }
+    return keys;
+  }
+
   /**
    * @return the attributeName
    */
@@ -0,0 +1,56 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.type.attribute;
+
+import org.camunda.bpm.model.xml.impl.type.ModelElementTypeImpl;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttributeBuilder;
+
+
+/**
+ * <p>Builder for building {@link BooleanAttribute BooleanAttributes}</p>
+ *
+ * @author Daniel Meyer
+ *
+ */
+public class BooleanAttributeBuilderImpl extends AttributeBuilderImpl<Boolean> implements BooleanAttributeBuilder {
+
+  public BooleanAttributeBuilderImpl(String attributeName, ModelElementTypeImpl modelType) {
+    super(attributeName, modelType, new BooleanAttributeImpl(modelType));
+  }
+
+  public BooleanAttributeBuilder namespace(String namespaceUri) {
+    return (BooleanAttributeBuilder) super.namespace(namespaceUri);
+  }
+
+  public BooleanAttributeBuilder defaultValue(Boolean defaultValue) {
+    return (BooleanAttributeBuilder) super.defaultValue(defaultValue);
+  }
+
+  public BooleanAttributeBuilder required() {
+    return (BooleanAttributeBuilder) super.required();
+  }
+
+  public BooleanAttributeBuilder idAttribute() {
+    return (BooleanAttributeBuilder) super.idAttribute();
+  }
+
+  public BooleanAttributeBuilder indexed() {
+    return (BooleanAttributeBuilder) super.indexed();
+  }
+
+  public BooleanAttribute build() {
+    return (BooleanAttribute) super.build();
+  }
+
+}
@@ -13,7 +13,9 @@
 package org.camunda.bpm.model.xml.impl.type.attribute;
 
 import org.camunda.bpm.model.xml.impl.util.ModelUtil;
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.camunda.bpm.model.xml.type.ModelElementType;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttribute;
 
 /**
  * <p>class for providing Boolean value attributes. Takes care of type conversion and
@@ -22,12 +24,27 @@ import org.camunda.bpm.model.xml.type.ModelElementType;
  * @author Daniel Meyer
  *
  */
-public class BooleanAttribute extends AttributeImpl<Boolean> {
+public class BooleanAttributeImpl extends AttributeImpl<Boolean> implements BooleanAttribute {
 
-  public BooleanAttribute(ModelElementType owningElementType) {
+  public BooleanAttributeImpl(ModelElementType owningElementType) {
     super(owningElementType);
   }
 
+  public boolean getBoolean(ModelElementInstance modelElement, boolean defaultValue) {
+    Object value = getConvertedValue(modelElement);
+    if (value == UNSET_VALUE) {
+      Boolean attributeDefaultValue = getDefaultValue();
+      return attributeDefaultValue != null ? attributeDefaultValue : defaultValue;
+    }
+    else {
+      return (Boolean) value;
+    }
+  }
+
+  public void setBoolean(ModelElementInstance modelElement, boolean value) {
+    setRawValue(modelElement, ModelUtil.valueAsString(value));
+  }
+
   protected Boolean convertXmlValueToModelValue(String rawValue) {
     return ModelUtil.valueAsBoolean(rawValue);
   }
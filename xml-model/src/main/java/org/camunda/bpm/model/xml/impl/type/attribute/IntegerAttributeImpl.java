@@ -13,18 +13,39 @@
 
 package org.camunda.bpm.model.xml.impl.type.attribute;
 
+import org.camunda.bpm.model.xml.impl.util.ModelUtil;
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.camunda.bpm.model.xml.type.ModelElementType;
+import org.camunda.bpm.model.xml.type.attribute.IntegerAttribute;
 
 /**
  * @author Sebastian Menski
  */
-public class IntegerAttribute extends AttributeImpl<Integer> {
+public class IntegerAttributeImpl extends AttributeImpl<Integer> implements IntegerAttribute {
 
-  IntegerAttribute(ModelElementType owningElementType) {
+  IntegerAttributeImpl(ModelElementType owningElementType) {
     super(owningElementType);
   }
 
+  public int getInt(ModelElementInstance modelElement, int defaultValue) {
+    Object value = getConvertedValue(modelElement);
+    if (value == UNSET_VALUE || value == null) {
+      Integer attributeDefaultValue = getDefaultValue();
+      return attributeDefaultValue != null ? attributeDefaultValue : defaultValue;
+    }
+    else {
+      return (Integer) value;
+    }
+  }
+
+  public void setInt(ModelElementInstance modelElement, int value) {
+    setRawValue(modelElement, ModelUtil.valueAsString(value));
+  }
+
   protected Integer convertXmlValueToModelValue(String rawValue) {
+    if (rawValue == null) {
+      return null;
+    }
     try {
       return Integer.parseInt(rawValue);
     }
@@ -51,6 +51,15 @@ public class StringAttributeBuilderImpl extends AttributeBuilderImpl<String> imp
     return (StringAttributeBuilder) super.idAttribute();
   }
 
+  public StringAttributeBuilder indexed() {
+    return (StringAttributeBuilder) super.indexed();
+  }
+
+  public StringAttributeBuilder indexedList() {
+    getAttribute().setListIndexed();
+    return this;
+  }
+
   /**
    * Create a new {@link AttributeReferenceBuilder} for the reference source element instance
    *
@@ -13,10 +13,14 @@
 package org.camunda.bpm.model.xml.impl.type.child;
 
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.camunda.bpm.model.xml.Model;
 import org.camunda.bpm.model.xml.UnsupportedModelOperationException;
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
 import org.camunda.bpm.model.xml.impl.instance.ModelElementInstanceImpl;
 import org.camunda.bpm.model.xml.impl.type.ModelElementTypeImpl;
 import org.camunda.bpm.model.xml.impl.util.DomUtil;
@@ -26,7 +30,6 @@ import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.camunda.bpm.model.xml.type.ModelElementType;
 import org.camunda.bpm.model.xml.type.child.ChildElementCollection;
 import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 
 /**
  * <p>This collection is a view on an the children of a Model Element.</p>
@@ -81,9 +84,8 @@ public class ChildElementCollectionImpl<T extends ModelElementInstance> implemen
    *
    * @return the view represented by this collection
    */
-  private Collection<Element> getView(ModelElementInstanceImpl modelElement) {
-    NodeList childNodes = DomUtil.getChildNodes(modelElement.getDomElement());
-    return DomUtil.filterNodeList(childNodes, getFilter(modelElement));
+  private List<Element> getView(ModelElementInstanceImpl modelElement) {
+    return DomUtil.filterChildNodes(modelElement.getDomElement(), getFilter(modelElement));
   }
 
   public int getMinOccurs() {
@@ -133,107 +135,174 @@ public class ChildElementCollectionImpl<T extends ModelElementInstance> implemen
   }
 
   public Collection<T> get(ModelElementInstance element) {
+    return new ChildElementView((ModelElementInstanceImpl) element);
+  }
 
-    final ModelElementInstanceImpl modelElement = (ModelElementInstanceImpl) element;
+  /**
+   * A live view on the child elements of a model element. The filtered child elements
+   * are cached at the model instance per parent element and collection, so they are
+   * shared by all views until the children of the model element are modified through
+   * the model api. Iterators fail fast with a {@link ConcurrentModificationException}
+   * if the children are modified during the iteration, except by the iterator itself.
+   */
+  private class ChildElementView implements Collection<T> {
 
-    return new Collection<T>() {
+    private final ModelElementInstanceImpl modelElement;
 
-      public boolean contains(Object o) {
-        if(o == null) {
-          return false;
-
-        } else if(!(o instanceof ModelElementInstanceImpl)) {
-          return false;
+    public ChildElementView(ModelElementInstanceImpl modelElement) {
+      this.modelElement = modelElement;
+    }
 
-        } else {
-          return getView(modelElement).contains(((ModelElementInstanceImpl)o).getDomElement());
+    private int getModificationCount() {
+      return modelElement.getModelInstance().getChildModificationCount(modelElement.getDomElement());
+    }
 
-        }
+    private List<Element> getCachedView() {
+      ModelInstanceImpl modelInstance = modelElement.getModelInstance();
+      Element domElement = modelElement.getDomElement();
+      List<Element> view = modelInstance.getCachedChildElements(domElement, ChildElementCollectionImpl.this);
+      if (view == null) {
+        view = getView(modelElement);
+        modelInstance.cacheChildElements(domElement, ChildElementCollectionImpl.this, view);
       }
+      return view;
+    }
 
-      public boolean containsAll(Collection<?> c) {
-        for (Object elementToCheck : c) {
-          if(!contains(elementToCheck)) {
-            return false;
-          }
-        }
-        return true;
-      }
+    @SuppressWarnings("unchecked")
+    private T getModelElement(Element domElement) {
+      return (T) ModelUtil.getModelElement(domElement, modelElement.getModelInstance());
+    }
 
-      public boolean isEmpty() {
-        return getView(modelElement).isEmpty();
-      }
+    public boolean contains(Object o) {
+      if(o == null) {
+        return false;
 
-      public Iterator<T> iterator() {
-        Collection<T> modelElementCollection = ModelUtil.getModelElementCollection(getView(modelElement), modelElement.getModelInstance());
-        return modelElementCollection.iterator();
-      }
+      } else if(!(o instanceof ModelElementInstanceImpl)) {
+        return false;
 
-      public Object[] toArray() {
-        Collection<T> modelElementCollection = ModelUtil.getModelElementCollection(getView(modelElement), modelElement.getModelInstance());
-        return modelElementCollection.toArray();
-      }
+      } else {
+        return getCachedView().contains(((ModelElementInstanceImpl)o).getDomElement());
 
-      public <U> U[] toArray(U[] a) {
-        Collection<T> modelElementCollection = ModelUtil.getModelElementCollection(getView(modelElement), modelElement.getModelInstance());
-        return modelElementCollection.toArray(a);
       }
+    }
 
-      public int size() {
-        return getView(modelElement).size();
+    public boolean containsAll(Collection<?> c) {
+      for (Object elementToCheck : c) {
+        if(!contains(elementToCheck)) {
+          return false;
+        }
       }
+      return true;
+    }
 
-      public boolean add(T e) {
-        if(!isMutable) {
-          throw new UnsupportedModelOperationException("add()", "collection is immutable");
+    public boolean isEmpty() {
+      return getCachedView().isEmpty();
+    }
+
+    public Iterator<T> iterator() {
+      return new Iterator<T>() {
+
+        private int expectedModificationCount = getModificationCount();
+        private final List<Element> elements = getCachedView();
+        private int nextIndex = 0;
+        private T lastReturned;
+
+        public boolean hasNext() {
+          return nextIndex < elements.size();
         }
-        performAddOperation(modelElement, e);
-        return true;
-      }
 
-      public boolean addAll(Collection<? extends T> c) {
-        if(!isMutable) {
-          throw new UnsupportedModelOperationException("addAll()", "collection is immutable");
+        public T next() {
+          checkForModification();
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          lastReturned = getModelElement(elements.get(nextIndex++));
+          return lastReturned;
         }
-        boolean result = false;
-        for (T t : c) {
-          result |= add(t);
+
+        public void remove() {
+          if (lastReturned == null) {
+            throw new IllegalStateException();
+          }
+          checkForModification();
+          ChildElementView.this.remove(lastReturned);
+          // the view of the iterator is not affected by the removal
+          expectedModificationCount = getModificationCount();
+          lastReturned = null;
         }
-        return result;
-      }
 
-      public void clear() {
-        if(!isMutable) {
-          throw new UnsupportedModelOperationException("clear()", "collection is immutable");
+        private void checkForModification() {
+          if (getModificationCount() != expectedModificationCount) {
+            throw new ConcurrentModificationException();
+          }
         }
-        Collection<Element> view = getView(modelElement);
-        performClearOperation(modelElement, view);
+      };
+    }
+
+    public Object[] toArray() {
+      Collection<T> modelElementCollection = ModelUtil.getModelElementCollection(getCachedView(), modelElement.getModelInstance());
+      return modelElementCollection.toArray();
+    }
+
+    public <U> U[] toArray(U[] a) {
+      Collection<T> modelElementCollection = ModelUtil.getModelElementCollection(getCachedView(), modelElement.getModelInstance());
+      return modelElementCollection.toArray(a);
+    }
+
+    public int size() {
+      return getCachedView().size();
+    }
+
+    public boolean add(T e) {
+      if(!isMutable) {
+        throw new UnsupportedModelOperationException("add()", "collection is immutable");
+      }
+      performAddOperation(modelElement, e);
+      return true;
+    }
+
+    public boolean addAll(Collection<? extends T> c) {
+      if(!isMutable) {
+        throw new UnsupportedModelOperationException("addAll()", "collection is immutable");
       }
+      boolean result = false;
+      for (T t : c) {
+        result |= add(t);
+      }
+      return result;
+    }
 
-      public boolean remove(Object e) {
-        if(!isMutable) {
-          throw new UnsupportedModelOperationException("remove()", "collection is immutable");
-        }
-        ModelUtil.ensureInstanceOf(e, ModelElementInstanceImpl.class);
-        return performRemoveOperation(modelElement, e);
+    public void clear() {
+      if(!isMutable) {
+        throw new UnsupportedModelOperationException("clear()", "collection is immutable");
       }
+      Collection<Element> view = getCachedView();
+      performClearOperation(modelElement, view);
+    }
 
-      public boolean removeAll(Collection<?> c) {
-        if(!isMutable) {
-          throw new UnsupportedModelOperationException("removeAll()", "collection is immutable");
-        }
-        boolean result = false;
-        for (Object t : c) {
-          result |= remove(t);
-        }
-        return result;
+    public boolean remove(Object e) {
+      if(!isMutable) {
+        throw new UnsupportedModelOperationException("remove()", "collection is immutable");
       }
+      ModelUtil.ensureInstanceOf(e, ModelElementInstanceImpl.class);
+      return performRemoveOperation(modelElement, e);
+    }
 
-      public boolean retainAll(Collection<?> c) {
-        throw new UnsupportedModelOperationException("retainAll()", "not implemented");
+    public boolean removeAll(Collection<?> c) {
+      if(!isMutable) {
+        throw new UnsupportedModelOperationException("removeAll()", "collection is immutable");
+      }
+      boolean result = false;
+      for (Object t : c) {
+        result |= remove(t);
       }
+      return result;
+    }
+
+    public boolean retainAll(Collection<?> c) {
+      throw new UnsupportedModelOperationException("retainAll()", "not implemented");
+    }
 
-    };
   }
 
 }
@@ -61,6 +61,7 @@ public class ElementReferenceCollectionBuilderImpl<Target extends ModelElementIn
     ModelElementTypeImpl referenceSourceType = (ModelElementTypeImpl) model.getType(childElementType);
     elementReferenceCollectionImpl.setReferenceTargetElementType(referenceTargetType);
     elementReferenceCollectionImpl.setReferenceSourceElementType(referenceSourceType);
+    referenceSourceType.registerOutgoingElementReference(elementReferenceCollectionImpl);
 
     // the referenced attribute may be declared on a base type of the referenced type.
     AttributeImpl<String> idAttribute = (AttributeImpl<String>) referenceTargetType.getAttribute("id");
@@ -15,7 +15,9 @@ package org.camunda.bpm.model.xml.impl.type.reference;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 
 import org.camunda.bpm.model.xml.ModelException;
 import org.camunda.bpm.model.xml.ModelReferenceException;
@@ -29,7 +31,6 @@ import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.camunda.bpm.model.xml.type.ModelElementType;
 import org.camunda.bpm.model.xml.type.child.ChildElementCollection;
 import org.camunda.bpm.model.xml.type.reference.ElementReferenceCollection;
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 /**
@@ -78,7 +79,10 @@ public class ElementReferenceCollectionImpl<Target extends ModelElementInstance,
   private void performClearOperation(ModelElementInstanceImpl referenceSourceParentElement, Collection<Element> elementsToRemove) {
     for (Element element: elementsToRemove) {
       DomUtil.removeChild(referenceSourceParentElement.getDomElement(), element);
+      referenceSourceParentElement.getModelInstance().unindexSubtree(element);
     }
+    referenceSourceParentElement.getModelInstance().incrementChildModificationCount(referenceSourceParentElement.getDomElement());
+    referenceSourceParentElement.getModelInstance().elementModified(referenceSourceParentElement.getDomElement());
   }
 
   public String getReferenceIdentifier(ModelElementInstance referenceSourceElement) {
@@ -109,14 +113,43 @@ public class ElementReferenceCollectionImpl<Target extends ModelElementInstance,
     return referenceSourceType;
   }
 
-  @SuppressWarnings("unchecked")
-  private Collection<Element> getView(ModelElementInstanceImpl referenceSourceParentElement) {
-    Document document = referenceSourceParentElement.getModelInstance().getDocument();
+  /**
+   * Returns the resolved reference target elements of the reference source parent element. The
+   * result is cached at the model instance and only resolved again if the reference source
+   * collection, a reference identifier of it or any element id in the model instance changed.
+   */
+  private List<Element> getView(ModelElementInstanceImpl referenceSourceParentElement) {
+    ModelInstanceImpl modelInstance = referenceSourceParentElement.getModelInstance();
+    Element parentElement = referenceSourceParentElement.getDomElement();
+    List<Element> referenceTargetElements = modelInstance.getCachedReferenceTargets(parentElement, this);
+    if (referenceTargetElements == null) {
+      referenceTargetElements = resolveReferenceTargetElements(referenceSourceParentElement);
+      modelInstance.cacheReferenceTargets(parentElement, this, referenceTargetElements);
+    }
+    return referenceTargetElements;
+  }
+
+  /**
+   * Also discards the cached reference targets of the reference source parent element,
+   * because the reference identifier of the reference source element changed.
+   */
+  @Override
+  public void indexReferenceSourceElement(ModelElementInstance referenceSourceElement) {
+    super.indexReferenceSourceElement(referenceSourceElement);
+    ModelElementInstance referenceSourceParentElement = referenceSourceElement.getParentElement();
+    if (referenceSourceParentElement != null) {
+      ModelInstanceImpl modelInstance = (ModelInstanceImpl) referenceSourceElement.getModelInstance();
+      modelInstance.discardCachedReferenceTargets(referenceSourceParentElement.getDomElement(), this);
+    }
+  }
+
+  private List<Element> resolveReferenceTargetElements(ModelElementInstanceImpl referenceSourceParentElement) {
+    ModelInstanceImpl modelInstance = referenceSourceParentElement.getModelInstance();
     Collection<Source> referenceSourceElements = referenceSourceCollection.get(referenceSourceParentElement);
-    Collection<Element> referenceTargetElements = new ArrayList<Element>();
+    List<Element> referenceTargetElements = new ArrayList<Element>(referenceSourceElements.size());
     for (Source referenceSourceElement : referenceSourceElements) {
       String identifier = getReferenceIdentifier(referenceSourceElement);
-      Element referenceTargetElement = DomUtil.findElementById(document, identifier);
+      Element referenceTargetElement = modelInstance.getElementById(identifier);
       if (referenceTargetElement != null) {
         referenceTargetElements.add(referenceTargetElement);
       }
@@ -124,7 +157,7 @@ public class ElementReferenceCollectionImpl<Target extends ModelElementInstance,
         throw new ModelException("Unable to find a model element instance for id " + identifier);
       }
     }
-    return referenceTargetElements;
+    return Collections.unmodifiableList(referenceTargetElements);
   }
 
   public Collection<Target> getReferenceTargetElements(final ModelElementInstanceImpl referenceSourceParentElement) {
@@ -239,4 +272,5 @@ public class ElementReferenceCollectionImpl<Target extends ModelElementInstance,
       }
     };
   }
+
 }
@@ -12,17 +12,22 @@
  */
 package org.camunda.bpm.model.xml.impl.type.reference;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.camunda.bpm.model.xml.ModelInstance;
 import org.camunda.bpm.model.xml.ModelReferenceException;
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
 import org.camunda.bpm.model.xml.impl.type.ModelElementTypeImpl;
 import org.camunda.bpm.model.xml.impl.type.attribute.AttributeImpl;
+import org.camunda.bpm.model.xml.impl.util.ModelUtil;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.camunda.bpm.model.xml.type.attribute.Attribute;
 import org.camunda.bpm.model.xml.type.ModelElementType;
 import org.camunda.bpm.model.xml.type.reference.Reference;
+import org.w3c.dom.Element;
 
 /**
  * @author Sebastian Menski
@@ -125,20 +130,50 @@ public abstract class ReferenceImpl<T extends ModelElementInstance> implements R
 
   /**
    * Find all reference source element instances of the reference target model element instance
+   * which reference the given identifier. Uses the reverse reference index of the model instance,
+   * so only the actual reference sources are returned.
    *
    * @param referenceTargetElement the reference target model element instance
+   * @param referenceIdentifier the identifier referenced by the reference source element instances
    * @return the collection of all reference source element instances
    */
-  private Collection<ModelElementInstance> findReferenceSourceElements(ModelElementInstance referenceTargetElement) {
-    if(referenceTargetElementType.isBaseTypeOf(referenceTargetElement.getElementType())) {
-      ModelElementType owningElementType = getReferenceSourceElementType();
-      return referenceTargetElement.getModelInstance().getModelElementsByType(owningElementType);
+  private Collection<ModelElementInstance> findReferenceSourceElements(ModelElementInstance referenceTargetElement, Object referenceIdentifier) {
+    if(referenceIdentifier != null && referenceTargetElementType.isBaseTypeOf(referenceTargetElement.getElementType())) {
+      ModelInstanceImpl modelInstance = (ModelInstanceImpl) referenceTargetElement.getModelInstance();
+      List<Element> referenceSourceDomElements = modelInstance.getReferenceSourceElements(this, referenceIdentifier.toString());
+      List<ModelElementInstance> referenceSourceElements = new ArrayList<ModelElementInstance>(referenceSourceDomElements.size());
+      for (Element referenceSourceDomElement : referenceSourceDomElements) {
+        referenceSourceElements.add(ModelUtil.getModelElement(referenceSourceDomElement, modelInstance));
+      }
+      return referenceSourceElements;
     }
     else {
       return Collections.emptyList();
     }
   }
 
+  /**
+   * Add the reference source model element instance to the reverse reference index
+   * of its model instance.
+   *
+   * @param referenceSourceElement the reference source model element instance
+   */
+  public void indexReferenceSourceElement(ModelElementInstance referenceSourceElement) {
+    ModelInstanceImpl modelInstance = (ModelInstanceImpl) referenceSourceElement.getModelInstance();
+    modelInstance.addReferenceSourceElement(this, getReferenceIdentifier(referenceSourceElement), referenceSourceElement.getDomElement());
+  }
+
+  /**
+   * Remove the reference source model element instance from the reverse reference index
+   * of its model instance.
+   *
+   * @param referenceSourceElement the reference source model element instance
+   */
+  public void unindexReferenceSourceElement(ModelElementInstance referenceSourceElement) {
+    ModelInstanceImpl modelInstance = (ModelInstanceImpl) referenceSourceElement.getModelInstance();
+    modelInstance.removeReferenceSourceElement(this, getReferenceIdentifier(referenceSourceElement), referenceSourceElement.getDomElement());
+  }
+
   /**
    * Update the reference identifier of the reference source model element instance
    *
@@ -156,7 +191,7 @@ public abstract class ReferenceImpl<T extends ModelElementInstance> implements R
    * @param newIdentifier the new reference identifier
    */
   public void referencedElementUpdated(ModelElementInstance referenceTargetElement, String oldIdentifier, String newIdentifier) {
-    for (ModelElementInstance referenceSourceElement : findReferenceSourceElements(referenceTargetElement)) {
+    for (ModelElementInstance referenceSourceElement : findReferenceSourceElements(referenceTargetElement, oldIdentifier)) {
       updateReference(referenceSourceElement, oldIdentifier, newIdentifier);
     }
   }
@@ -175,7 +210,7 @@ public abstract class ReferenceImpl<T extends ModelElementInstance> implements R
    * @param referenceIdentifier  the identifier of the reference to filter reference source elements
    */
   public void referencedElementRemoved(ModelElementInstance referenceTargetElement, Object referenceIdentifier) {
-    for (ModelElementInstance referenceSourceElement : findReferenceSourceElements(referenceTargetElement)) {
+    for (ModelElementInstance referenceSourceElement : findReferenceSourceElements(referenceTargetElement, referenceIdentifier)) {
       if (referenceIdentifier.equals(getReferenceIdentifier(referenceSourceElement))) {
         removeReference(referenceSourceElement);
       }
@@ -90,9 +90,7 @@ public final class DomUtil {
 
     @Override
     public boolean matches(Node node) {
-     return super.matches(node)
-        && localName.equals(node.getLocalName())
-        && namespaceUri.equals(node.getNamespaceURI());
+      return isElementWithName(node, localName, namespaceUri);
     }
 
   }
@@ -109,12 +107,22 @@ public final class DomUtil {
 
     @Override
     public boolean matches(Node node) {
-      if (! super.matches(node)) {
-        return false;
-      }
-      ModelElementInstance modelElement = ModelUtil.getModelElement((Element) node, model);
-      return type.isAssignableFrom(modelElement.getClass());
+      return isElementOfType(node, type, model);
+    }
+  }
+
+  private static boolean isElementWithName(Node node, String localName, String namespaceUri) {
+    return node.getNodeType() == Node.ELEMENT_NODE
+      && localName.equals(node.getLocalName())
+      && namespaceUri.equals(node.getNamespaceURI());
+  }
+
+  private static boolean isElementOfType(Node node, Class<?> type, ModelInstanceImpl modelInstance) {
+    if (node.getNodeType() != Node.ELEMENT_NODE) {
+      return false;
     }
+    ModelElementInstance modelElement = ModelUtil.getModelElement((Element) node, modelInstance);
+    return type.isAssignableFrom(modelElement.getClass());
   }
 
   /**
@@ -163,6 +171,110 @@ public final class DomUtil {
     return filterNodeList(nodeList, new ElementByTypeListFilter(type, modelInstance));
   }
 
+  /**
+   * Returns the first child node of a DOM node which matches a filter. Together with
+   * {@link #getNextSiblingNode(Node, NodeListFilter)} it allows to iterate over the matching
+   * child nodes without creating a {@link NodeList} or a result list:
+   *
+   * <pre>
+   * for (Element child = getFirstChildNode(parent, filter); child != null; child = getNextSiblingNode(child, filter)) {
+   *   ...
+   * }
+   * </pre>
+   *
+   * @param parent the DOM node whose child nodes are visited
+   * @param filter the {@link NodeListFilter} to apply to the child nodes
+   * @return the first matching child node or null if no child node matches
+   */
+  public static <T extends Node> T getFirstChildNode(Node parent, NodeListFilter<T> filter) {
+    return getNodeOrNextSibling(parent.getFirstChild(), filter);
+  }
+
+  /**
+   * Returns the next sibling of a DOM node which matches a filter.
+   *
+   * @param node the DOM node after which the siblings are visited
+   * @param filter the {@link NodeListFilter} to apply to the siblings
+   * @return the next matching sibling or null if no following sibling matches
+   */
+  public static <T extends Node> T getNextSiblingNode(Node node, NodeListFilter<T> filter) {
+    return getNodeOrNextSibling(node.getNextSibling(), filter);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Node> T getNodeOrNextSibling(Node node, NodeListFilter<T> filter) {
+    while (node != null && !filter.matches(node)) {
+      node = node.getNextSibling();
+    }
+    return (T) node;
+  }
+
+  /**
+   * Returns all child nodes of a DOM node which match a filter. Unlike
+   * {@link #filterNodeList(NodeList, NodeListFilter)} the child nodes are visited
+   * by their sibling links instead of by index.
+   *
+   * @param parent the DOM node whose child nodes are filtered
+   * @param filter the {@link NodeListFilter} to apply to the child nodes
+   * @return the list of all child nodes which match the filter
+   */
+  public static <T extends Node> List<T> filterChildNodes(Node parent, NodeListFilter<T> filter) {
+    List<T> filteredList = new ArrayList<T>();
+    for (T node = getFirstChildNode(parent, filter); node != null; node = getNextSiblingNode(node, filter)) {
+      filteredList.add(node);
+    }
+    return filteredList;
+  }
+
+  /**
+   * Returns all child elements of a DOM node with a specific name.
+   *
+   * @param parent the DOM node whose child elements are filtered
+   * @param localName the local element name to filter for
+   * @param namespaceUri the namespace for the elements
+   * @return the list of all child elements which match the filter
+   */
+  public static List<Element> filterChildElementsByName(Node parent, String localName, String namespaceUri) {
+    return filterChildNodes(parent, new ElementByNameListFilter(localName, namespaceUri));
+  }
+
+  /**
+   * Returns the first child element of a DOM node with a specific name. The search
+   * stops at the first match and does not allocate.
+   *
+   * @param parent the DOM node whose child elements are searched
+   * @param localName the local element name to search for
+   * @param namespaceUri the namespace of the element
+   * @return the first matching child element or null if no child element matches
+   */
+  public static Element getFirstChildElementByName(Node parent, String localName, String namespaceUri) {
+    for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (isElementWithName(child, localName, namespaceUri)) {
+        return (Element) child;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the first child element of a DOM node with a specific type. The search
+   * stops at the first match and does not allocate for child elements which already
+   * have a model element instance.
+   *
+   * @param parent the DOM node whose child elements are searched
+   * @param type the type class to search for
+   * @param modelInstance the model instance
+   * @return the first matching child element or null if no child element matches
+   */
+  public static Element getFirstChildElementByType(Node parent, Class<?> type, ModelInstanceImpl modelInstance) {
+    for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (isElementOfType(child, type, modelInstance)) {
+        return (Element) child;
+      }
+    }
+    return null;
+  }
+
   /**
    * Returns the Document element for a Document
    *
@@ -254,11 +366,26 @@ public final class DomUtil {
   public static Document parseInputStream(DocumentBuilderFactory documentBuilderFactory, InputStream inputStream) {
     try {
       DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
-      return documentBuilder.parse(inputStream);
+      return parseInputStream(documentBuilder, inputStream);
 
     } catch (ParserConfigurationException e) {
       throw new ModelParseException("ParserConfigurationException while parsing input stream", e);
 
+    }
+  }
+
+  /**
+   * Create a new DOM document from the input stream
+   *
+   * @param documentBuilder the document builder to build the DOM document
+   * @param inputStream the input stream to parse
+   * @return the new DOM document
+   * @throws ModelParseException if a parsing or IO error is triggered
+   */
+  public static Document parseInputStream(DocumentBuilder documentBuilder, InputStream inputStream) {
+    try {
+      return documentBuilder.parse(inputStream);
+
     } catch (SAXException e) {
       throw new ModelParseException("SAXException while parsing input stream", e);
 
@@ -343,6 +470,67 @@ public final class DomUtil {
     return domNode.getOwnerDocument();
   }
 
+  /**
+   * Compares the positions of two nodes in their document. Unlike {@link Node#compareDocumentPosition(Node)},
+   * which scans the children of the common ancestor from the first one, the siblings are walked
+   * outwards from one node, so the comparison of close nodes does not depend on the number of
+   * their siblings.
+   *
+   * @param node  the node to compare
+   * @param otherNode  the other node to compare
+   * @return a negative number if the node precedes the other node, 0 if they are the same node,
+   * otherwise a positive number
+   */
+  public static int compareDocumentOrder(Node node, Node otherNode) {
+    if (node == otherNode) {
+      return 0;
+    }
+    int depth = getDepth(node);
+    int otherDepth = getDepth(otherNode);
+    Node ancestor = node;
+    Node otherAncestor = otherNode;
+    for (; depth > otherDepth; depth--) {
+      ancestor = ancestor.getParentNode();
+    }
+    for (; otherDepth > depth; otherDepth--) {
+      otherAncestor = otherAncestor.getParentNode();
+    }
+    if (ancestor == otherAncestor) {
+      // a node precedes its descendants
+      return ancestor == node ? -1 : 1;
+    }
+    while (ancestor.getParentNode() != otherAncestor.getParentNode()) {
+      ancestor = ancestor.getParentNode();
+      otherAncestor = otherAncestor.getParentNode();
+    }
+    Node followingSibling = ancestor.getNextSibling();
+    Node precedingSibling = ancestor.getPreviousSibling();
+    while (followingSibling != null || precedingSibling != null) {
+      if (followingSibling == otherAncestor) {
+        return -1;
+      }
+      if (precedingSibling == otherAncestor) {
+        return 1;
+      }
+      if (followingSibling != null) {
+        followingSibling = followingSibling.getNextSibling();
+      }
+      if (precedingSibling != null) {
+        precedingSibling = precedingSibling.getPreviousSibling();
+      }
+    }
+    // the nodes are not in the same tree
+    return (node.compareDocumentPosition(otherNode) & Node.DOCUMENT_POSITION_FOLLOWING) != 0 ? -1 : 1;
+  }
+
+  private static int getDepth(Node node) {
+    int depth = 0;
+    for (Node parent = node.getParentNode(); parent != null; parent = parent.getParentNode()) {
+      depth++;
+    }
+    return depth;
+  }
+
   /**
    * Returns the namespace URI for the given prefix.
    *
@@ -445,4 +633,27 @@ public final class DomUtil {
     return (Element) domElement.getParentNode();
   }
 
+  /**
+   * Returns the next node of a depth-first walk over the subtree of root or null
+   * if the subtree is exhausted.
+   *
+   * @param node the current node of the walk
+   * @param root the root node of the subtree
+   * @return the next node or null
+   */
+  public static Node nextNodeInSubtree(Node node, Node root) {
+    Node next = node.getFirstChild();
+    if (next != null) {
+      return next;
+    }
+    while (node != root) {
+      next = node.getNextSibling();
+      if (next != null) {
+        return next;
+      }
+      node = node.getParentNode();
+    }
+    return null;
+  }
+
 }
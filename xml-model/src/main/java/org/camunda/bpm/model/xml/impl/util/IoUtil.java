@@ -26,6 +26,8 @@ import java.io.*;
  */
 public final class IoUtil {
 
+  private static final XmlSerializer DEFAULT_SERIALIZER = new XmlSerializer();
+
   public static void closeSilently(Closeable closeable) {
     try {
       if (closeable != null) {
@@ -95,25 +97,44 @@ public final class IoUtil {
    * @param document  the XML document to convert
    */
   public static String convertXmlDocumentToString(Document document) {
-    StringWriter stringWriter = new StringWriter();
-    StreamResult result = new StreamResult(stringWriter);
-    transformDocumentToXml(document, result);
-    return stringWriter.toString();
+    return DEFAULT_SERIALIZER.serializeToString(document);
+  }
+
+  /**
+   * Converts a {@link Document} to its String representation
+   *
+   * @param document  the XML document to convert
+   * @param indentAmount  the number of spaces to indent nested elements, or {@link XmlSerializer#NO_INDENT}
+   */
+  public static String convertXmlDocumentToString(Document document, int indentAmount) {
+    return new XmlSerializer(indentAmount).serializeToString(document);
   }
 
   /**
-   * Writes a {@link Document} to an {@link OutputStream} by transforming the DOM to XML.
+   * Writes a {@link Document} to an {@link OutputStream} by serializing the DOM to XML.
    *
    * @param document  the DOM document to write
    * @param outputStream  the {@link OutputStream} to write to
    */
   public static void writeDocumentToOutputStream(Document document, OutputStream outputStream) {
-    StreamResult result = new StreamResult(outputStream);
-    transformDocumentToXml(document, result);
+    DEFAULT_SERIALIZER.serialize(document, outputStream);
+  }
+
+  /**
+   * Writes a {@link Document} to an {@link OutputStream} by serializing the DOM to XML.
+   *
+   * @param document  the DOM document to write
+   * @param outputStream  the {@link OutputStream} to write to
+   * @param indentAmount  the number of spaces to indent nested elements, or {@link XmlSerializer#NO_INDENT}
+   */
+  public static void writeDocumentToOutputStream(Document document, OutputStream outputStream, int indentAmount) {
+    new XmlSerializer(indentAmount).serialize(document, outputStream);
   }
 
   /**
-   * Transforms a {@link Document} to XML output.
+   * Transforms a {@link Document} to XML output using a {@link Transformer}. The model
+   * is written by the {@link XmlSerializer} by default, which avoids the transformer
+   * lookup on every call.
    *
    * @param document  the DOM document to transform
    * @param result  the {@link StreamResult} to write to
@@ -33,17 +33,15 @@ import java.util.*;
  */
 public final class ModelUtil {
 
-  private static final String MODEL_ELEMENT_KEY = "camunda.modelElementRef";
-
   /**
    * Returns the {@link ModelElementInstanceImpl ModelElement} for a DOM element.
-   * If the model element does not yet exist, it is created and linked to the DOM.
+   * If the model element does not yet exist, it is created and registered at the model instance.
    *
    * @param domElement the child element to create a new {@link ModelElementInstanceImpl ModelElement} for
    * @return the child model element
    */
   public static ModelElementInstance getModelElement(Element domElement, ModelInstanceImpl modelInstance) {
-    ModelElementInstance modelElement = (ModelElementInstance) domElement.getUserData(MODEL_ELEMENT_KEY);
+    ModelElementInstance modelElement = modelInstance.getRegisteredModelElement(domElement);
     if(modelElement == null) {
 
       String namespaceUri = domElement.getNamespaceURI();
@@ -54,7 +52,7 @@ public final class ModelUtil {
         modelType = (ModelElementTypeImpl) modelInstance.registerGenericType(localName, namespaceUri);
       }
       modelElement = modelType.newInstance(modelInstance, domElement);
-      domElement.setUserData(MODEL_ELEMENT_KEY, modelElement, null);
+      modelInstance.registerModelElement(domElement, modelElement);
     }
     return modelElement;
   }
@@ -72,7 +70,7 @@ public final class ModelUtil {
   }
 
   public static QName getQName(String localName, String namespaceUri) {
-    return new QName(localName, namespaceUri);
+    return QName.of(localName, namespaceUri);
   }
 
   public static void ensureInstanceOf(Object instance, Class<?> type) {
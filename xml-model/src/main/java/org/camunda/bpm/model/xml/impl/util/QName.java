@@ -12,16 +12,27 @@
  */
 package org.camunda.bpm.model.xml.impl.util;
 
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
 import org.camunda.bpm.model.xml.impl.instance.ModelElementInstanceImpl;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * @author Daniel Meyer
  *
  */
 public class QName {
 
+  /** the canonical instances by namespace URI and local name, see {@link #of(String, String)} */
+  private static final ConcurrentMap<String, ConcurrentMap<String, QName>> CANONICAL_NAMES = new ConcurrentHashMap<String, ConcurrentMap<String, QName>>();
+
+  /** the canonical instances without namespace by local name */
+  private static final ConcurrentMap<String, QName> CANONICAL_NAMES_WITHOUT_NAMESPACE = new ConcurrentHashMap<String, QName>();
+
   private final String namespaceUri;
   private final String localName;
+  private final int hashCode;
 
   public QName(String localName) {
     this(localName, null);
@@ -30,6 +41,47 @@ public class QName {
   public QName(String localName, String namespaceUri) {
     this.localName = localName;
     this.namespaceUri = namespaceUri;
+    this.hashCode = computeHashCode();
+  }
+
+  /**
+   * Returns the canonical instance of a qualified name. Canonical instances are
+   * interned for all model instances, so they are only allocated on the first lookup
+   * of a name and equal canonical instances are identical. Only use it for metamodel
+   * type names, names found in documents are cached by
+   * {@link ModelInstanceImpl#getQName(String, String)}.
+   *
+   * @param localName the local name, a name without local name is not interned
+   * @param namespaceUri the namespace URI or null
+   * @return the canonical qualified name
+   */
+  public static QName of(String localName, String namespaceUri) {
+    if (localName == null) {
+      return new QName(null, namespaceUri);
+    }
+    ConcurrentMap<String, QName> names;
+    if (namespaceUri == null) {
+      names = CANONICAL_NAMES_WITHOUT_NAMESPACE;
+    }
+    else {
+      names = CANONICAL_NAMES.get(namespaceUri);
+      if (names == null) {
+        names = new ConcurrentHashMap<String, QName>();
+        ConcurrentMap<String, QName> existingNames = CANONICAL_NAMES.putIfAbsent(namespaceUri, names);
+        if (existingNames != null) {
+          names = existingNames;
+        }
+      }
+    }
+    QName qName = names.get(localName);
+    if (qName == null) {
+      qName = new QName(localName, namespaceUri);
+      QName existingQName = names.putIfAbsent(localName, qName);
+      if (existingQName != null) {
+        qName = existingQName;
+      }
+    }
+    return qName;
   }
 
   public String getNamespaceUri() {
@@ -40,21 +92,27 @@ public class QName {
     return localName;
   }
 
+  /**
+   * Parses a prefixed identifier like <code>prefix:localName</code> in the scope of a model
+   * element. The prefix is resolved by the namespace declaration cache of the model instance
+   * and the qualified name is cached by the model instance, see
+   * {@link ModelInstanceImpl#getQName(String, String)}.
+   *
+   * @param identifier the identifier to parse, without prefix it has no namespace URI
+   * @param modelElement the model element in whose scope the prefix is resolved
+   * @return the qualified name
+   */
   public static QName parseQName(String identifier, ModelElementInstanceImpl modelElement) {
-    String localPart;
-    String namespaceUri = null;
-
-    String[] split = identifier.split(":", 2);
-    if(split.length == 2) {
-      localPart = split[1];
-      namespaceUri = DomUtil.getNamespaceUriForPrefix(modelElement.getDomElement(), split[0]);
-
-    } else {
-      localPart = split[0];
+    ModelInstanceImpl modelInstance = modelElement.getModelInstance();
+    int separatorIndex = identifier.indexOf(':');
+    if (separatorIndex < 0) {
+      return modelInstance.getQName(identifier, null);
+    }
+    else {
+      String prefix = identifier.substring(0, separatorIndex);
+      String namespaceUri = modelInstance.lookupNamespaceUri(modelElement.getDomElement(), prefix);
+      return modelInstance.getQName(identifier.substring(separatorIndex + 1), namespaceUri);
     }
-
-    return new QName(localPart, namespaceUri);
-
   }
 
   @Override
@@ -64,6 +122,10 @@ public class QName {
 
   @Override
   public int hashCode() {
+    return hashCode;
+  }
+
+  private int computeHashCode() {
     int prime = 31;
     int result = 1;
     result = prime * result + ((localName == null) ? 0 : localName.hashCode());
@@ -83,6 +145,9 @@ public class QName {
       return false;
     }
     QName other = (QName) obj;
+    if (hashCode != other.hashCode) {
+      return false;
+    }
     if (localName == null) {
       if (other.localName != null) {
         return false;
@@ -0,0 +1,468 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.util;
+
+import org.w3c.dom.*;
+
+import javax.xml.XMLConstants;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a DOM {@link Document} as XML by walking the tree and streaming it
+ * directly to a {@link Writer} or {@link OutputStream}.
+ *
+ * <p>The serializer preserves the document order, comments, processing instructions
+ * and CDATA sections. Namespace declarations which are missing in the DOM, e.g. for
+ * elements created through the model api, are added where they are first needed.</p>
+ *
+ * <p>If an indentation is configured, the children of elements which only contain
+ * elements, comments, processing instructions and whitespace are written on separate
+ * lines and existing whitespace between them is replaced. Elements with mixed or pure
+ * text content are written unchanged.</p>
+ *
+ * <p>Instances are immutable and can be shared between threads.</p>
+ */
+public final class XmlSerializer {
+
+  public static final String ENCODING = "UTF-8";
+
+  public static final int NO_INDENT = 0;
+  public static final int DEFAULT_INDENT_AMOUNT = 2;
+
+  private static final Charset CHARSET = Charset.forName(ENCODING);
+  private static final String GENERATED_PREFIX = "ns";
+
+  private final int indentAmount;
+
+  /**
+   * Creates a serializer which indents nested elements by {@link #DEFAULT_INDENT_AMOUNT} spaces.
+   */
+  public XmlSerializer() {
+    this(DEFAULT_INDENT_AMOUNT);
+  }
+
+  /**
+   * Creates a serializer with the given indentation.
+   *
+   * @param indentAmount  the number of spaces to indent nested elements, or {@link #NO_INDENT}
+   *                      to write the document without additional whitespace
+   */
+  public XmlSerializer(int indentAmount) {
+    if (indentAmount < 0) {
+      throw new IllegalArgumentException("Indent amount must not be negative: " + indentAmount);
+    }
+    this.indentAmount = indentAmount;
+  }
+
+  public int getIndentAmount() {
+    return indentAmount;
+  }
+
+  /**
+   * Writes the document UTF-8 encoded to the output stream. The stream is flushed but not closed.
+   *
+   * @param document  the DOM document to write
+   * @param outputStream  the {@link OutputStream} to write to
+   */
+  public void serialize(Document document, OutputStream outputStream) {
+    try {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, CHARSET));
+      serialize(document, writer);
+      writer.flush();
+    }
+    catch (IOException e) {
+      throw new ModelIoException("Unable to write model to xml", e);
+    }
+  }
+
+  /**
+   * Writes the document to the writer. The writer is not flushed or closed.
+   *
+   * @param document  the DOM document to write
+   * @param writer  the {@link Writer} to write to
+   */
+  public void serialize(Document document, Writer writer) {
+    try {
+      new DocumentWriter(writer).writeDocument(document);
+    }
+    catch (IOException e) {
+      throw new ModelIoException("Unable to write model to xml", e);
+    }
+  }
+
+  /**
+   * Returns the XML representation of the document.
+   *
+   * @param document  the DOM document to convert
+   * @return the XML string
+   */
+  public String serializeToString(Document document) {
+    StringWriter writer = new StringWriter();
+    serialize(document, writer);
+    return writer.toString();
+  }
+
+  /**
+   * Holds the state of a single serialization run.
+   */
+  private class DocumentWriter {
+
+    private final Writer writer;
+    private final NamespaceScope namespaces = new NamespaceScope();
+    private int generatedPrefixCount = 0;
+
+    DocumentWriter(Writer writer) {
+      this.writer = writer;
+    }
+
+    void writeDocument(Document document) throws IOException {
+      writer.write("<?xml version=\"1.0\" encoding=\"");
+      writer.write(ENCODING);
+      writer.write("\" standalone=\"");
+      writer.write(document.getXmlStandalone() ? "yes" : "no");
+      writer.write("\"?>");
+
+      for (Node child = document.getFirstChild(); child != null; child = child.getNextSibling()) {
+        short nodeType = child.getNodeType();
+        if (nodeType == Node.ELEMENT_NODE || nodeType == Node.COMMENT_NODE || nodeType == Node.PROCESSING_INSTRUCTION_NODE) {
+          if (indentAmount > 0) {
+            writer.write('\n');
+          }
+          writeNode(child, 0);
+        }
+      }
+      if (indentAmount > 0) {
+        writer.write('\n');
+      }
+    }
+
+    private void writeNode(Node node, int depth) throws IOException {
+      switch (node.getNodeType()) {
+        case Node.ELEMENT_NODE:
+          writeElement((Element) node, depth);
+          break;
+        case Node.TEXT_NODE:
+          writeEscaped(node.getNodeValue(), false);
+          break;
+        case Node.CDATA_SECTION_NODE:
+          writeCData(node.getNodeValue());
+          break;
+        case Node.COMMENT_NODE:
+          writer.write("<!--");
+          writer.write(node.getNodeValue());
+          writer.write("-->");
+          break;
+        case Node.PROCESSING_INSTRUCTION_NODE:
+          writeProcessingInstruction((ProcessingInstruction) node);
+          break;
+        case Node.ENTITY_REFERENCE_NODE:
+          for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            writeNode(child, depth);
+          }
+          break;
+        default:
+          // document types, entities and notations are not part of the model
+          break;
+      }
+    }
+
+    private void writeElement(Element element, int depth) throws IOException {
+      namespaces.push();
+      String elementName = element.getNodeName();
+      writer.write('<');
+      writer.write(elementName);
+
+      NamedNodeMap attributes = element.getAttributes();
+      int attributeCount = attributes.getLength();
+
+      // namespace declarations present in the DOM come first
+      for (int i = 0; i < attributeCount; i++) {
+        Attr attribute = (Attr) attributes.item(i);
+        if (isNamespaceDeclaration(attribute)) {
+          String prefix = XMLConstants.XMLNS_ATTRIBUTE.equals(attribute.getNodeName()) ? "" : attribute.getLocalName();
+          namespaces.declare(prefix, attribute.getValue());
+          writeAttribute(attribute.getNodeName(), attribute.getValue());
+        }
+      }
+
+      // declare the namespace of the element if it is not in scope
+      String elementPrefix = nullToEmpty(element.getPrefix());
+      String elementNamespace = nullToEmpty(element.getNamespaceURI());
+      boolean isUndeclarablePrefix = elementNamespace.length() == 0 && elementPrefix.length() > 0;
+      if (!isUndeclarablePrefix && !elementNamespace.equals(nullToEmpty(namespaces.getNamespaceUri(elementPrefix)))) {
+        declareNamespace(elementPrefix, elementNamespace);
+      }
+
+      for (int i = 0; i < attributeCount; i++) {
+        Attr attribute = (Attr) attributes.item(i);
+        if (!isNamespaceDeclaration(attribute)) {
+          writeAttribute(getAttributeName(attribute), attribute.getValue());
+        }
+      }
+
+      Node firstChild = element.getFirstChild();
+      if (firstChild == null) {
+        writer.write("/>");
+      }
+      else {
+        writer.write('>');
+        boolean indentChildren = indentAmount > 0 && hasElementContent(element);
+        for (Node child = firstChild; child != null; child = child.getNextSibling()) {
+          if (indentChildren) {
+            if (child.getNodeType() == Node.TEXT_NODE) {
+              continue;
+            }
+            writeIndentation(depth + 1);
+          }
+          writeNode(child, depth + 1);
+        }
+        if (indentChildren) {
+          writeIndentation(depth);
+        }
+        writer.write("</");
+        writer.write(elementName);
+        writer.write('>');
+      }
+      namespaces.pop();
+    }
+
+    private String getAttributeName(Attr attribute) throws IOException {
+      String namespaceUri = attribute.getNamespaceURI();
+      if (namespaceUri == null || namespaceUri.length() == 0 || XMLConstants.XML_NS_URI.equals(namespaceUri)) {
+        return attribute.getNodeName();
+      }
+
+      String prefix = attribute.getPrefix();
+      if (prefix != null && namespaceUri.equals(namespaces.getNamespaceUri(prefix))) {
+        return attribute.getNodeName();
+      }
+
+      // reuse an existing binding or declare the prefix of the attribute
+      String existingPrefix = namespaces.getPrefix(namespaceUri);
+      if (existingPrefix != null) {
+        prefix = existingPrefix;
+      }
+      else {
+        if (prefix == null || namespaces.isDeclaredInCurrentScope(prefix)) {
+          prefix = generatePrefix();
+        }
+        declareNamespace(prefix, namespaceUri);
+      }
+      return prefix + ":" + attribute.getLocalName();
+    }
+
+    private String generatePrefix() {
+      String prefix;
+      do {
+        prefix = GENERATED_PREFIX + generatedPrefixCount++;
+      } while (namespaces.getNamespaceUri(prefix) != null);
+      return prefix;
+    }
+
+    private void declareNamespace(String prefix, String namespaceUri) throws IOException {
+      namespaces.declare(prefix, namespaceUri);
+      if (prefix.length() == 0) {
+        writeAttribute(XMLConstants.XMLNS_ATTRIBUTE, namespaceUri);
+      }
+      else {
+        writeAttribute(XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix, namespaceUri);
+      }
+    }
+
+    private void writeAttribute(String name, String value) throws IOException {
+      writer.write(' ');
+      writer.write(name);
+      writer.write("=\"");
+      writeEscaped(value, true);
+      writer.write('"');
+    }
+
+    private void writeProcessingInstruction(ProcessingInstruction processingInstruction) throws IOException {
+      writer.write("<?");
+      writer.write(processingInstruction.getTarget());
+      String data = processingInstruction.getData();
+      if (data != null && data.length() > 0) {
+        writer.write(' ');
+        writer.write(data);
+      }
+      writer.write("?>");
+    }
+
+    private void writeCData(String data) throws IOException {
+      writer.write("<![CDATA[");
+      int start = 0;
+      int end;
+      while ((end = data.indexOf("]]>", start)) >= 0) {
+        writer.write(data, start, end + 2 - start);
+        writer.write("]]><![CDATA[");
+        start = end + 2;
+      }
+      writer.write(data, start, data.length() - start);
+      writer.write("]]>");
+    }
+
+    private void writeIndentation(int depth) throws IOException {
+      writer.write('\n');
+      for (int i = depth * indentAmount; i > 0; i--) {
+        writer.write(' ');
+      }
+    }
+
+    private void writeEscaped(String value, boolean attribute) throws IOException {
+      int length = value.length();
+      int start = 0;
+      for (int i = 0; i < length; i++) {
+        String replacement = getEscapeSequence(value.charAt(i), attribute);
+        if (replacement != null) {
+          writer.write(value, start, i - start);
+          writer.write(replacement);
+          start = i + 1;
+        }
+      }
+      writer.write(value, start, length - start);
+    }
+
+  }
+
+  private static String getEscapeSequence(char c, boolean attribute) {
+    switch (c) {
+      case '&':
+        return "&amp;";
+      case '<':
+        return "&lt;";
+      case '>':
+        return "&gt;";
+      case '\r':
+        return "&#13;";
+      case '"':
+        return attribute ? "&quot;" : null;
+      case '\n':
+        return attribute ? "&#10;" : null;
+      case '\t':
+        return attribute ? "&#9;" : null;
+      default:
+        return null;
+    }
+  }
+
+  private static boolean isNamespaceDeclaration(Attr attribute) {
+    return XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI());
+  }
+
+  /**
+   * Returns true if the element only contains elements, comments, processing instructions
+   * and whitespace text, so that its children can be indented.
+   */
+  private static boolean hasElementContent(Element element) {
+    boolean hasNonTextChild = false;
+    for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+      switch (child.getNodeType()) {
+        case Node.ELEMENT_NODE:
+        case Node.COMMENT_NODE:
+        case Node.PROCESSING_INSTRUCTION_NODE:
+          hasNonTextChild = true;
+          break;
+        case Node.TEXT_NODE:
+          if (!isWhitespace(child.getNodeValue())) {
+            return false;
+          }
+          break;
+        default:
+          return false;
+      }
+    }
+    return hasNonTextChild;
+  }
+
+  private static boolean isWhitespace(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String nullToEmpty(String value) {
+    return value == null ? "" : value;
+  }
+
+  /**
+   * The prefix to namespace bindings in scope of the currently written element.
+   */
+  private static class NamespaceScope {
+
+    private final List<String> prefixes = new ArrayList<String>();
+    private final List<String> namespaceUris = new ArrayList<String>();
+    private final List<Integer> scopeStarts = new ArrayList<Integer>();
+
+    NamespaceScope() {
+      prefixes.add(XMLConstants.XML_NS_PREFIX);
+      namespaceUris.add(XMLConstants.XML_NS_URI);
+    }
+
+    void push() {
+      scopeStarts.add(prefixes.size());
+    }
+
+    void pop() {
+      int start = scopeStarts.remove(scopeStarts.size() - 1);
+      for (int i = prefixes.size() - 1; i >= start; i--) {
+        prefixes.remove(i);
+        namespaceUris.remove(i);
+      }
+    }
+
+    void declare(String prefix, String namespaceUri) {
+      prefixes.add(prefix);
+      namespaceUris.add(namespaceUri);
+    }
+
+    boolean isDeclaredInCurrentScope(String prefix) {
+      int start = scopeStarts.get(scopeStarts.size() - 1);
+      for (int i = prefixes.size() - 1; i >= start; i--) {
+        if (prefixes.get(i).equals(prefix)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    String getNamespaceUri(String prefix) {
+      for (int i = prefixes.size() - 1; i >= 0; i--) {
+        if (prefixes.get(i).equals(prefix)) {
+          return namespaceUris.get(i);
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Returns a non-empty prefix which is bound to the namespace and not hidden by a later declaration.
+     */
+    String getPrefix(String namespaceUri) {
+      for (int i = prefixes.size() - 1; i >= 0; i--) {
+        String prefix = prefixes.get(i);
+        if (prefix.length() > 0 && namespaceUris.get(i).equals(namespaceUri) && namespaceUri.equals(getNamespaceUri(prefix))) {
+          return prefix;
+        }
+      }
+      return null;
+    }
+  }
+
+}
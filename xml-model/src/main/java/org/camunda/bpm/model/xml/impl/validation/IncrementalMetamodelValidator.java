@@ -0,0 +1,275 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.model.xml.Model;
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
+import org.camunda.bpm.model.xml.impl.ModelModificationListener;
+import org.camunda.bpm.model.xml.impl.type.ModelElementTypeImpl;
+import org.camunda.bpm.model.xml.impl.util.DomUtil;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * <p>Keeps a persistent validation report of a model instance up to date. The validator
+ * listens to the modifications made through the model api and the next call of
+ * {@link #validate()} only validates the elements affected by them with the
+ * {@link MetamodelValidator}:</p>
+ *
+ * <ul>
+ *   <li>modified elements,</li>
+ *   <li>attached subtrees and</li>
+ *   <li>the reference sources of ids which were changed, added or removed.</li>
+ * </ul>
+ *
+ * <p>The violations of detached subtrees are removed from the report. Changes made directly
+ * to the DOM document are not detected, {@link #invalidate()} forces a full validation.</p>
+ *
+ * <p>The validator is not thread-safe. It should be {@link #close() closed} when it is no longer
+ * used to stop listening to the model instance.</p>
+ */
+public class IncrementalMetamodelValidator implements ModelModificationListener {
+
+  private static final Comparator<MetamodelViolation> DOCUMENT_ORDER = new Comparator<MetamodelViolation>() {
+    public int compare(MetamodelViolation violation, MetamodelViolation otherViolation) {
+      Element element = violation.getElement();
+      Element otherElement = otherViolation.getElement();
+      if (element == otherElement) {
+        return 0;
+      }
+      else if ((element.compareDocumentPosition(otherElement) & Node.DOCUMENT_POSITION_FOLLOWING) != 0) {
+        return -1;
+      }
+      else {
+        return 1;
+      }
+    }
+  };
+
+  private final ModelInstanceImpl modelInstance;
+  private final MetamodelValidator validator;
+
+  /** the violations of the last validation by the element they were reported for */
+  private final Map<Element, List<MetamodelViolation>> violationsByElement = new HashMap<Element, List<MetamodelViolation>>();
+
+  private final Set<Element> modifiedElements = new LinkedHashSet<Element>();
+  private final Set<Element> attachedSubtrees = new LinkedHashSet<Element>();
+  private final Set<Element> detachedSubtrees = new LinkedHashSet<Element>();
+  private final Set<String> changedIds = new LinkedHashSet<String>();
+
+  private boolean isFullValidationRequired = true;
+
+  public IncrementalMetamodelValidator(ModelInstanceImpl modelInstance) {
+    this(modelInstance, new MetamodelValidator());
+  }
+
+  public IncrementalMetamodelValidator(ModelInstanceImpl modelInstance, MetamodelValidator validator) {
+    this.modelInstance = modelInstance;
+    this.validator = validator;
+    modelInstance.addModificationListener(this);
+  }
+
+  /**
+   * Validates the elements affected by the modifications since the last validation
+   * and returns the updated report. The first call validates the whole model instance.
+   *
+   * @return all violations of the model instance in document order
+   */
+  public List<MetamodelViolation> validate() {
+    if (isFullValidationRequired) {
+      validateAll();
+    }
+    else {
+      validateModifications();
+    }
+    clearModifications();
+    return getViolations();
+  }
+
+  /**
+   * @return the violations found by the last validation in document order
+   */
+  public List<MetamodelViolation> getViolations() {
+    List<MetamodelViolation> violations = new ArrayList<MetamodelViolation>();
+    for (List<MetamodelViolation> elementViolations : violationsByElement.values()) {
+      violations.addAll(elementViolations);
+    }
+    Collections.sort(violations, DOCUMENT_ORDER);
+    return violations;
+  }
+
+  /**
+   * @return true if the last validation found no violations
+   */
+  public boolean isValid() {
+    return violationsByElement.isEmpty();
+  }
+
+  /**
+   * Forces a validation of the whole model instance on the next call of {@link #validate()}.
+   */
+  public void invalidate() {
+    isFullValidationRequired = true;
+  }
+
+  /**
+   * Stops listening to the modifications of the model instance.
+   */
+  public void close() {
+    modelInstance.removeModificationListener(this);
+  }
+
+  // modification listener ////////////////////////////////////////
+
+  public void elementModified(Element element) {
+    modifiedElements.add(element);
+  }
+
+  public void subtreeAttached(Element element) {
+    attachedSubtrees.add(element);
+  }
+
+  public void subtreeDetached(Element element) {
+    detachedSubtrees.add(element);
+  }
+
+  public void elementIdChanged(Element element, String oldId, String newId) {
+    if (oldId != null) {
+      changedIds.add(oldId);
+    }
+    if (newId != null) {
+      changedIds.add(newId);
+    }
+  }
+
+  // validation ///////////////////////////////////////////////////
+
+  protected void validateAll() {
+    violationsByElement.clear();
+    for (MetamodelViolation violation : validator.validate(modelInstance)) {
+      addViolation(violation);
+    }
+    isFullValidationRequired = false;
+  }
+
+  protected void validateModifications() {
+    Model model = modelInstance.getModel();
+
+    for (Element detachedSubtree : detachedSubtrees) {
+      removeSubtree(model, detachedSubtree);
+    }
+
+    for (Element attachedSubtree : attachedSubtrees) {
+      if (modelInstance.isAttached(attachedSubtree)) {
+        validateSubtree(model, attachedSubtree);
+      }
+    }
+
+    Set<Element> elementsToValidate = new LinkedHashSet<Element>(modifiedElements);
+    for (String changedId : changedIds) {
+      elementsToValidate.addAll(modelInstance.getReferenceSourceElements(changedId));
+    }
+    for (Element element : elementsToValidate) {
+      validateElement(model, element);
+    }
+  }
+
+  /**
+   * Removes the violations of all elements of the detached subtree and records their
+   * ids as changed, so that the elements referencing them are validated again.
+   */
+  protected void removeSubtree(Model model, Element subtree) {
+    Node node = subtree;
+    while (node != null) {
+      if (node.getNodeType() == Node.ELEMENT_NODE) {
+        Element element = (Element) node;
+        violationsByElement.remove(element);
+        ModelElementTypeImpl elementType = validator.getElementType(model, element);
+        if (elementType != null) {
+          String elementId = validator.getElementId(element, elementType);
+          if (elementId != null) {
+            changedIds.add(elementId);
+          }
+        }
+      }
+      node = DomUtil.nextNodeInSubtree(node, subtree);
+    }
+  }
+
+  /**
+   * Validates all elements of the attached subtree and records their ids as changed.
+   */
+  protected void validateSubtree(Model model, Element subtree) {
+    Node node = subtree;
+    while (node != null) {
+      if (node.getNodeType() == Node.ELEMENT_NODE) {
+        Element element = (Element) node;
+        ModelElementTypeImpl elementType = validator.getElementType(model, element);
+        if (elementType != null) {
+          String elementId = validator.getElementId(element, elementType);
+          if (elementId != null) {
+            changedIds.add(elementId);
+          }
+          modifiedElements.add(element);
+        }
+      }
+      node = DomUtil.nextNodeInSubtree(node, subtree);
+    }
+    // the parent of the subtree has a new child element
+    Node parentNode = subtree.getParentNode();
+    if (parentNode instanceof Element) {
+      modifiedElements.add((Element) parentNode);
+    }
+  }
+
+  protected void validateElement(Model model, Element element) {
+    violationsByElement.remove(element);
+    if (!modelInstance.isAttached(element)) {
+      return;
+    }
+    ModelElementTypeImpl elementType = validator.getElementType(model, element);
+    if (elementType != null) {
+      List<MetamodelViolation> violations = new ArrayList<MetamodelViolation>();
+      validator.validateElement(modelInstance, element, elementType, violations);
+      if (!violations.isEmpty()) {
+        violationsByElement.put(element, violations);
+      }
+    }
+  }
+
+  protected void addViolation(MetamodelViolation violation) {
+    List<MetamodelViolation> violations = violationsByElement.get(violation.getElement());
+    if (violations == null) {
+      violations = new ArrayList<MetamodelViolation>();
+      violationsByElement.put(violation.getElement(), violations);
+    }
+    violations.add(violation);
+  }
+
+  protected void clearModifications() {
+    modifiedElements.clear();
+    attachedSubtrees.clear();
+    detachedSubtrees.clear();
+    changedIds.clear();
+  }
+
+}
@@ -0,0 +1,265 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.model.xml.Model;
+import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.ModelValidationException;
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
+import org.camunda.bpm.model.xml.impl.type.ModelElementTypeImpl;
+import org.camunda.bpm.model.xml.impl.util.DomUtil;
+import org.camunda.bpm.model.xml.impl.util.ModelUtil;
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
+import org.camunda.bpm.model.xml.type.ModelElementType;
+import org.camunda.bpm.model.xml.type.attribute.Attribute;
+import org.camunda.bpm.model.xml.type.child.ChildElementCollection;
+import org.camunda.bpm.model.xml.type.reference.Reference;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * <p>Validates a model instance against the constraints recorded in its metamodel
+ * in a single walk over the DOM document. The validator checks</p>
+ *
+ * <ul>
+ *   <li>that required attributes are present,</li>
+ *   <li>that child elements are allowed and appear in the order of the sequence of their parent type,</li>
+ *   <li>that the number of child elements of each sequence entry is within its minOccurs and maxOccurs bounds and</li>
+ *   <li>that the attribute and element references of an element can be resolved.</li>
+ * </ul>
+ *
+ * <p>This is a fast alternative to the validation against the XML schema, but not a complete
+ * replacement: attribute values are not checked against their types and elements which are not
+ * part of the metamodel, like extension elements, are skipped together with their subtrees.</p>
+ *
+ * <p>The validator is stateless and can be shared between threads.</p>
+ */
+public class MetamodelValidator {
+
+  /**
+   * Validates the model instance and returns all violations found.
+   *
+   * @param modelInstance the model instance to validate
+   * @return the list of violations, empty if the model instance is valid
+   */
+  public List<MetamodelViolation> validate(ModelInstance modelInstance) {
+    ModelInstanceImpl modelInstanceImpl = (ModelInstanceImpl) modelInstance;
+    List<MetamodelViolation> violations = new ArrayList<MetamodelViolation>();
+    Element documentElement = DomUtil.getDocumentElement(modelInstance.getDocument());
+    if (documentElement != null) {
+      ModelElementTypeImpl elementType = getElementType(modelInstance.getModel(), documentElement);
+      if (elementType == null) {
+        violations.add(new MetamodelViolation(documentElement, null, "unknown document element"));
+      }
+      else {
+        validateSubtree(modelInstanceImpl, documentElement, elementType, violations);
+      }
+    }
+    return violations;
+  }
+
+  /**
+   * Validates the model instance.
+   *
+   * @param modelInstance the model instance to validate
+   * @throws ModelValidationException if the model instance violates a constraint of the metamodel
+   */
+  public void assertValid(ModelInstance modelInstance) {
+    List<MetamodelViolation> violations = validate(modelInstance);
+    if (!violations.isEmpty()) {
+      StringBuilder message = new StringBuilder("Model instance is not valid, found ")
+        .append(violations.size()).append(" violation(s):");
+      for (MetamodelViolation violation : violations) {
+        message.append("\n  ").append(violation);
+      }
+      throw new ModelValidationException(message.toString());
+    }
+  }
+
+  /**
+   * Validates the element and all of its descendants which are part of the metamodel.
+   */
+  protected void validateSubtree(ModelInstanceImpl modelInstance, Element element, ModelElementTypeImpl elementType, List<MetamodelViolation> violations) {
+    validateElement(modelInstance, element, elementType, violations);
+    for (Node childNode = element.getFirstChild(); childNode != null; childNode = childNode.getNextSibling()) {
+      if (childNode.getNodeType() == Node.ELEMENT_NODE) {
+        Element childElement = (Element) childNode;
+        ModelElementTypeImpl childElementType = getElementType(modelInstance.getModel(), childElement);
+        if (childElementType != null) {
+          validateSubtree(modelInstance, childElement, childElementType, violations);
+        }
+      }
+    }
+  }
+
+  /**
+   * Validates the attributes, the references and the child elements of a single element
+   * without descending into the child elements. All violations reported are violations
+   * of this element.
+   *
+   * @param modelInstance the model instance of the element
+   * @param element the element to validate
+   * @param elementType the type of the element
+   * @param violations the list to add the violations to
+   */
+  public void validateElement(ModelInstanceImpl modelInstance, Element element, ModelElementTypeImpl elementType, List<MetamodelViolation> violations) {
+    Model model = modelInstance.getModel();
+    String elementId = validateAttributes(element, elementType, violations);
+    validateReferences(modelInstance, element, elementId, elementType, violations);
+
+    List<ModelElementType> childElementTypes = elementType.getAllChildElementTypes();
+    List<ChildElementCollection<?>> childElementCollections = elementType.getAllChildElementCollections();
+    int[] childElementCounts = new int[childElementTypes.size()];
+    int lastSequenceIndex = -1;
+
+    for (Node childNode = element.getFirstChild(); childNode != null; childNode = childNode.getNextSibling()) {
+      if (childNode.getNodeType() != Node.ELEMENT_NODE) {
+        continue;
+      }
+      Element childElement = (Element) childNode;
+      ModelElementTypeImpl childElementType = getElementType(model, childElement);
+      if (childElementType == null) {
+        // elements which are not part of the metamodel cannot be validated
+        continue;
+      }
+
+      int sequenceIndex = getSequenceIndex(childElementTypes, childElementType);
+      if (sequenceIndex < 0) {
+        violations.add(new MetamodelViolation(element, elementId, "child element '" + childElement.getNodeName() + "' is not allowed"));
+      }
+      else {
+        if (sequenceIndex < lastSequenceIndex) {
+          violations.add(new MetamodelViolation(element, elementId, "child element '" + childElement.getNodeName()
+            + "' is not allowed after child element of type '" + childElementTypes.get(lastSequenceIndex).getTypeName() + "'"));
+        }
+        else {
+          lastSequenceIndex = sequenceIndex;
+        }
+        childElementCounts[sequenceIndex]++;
+      }
+    }
+
+    for (int i = 0; i < childElementCounts.length; i++) {
+      ChildElementCollection<?> childElementCollection = childElementCollections.get(i);
+      int count = childElementCounts[i];
+      String childTypeName = childElementTypes.get(i).getTypeName();
+      if (count < childElementCollection.getMinOccurs()) {
+        violations.add(new MetamodelViolation(element, elementId, "expected at least " + childElementCollection.getMinOccurs()
+          + " child element(s) of type '" + childTypeName + "' but found " + count));
+      }
+      int maxOccurs = childElementCollection.getMaxOccurs();
+      if (maxOccurs >= 0 && count > maxOccurs) {
+        violations.add(new MetamodelViolation(element, elementId, "expected at most " + maxOccurs
+          + " child element(s) of type '" + childTypeName + "' but found " + count));
+      }
+    }
+  }
+
+  /**
+   * Checks the required attributes of the element.
+   *
+   * @return the id of the element or null if it has no id
+   */
+  protected String validateAttributes(Element element, ModelElementTypeImpl elementType, List<MetamodelViolation> violations) {
+    String elementId = null;
+    List<Attribute<?>> missingAttributes = null;
+    for (Attribute<?> attribute : elementType.getAllAttributes()) {
+      String namespaceUri = attribute.getNamespaceUri();
+      String attributeName = attribute.getAttributeName();
+      boolean isPresent = namespaceUri == null ? element.hasAttribute(attributeName) : element.hasAttributeNS(namespaceUri, attributeName);
+      if (isPresent) {
+        if (attribute.isIdAttribute()) {
+          elementId = namespaceUri == null ? element.getAttribute(attributeName) : element.getAttributeNS(namespaceUri, attributeName);
+        }
+      }
+      else if (attribute.isRequired()) {
+        if (missingAttributes == null) {
+          missingAttributes = new ArrayList<Attribute<?>>();
+        }
+        missingAttributes.add(attribute);
+      }
+    }
+
+    if (missingAttributes != null) {
+      for (Attribute<?> attribute : missingAttributes) {
+        violations.add(new MetamodelViolation(element, elementId, "required attribute '" + attribute.getAttributeName() + "' is missing"));
+      }
+    }
+    return elementId;
+  }
+
+  /**
+   * Checks that the identifiers of all outgoing references of the element belong to elements of the model instance.
+   */
+  protected void validateReferences(ModelInstanceImpl modelInstance, Element element, String elementId, ModelElementTypeImpl elementType, List<MetamodelViolation> violations) {
+    List<Reference<?>> outgoingReferences = elementType.getAllOutgoingReferences();
+    if (outgoingReferences.isEmpty()) {
+      return;
+    }
+    ModelElementInstance referenceSourceElement = ModelUtil.getModelElement(element, modelInstance);
+    for (Reference<?> reference : outgoingReferences) {
+      String identifier = reference.getReferenceIdentifier(referenceSourceElement);
+      if (identifier != null && identifier.length() > 0 && modelInstance.getElementById(identifier) == null) {
+        violations.add(new MetamodelViolation(element, elementId, "referenced element with id '" + identifier + "' does not exist"));
+      }
+    }
+  }
+
+  /**
+   * Returns the value of the id attribute of the element.
+   *
+   * @param element the element to get the id for
+   * @param elementType the type of the element
+   * @return the id or null if the element has no id
+   */
+  public String getElementId(Element element, ModelElementTypeImpl elementType) {
+    for (Attribute<?> attribute : elementType.getAllAttributes()) {
+      if (attribute.isIdAttribute()) {
+        String namespaceUri = attribute.getNamespaceUri();
+        String attributeName = attribute.getAttributeName();
+        if (namespaceUri == null ? element.hasAttribute(attributeName) : element.hasAttributeNS(namespaceUri, attributeName)) {
+          return namespaceUri == null ? element.getAttribute(attributeName) : element.getAttributeNS(namespaceUri, attributeName);
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the type of the element or null if the element is not part of the metamodel.
+   */
+  public ModelElementTypeImpl getElementType(Model model, Element element) {
+    String localName = element.getLocalName();
+    if (localName == null) {
+      localName = element.getNodeName();
+    }
+    return (ModelElementTypeImpl) model.getTypeForName(localName, element.getNamespaceURI());
+  }
+
+  /**
+   * Returns the index of the first sequence entry which accepts the child element type
+   * or -1 if the child element type is not allowed.
+   */
+  protected int getSequenceIndex(List<ModelElementType> childElementTypes, ModelElementTypeImpl childElementType) {
+    for (int i = 0; i < childElementTypes.size(); i++) {
+      if (((ModelElementTypeImpl) childElementTypes.get(i)).isBaseTypeOf(childElementType)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+}
@@ -0,0 +1,59 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.validation;
+
+import org.w3c.dom.Element;
+
+/**
+ * A violation of a metamodel constraint found by the {@link MetamodelValidator}.
+ */
+public class MetamodelViolation {
+
+  private final Element element;
+  private final String elementId;
+  private final String message;
+
+  public MetamodelViolation(Element element, String elementId, String message) {
+    this.element = element;
+    this.elementId = elementId;
+    this.message = message;
+  }
+
+  /**
+   * @return the DOM element which violates the constraint
+   */
+  public Element getElement() {
+    return element;
+  }
+
+  /**
+   * @return the id of the element which violates the constraint or null if the element has no id
+   */
+  public String getElementId() {
+    return elementId;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("Element '").append(element.getNodeName()).append("'");
+    if (elementId != null) {
+      builder.append(" with id '").append(elementId).append("'");
+    }
+    return builder.append(": ").append(message).toString();
+  }
+
+}
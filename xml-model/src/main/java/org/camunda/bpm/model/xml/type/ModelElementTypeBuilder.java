@@ -15,6 +15,8 @@ package org.camunda.bpm.model.xml.type;
 import org.camunda.bpm.model.xml.impl.instance.ModelTypeInstanceContext;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import org.camunda.bpm.model.xml.type.attribute.AttributeBuilder;
+import org.camunda.bpm.model.xml.type.attribute.BooleanAttributeBuilder;
+import org.camunda.bpm.model.xml.type.attribute.IntegerAttributeBuilder;
 import org.camunda.bpm.model.xml.type.attribute.StringAttributeBuilder;
 import org.camunda.bpm.model.xml.type.child.SequenceBuilder;
 
@@ -31,11 +33,11 @@ public interface ModelElementTypeBuilder {
 
   ModelElementTypeBuilder abstractType();
 
-  AttributeBuilder<Boolean> booleanAttribute(String attributeName);
+  BooleanAttributeBuilder booleanAttribute(String attributeName);
 
   StringAttributeBuilder stringAttribute(String attributeName);
 
-  AttributeBuilder<Integer> integerAttribute(String attributeName);
+  IntegerAttributeBuilder integerAttribute(String attributeName);
 
   <V extends Enum<V>> AttributeBuilder<V> enumAttribute(String attributeName, Class<V> enumType);
 
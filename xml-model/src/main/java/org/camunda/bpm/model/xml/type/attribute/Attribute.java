@@ -55,6 +55,12 @@ public interface Attribute<T> {
 
   boolean isIdAttribute();
 
+  /**
+   * @return true if the model instances keep a secondary index from the values of
+   * this attribute to the elements which declare them
+   */
+  boolean isIndexed();
+
   ModelElementType getOwningElementType();
 
   List<Reference<?>> getIncomingReferences();
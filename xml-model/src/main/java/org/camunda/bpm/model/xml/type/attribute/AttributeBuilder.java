@@ -28,6 +28,12 @@ public interface AttributeBuilder<T> {
 
   AttributeBuilder<T> idAttribute();
 
+  /**
+   * Declares a secondary index on the attribute, so that the elements with a given
+   * attribute value can be looked up without iterating all elements.
+   */
+  AttributeBuilder<T> indexed();
+
   Attribute<T> build();
 
 }
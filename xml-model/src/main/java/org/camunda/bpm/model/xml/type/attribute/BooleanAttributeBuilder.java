@@ -10,21 +10,23 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.camunda.bpm.model.xml.impl.type.attribute;
-
-import org.camunda.bpm.model.xml.impl.type.ModelElementTypeImpl;
-
+package org.camunda.bpm.model.xml.type.attribute;
 
 /**
- * <p>Builder for building {@link BooleanAttribute BooleanAttributes}</p>
- *
- * @author Daniel Meyer
- *
+ * A builder for {@link BooleanAttribute BooleanAttributes}.
  */
-public class BooleanAttributeBuilder extends AttributeBuilderImpl<Boolean> {
+public interface BooleanAttributeBuilder extends AttributeBuilder<Boolean> {
+
+  BooleanAttributeBuilder namespace(String namespaceUri);
+
+  BooleanAttributeBuilder defaultValue(Boolean defaultValue);
+
+  BooleanAttributeBuilder required();
+
+  BooleanAttributeBuilder idAttribute();
+
+  BooleanAttributeBuilder indexed();
 
-  public BooleanAttributeBuilder(String attributeName, ModelElementTypeImpl modelType) {
-    super(attributeName, modelType, new BooleanAttribute(modelType));
-  }
+  BooleanAttribute build();
 
 }
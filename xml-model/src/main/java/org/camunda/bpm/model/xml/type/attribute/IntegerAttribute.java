@@ -0,0 +1,37 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.type.attribute;
+
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
+
+/**
+ * An integer attribute which can be read and written without boxing.
+ */
+public interface IntegerAttribute extends Attribute<Integer> {
+
+  /**
+   * returns the value of the attribute without boxing.
+   *
+   * @param modelElement the model element to read the attribute of
+   * @param defaultValue the value returned if the attribute is not set or no valid integer
+   *                     and the attribute has no default value
+   * @return the value of the attribute
+   */
+  int getInt(ModelElementInstance modelElement, int defaultValue);
+
+  /**
+   * sets the value of the attribute without boxing.
+   */
+  void setInt(ModelElementInstance modelElement, int value);
+
+}
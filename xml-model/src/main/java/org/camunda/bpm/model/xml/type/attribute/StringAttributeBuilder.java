@@ -30,6 +30,14 @@ public interface StringAttributeBuilder extends AttributeBuilder<String> {
 
   StringAttributeBuilder idAttribute();
 
+  StringAttributeBuilder indexed();
+
+  /**
+   * Declares a secondary index on the items of a comma separated list value, so that
+   * the elements whose list contains a given item can be looked up.
+   */
+  StringAttributeBuilder indexedList();
+
   <V extends ModelElementInstance> AttributeReferenceBuilder<V> qNameAttributeReference(Class<V> referenceTargetElement);
 
   <V extends ModelElementInstance> AttributeReferenceBuilder<V> idAttributeReference(Class<V>  referenceTargetElement);
@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.parser;
+
+import org.camunda.bpm.model.xml.testmodel.TestModelParser;
+import org.junit.Test;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.validation.Schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AbstractModelParserTest {
+
+  @Test
+  public void testPooledDocumentBuildersShareSchema() {
+    TestModelParser parser = new TestModelParser();
+    ReusableInstancePool<DocumentBuilder> pool = parser.getDocumentBuilderPool();
+
+    DocumentBuilder documentBuilder = pool.acquire();
+    DocumentBuilder otherDocumentBuilder = pool.acquire();
+    Schema schema = documentBuilder.getSchema();
+    assertThat(schema).isNotNull();
+    assertThat(otherDocumentBuilder.getSchema()).isSameAs(schema);
+
+    pool.release(documentBuilder);
+    assertThat(pool.acquire()).isSameAs(documentBuilder);
+    assertThat(documentBuilder.getSchema()).isSameAs(schema);
+    assertThat(pool.getHitCount()).isEqualTo(1);
+    assertThat(pool.getMissCount()).isEqualTo(2);
+  }
+
+}
@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.util;
+
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
+import org.camunda.bpm.model.xml.testmodel.Gender;
+import org.camunda.bpm.model.xml.testmodel.TestModelParser;
+import org.camunda.bpm.model.xml.testmodel.instance.Animals;
+import org.camunda.bpm.model.xml.testmodel.instance.Bird;
+import org.camunda.bpm.model.xml.testmodel.instance.Egg;
+import org.camunda.bpm.model.xml.testmodel.instance.FlyingAnimal;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.model.xml.testmodel.TestModelConstants.MODEL_NAMESPACE;
+import static org.camunda.bpm.model.xml.testmodel.TestModelTest.createBird;
+
+public class DomUtilTest {
+
+  private ModelInstanceImpl modelInstance;
+  private Element animals;
+  private Element tweety;
+  private Element donald;
+
+  @Before
+  public void createModelInstance() {
+    modelInstance = (ModelInstanceImpl) new TestModelParser().getEmptyModel();
+    Animals animalsElement = modelInstance.newInstance(Animals.class);
+    modelInstance.setDocumentElement(animalsElement);
+    animals = animalsElement.getDomElement();
+
+    animals.appendChild(modelInstance.getDocument().createTextNode("text"));
+    tweety = createBird(modelInstance, "tweety", Gender.Female).getDomElement();
+    animals.appendChild(modelInstance.getDocument().createComment("comment"));
+    donald = createBird(modelInstance, "donald", Gender.Male).getDomElement();
+    animals.appendChild(modelInstance.getDocument().createTextNode("text"));
+  }
+
+  @Test
+  public void testChildNodeCursor() {
+    DomUtil.ElementNodeListFilter filter = new DomUtil.ElementNodeListFilter();
+    List<Element> childElements = new ArrayList<Element>();
+    for (Element child = DomUtil.getFirstChildNode(animals, filter); child != null; child = DomUtil.getNextSiblingNode(child, filter)) {
+      childElements.add(child);
+    }
+
+    assertThat(childElements).containsExactly(tweety, donald);
+    assertThat(DomUtil.filterChildNodes(animals, filter)).containsExactly(tweety, donald);
+    assertThat(DomUtil.filterChildNodes(tweety, filter)).isEmpty();
+    assertThat(DomUtil.filterChildElementsByName(animals, "bird", MODEL_NAMESPACE)).containsExactly(tweety, donald);
+  }
+
+  @Test
+  public void testFirstChildElement() {
+    assertThat(DomUtil.getFirstChildElementByName(animals, "bird", MODEL_NAMESPACE)).isSameAs(tweety);
+    assertThat(DomUtil.getFirstChildElementByName(animals, "egg", MODEL_NAMESPACE)).isNull();
+    assertThat(DomUtil.getFirstChildElementByType(animals, FlyingAnimal.class, modelInstance)).isSameAs(tweety);
+    assertThat(DomUtil.getFirstChildElementByType(animals, Egg.class, modelInstance)).isNull();
+
+    animals.removeChild(tweety);
+    assertThat(DomUtil.getFirstChildElementByName(animals, "bird", MODEL_NAMESPACE)).isSameAs(donald);
+    assertThat(DomUtil.getFirstChildElementByType(animals, Bird.class, modelInstance)).isSameAs(donald);
+  }
+
+  @Test
+  public void testCompareDocumentOrder() {
+    Element egg = modelInstance.getDocument().createElementNS(MODEL_NAMESPACE, "egg");
+    tweety.appendChild(egg);
+
+    assertThat(DomUtil.compareDocumentOrder(tweety, tweety)).isEqualTo(0);
+    assertThat(DomUtil.compareDocumentOrder(tweety, donald)).isNegative();
+    assertThat(DomUtil.compareDocumentOrder(donald, tweety)).isPositive();
+    assertThat(DomUtil.compareDocumentOrder(animals, egg)).isNegative();
+    assertThat(DomUtil.compareDocumentOrder(egg, tweety)).isPositive();
+    assertThat(DomUtil.compareDocumentOrder(egg, donald)).isNegative();
+    assertThat(DomUtil.compareDocumentOrder(donald, egg)).isPositive();
+  }
+
+}
@@ -0,0 +1,93 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.util;
+
+import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.testmodel.Gender;
+import org.camunda.bpm.model.xml.testmodel.TestModelParser;
+import org.camunda.bpm.model.xml.testmodel.instance.Animals;
+import org.camunda.bpm.model.xml.testmodel.instance.Bird;
+import org.junit.Test;
+
+import javax.xml.XMLConstants;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.model.xml.testmodel.TestModelTest.createBird;
+import static org.camunda.bpm.model.xml.testmodel.TestModelConstants.MODEL_NAMESPACE;
+
+public class QNameTest {
+
+  @Test
+  public void testCanonicalInstances() {
+    QName bird = QName.of("bird", MODEL_NAMESPACE);
+    assertThat(QName.of("bird", MODEL_NAMESPACE)).isSameAs(bird);
+    assertThat(QName.of(new String("bird"), new String(MODEL_NAMESPACE))).isSameAs(bird);
+    assertThat(QName.of("bird", null)).isSameAs(QName.of("bird", null));
+    assertThat(QName.of("bird", null)).isNotEqualTo(bird);
+    assertThat(QName.of("egg", MODEL_NAMESPACE)).isNotEqualTo(bird);
+  }
+
+  @Test
+  public void testEqualsNonCanonicalInstances() {
+    QName bird = QName.of("bird", MODEL_NAMESPACE);
+    QName otherBird = new QName("bird", MODEL_NAMESPACE);
+    assertThat(otherBird).isNotSameAs(bird);
+    assertThat(otherBird).isEqualTo(bird);
+    assertThat(otherBird.hashCode()).isEqualTo(bird.hashCode());
+  }
+
+  @Test
+  public void testParseQName() {
+    ModelInstance modelInstance = new TestModelParser().getEmptyModel();
+    Animals animals = modelInstance.newInstance(Animals.class);
+    modelInstance.setDocumentElement(animals);
+    Bird bird = createBird(modelInstance, "tweety", Gender.Female);
+
+    assertThat(QName.parseQName("bird", bird)).isEqualTo(new QName("bird", null));
+    assertThat(QName.parseQName("a:bird", bird).getNamespaceUri()).isNull();
+
+    animals.setAttributeValueNs("xmlns:a", XMLConstants.XMLNS_ATTRIBUTE_NS_URI, "urn:a");
+    assertThat(QName.parseQName("a:bird", bird)).isEqualTo(new QName("bird", "urn:a"));
+
+    bird.setAttributeValueNs("xmlns:a", XMLConstants.XMLNS_ATTRIBUTE_NS_URI, "urn:b");
+    assertThat(QName.parseQName("a:bird", bird)).isEqualTo(new QName("bird", "urn:b"));
+    assertThat(QName.parseQName("a:animals", animals)).isEqualTo(new QName("animals", "urn:a"));
+
+    bird.removeAttributeNs("a", XMLConstants.XMLNS_ATTRIBUTE_NS_URI);
+    assertThat(QName.parseQName("a:bird", bird)).isEqualTo(new QName("bird", "urn:a"));
+
+    animals.getAnimals().remove(bird);
+    bird.setAttributeValueNs("xmlns:a", XMLConstants.XMLNS_ATTRIBUTE_NS_URI, "urn:c");
+    animals.getAnimals().add(bird);
+    assertThat(QName.parseQName("a:bird", bird)).isEqualTo(new QName("bird", "urn:c"));
+  }
+
+  @Test
+  public void testParsedNamesAreCachedByModelInstance() {
+    ModelInstance modelInstance = new TestModelParser().getEmptyModel();
+    Animals animals = modelInstance.newInstance(Animals.class);
+    modelInstance.setDocumentElement(animals);
+    Bird bird = createBird(modelInstance, "tweety", Gender.Female);
+
+    ModelInstance otherModelInstance = new TestModelParser().getEmptyModel();
+    Animals otherAnimals = otherModelInstance.newInstance(Animals.class);
+    otherModelInstance.setDocumentElement(otherAnimals);
+    Bird otherBird = createBird(otherModelInstance, "tweety", Gender.Female);
+
+    QName tweety = QName.parseQName("tweety", bird);
+    assertThat(QName.parseQName("tweety", bird)).isSameAs(tweety);
+    assertThat(QName.parseQName("tweety", otherBird)).isEqualTo(tweety).isNotSameAs(tweety);
+    assertThat(QName.of("tweety", null)).isNotSameAs(tweety);
+  }
+
+}
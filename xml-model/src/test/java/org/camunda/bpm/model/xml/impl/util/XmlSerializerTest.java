@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.util;
+
+import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.testmodel.Gender;
+import org.camunda.bpm.model.xml.testmodel.TestModelParser;
+import org.camunda.bpm.model.xml.testmodel.instance.Animals;
+import org.camunda.bpm.model.xml.testmodel.instance.Bird;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.model.xml.testmodel.TestModelConstants.MODEL_NAMESPACE;
+
+public class XmlSerializerTest {
+
+  private TestModelParser modelParser;
+  private ModelInstance modelInstance;
+
+  @Before
+  public void createModel() {
+    modelParser = new TestModelParser();
+    modelInstance = modelParser.getEmptyModel();
+
+    Animals animals = modelInstance.newInstance(Animals.class);
+    modelInstance.setDocumentElement(animals);
+
+    Bird tweety = modelInstance.newInstance(Bird.class);
+    tweety.setId("tweety");
+    tweety.setGender(Gender.Female);
+    tweety.setAttributeValue("name", "<Tweety> & \"Sylvester\"\n");
+    animals.getAnimals().add(tweety);
+
+    Bird hedwig = modelInstance.newInstance(Bird.class);
+    hedwig.setId("hedwig");
+    hedwig.setGender(Gender.Male);
+    hedwig.setTextContent("text <content> & more");
+    animals.getAnimals().add(hedwig);
+
+    Document document = modelInstance.getDocument();
+    animals.getDomElement().insertBefore(document.createComment(" first bird "), tweety.getDomElement());
+  }
+
+  @Test
+  public void testIndentedSerialization() throws Exception {
+    String xml = new XmlSerializer().serializeToString(modelInstance.getDocument());
+
+    assertThat(xml).startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n<animals xmlns=\"" + MODEL_NAMESPACE + "\">");
+    assertThat(xml).contains("\n  <!-- first bird -->\n  <bird ");
+    assertThat(xml).contains("name=\"&lt;Tweety&gt; &amp; &quot;Sylvester&quot;&#10;\"");
+    assertThat(xml).contains(">text &lt;content&gt; &amp; more</bird>\n</animals>");
+
+    assertRoundTrip(xml);
+  }
+
+  @Test
+  public void testSerializationWithoutIndentation() throws Exception {
+    String xml = new XmlSerializer(XmlSerializer.NO_INDENT).serializeToString(modelInstance.getDocument());
+
+    assertThat(xml).doesNotContain("\n");
+    assertThat(xml).contains("<!-- first bird --><bird ");
+
+    assertRoundTrip(xml);
+  }
+
+  @Test
+  public void testSerializationToOutputStream() throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    IoUtil.writeDocumentToOutputStream(modelInstance.getDocument(), outputStream, 4);
+    String xml = new String(outputStream.toByteArray(), XmlSerializer.ENCODING);
+
+    assertThat(xml).contains("\n    <bird ");
+    assertThat(xml).isEqualTo(IoUtil.convertXmlDocumentToString(modelInstance.getDocument(), 4));
+
+    assertRoundTrip(xml);
+  }
+
+  private void assertRoundTrip(String xml) throws UnsupportedEncodingException {
+    ModelInstance parsedModelInstance = modelParser.parseModelFromStream(new ByteArrayInputStream(xml.getBytes(XmlSerializer.ENCODING)));
+
+    Bird tweety = (Bird) parsedModelInstance.getModelElementById("tweety");
+    assertThat(tweety.getAttributeValue("name")).isEqualTo("<Tweety> & \"Sylvester\"\n");
+    Bird hedwig = (Bird) parsedModelInstance.getModelElementById("hedwig");
+    assertThat(hedwig.getTextContent()).isEqualTo("text <content> & more");
+    assertThat(hedwig.getGender()).isEqualTo(Gender.Male);
+  }
+
+}
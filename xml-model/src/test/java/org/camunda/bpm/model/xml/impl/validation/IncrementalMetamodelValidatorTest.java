@@ -0,0 +1,136 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.validation;
+
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
+import org.camunda.bpm.model.xml.testmodel.Gender;
+import org.camunda.bpm.model.xml.testmodel.TestModelParser;
+import org.camunda.bpm.model.xml.testmodel.instance.Animals;
+import org.camunda.bpm.model.xml.testmodel.instance.Bird;
+import org.camunda.bpm.model.xml.testmodel.instance.Egg;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IncrementalMetamodelValidatorTest {
+
+  private ModelInstanceImpl modelInstance;
+  private IncrementalMetamodelValidator validator;
+  private Animals animals;
+  private Bird tweety;
+  private Bird hedwig;
+
+  @Before
+  public void createModel() {
+    modelInstance = (ModelInstanceImpl) new TestModelParser().getEmptyModel();
+
+    animals = modelInstance.newInstance(Animals.class);
+    modelInstance.setDocumentElement(animals);
+
+    tweety = createBird("tweety", Gender.Female);
+    hedwig = createBird("hedwig", Gender.Male);
+
+    validator = new IncrementalMetamodelValidator(modelInstance);
+  }
+
+  @After
+  public void closeValidator() {
+    validator.close();
+  }
+
+  @Test
+  public void testModifiedElement() {
+    assertThat(validator.validate()).isEmpty();
+
+    tweety.removeAttribute("gender");
+    List<MetamodelViolation> violations = validator.validate();
+    assertThat(violations).hasSize(1);
+    assertThat(violations.get(0).getElementId()).isEqualTo("tweety");
+    assertThat(validator.isValid()).isFalse();
+
+    tweety.setGender(Gender.Female);
+    assertThat(validator.validate()).isEmpty();
+    assertThat(validator.isValid()).isTrue();
+  }
+
+  @Test
+  public void testAttachedAndDetachedSubtrees() {
+    validator.validate();
+
+    for (int i = 0; i < 7; i++) {
+      Egg egg = modelInstance.newInstance(Egg.class);
+      egg.setId("egg" + i);
+      tweety.addChildElement(egg);
+    }
+    Bird invalidBird = modelInstance.newInstance(Bird.class);
+    invalidBird.setId("invalid");
+    animals.addChildElement(invalidBird);
+
+    List<MetamodelViolation> violations = validator.validate();
+    assertThat(violations).hasSize(2);
+    assertThat(violations.get(0).getElementId()).isEqualTo("tweety");
+    assertThat(violations.get(0).getMessage()).contains("at most 6");
+    assertThat(violations.get(1).getElementId()).isEqualTo("invalid");
+    assertThat(violations).hasSameSizeAs(new MetamodelValidator().validate(modelInstance));
+
+    tweety.removeChildElement(tweety.getEggs().iterator().next());
+    animals.removeChildElement(invalidBird);
+    assertThat(validator.validate()).isEmpty();
+  }
+
+  @Test
+  public void testReferencesToChangedIds() {
+    validator.validate();
+
+    hedwig.setAttributeValue("mother", "daisy");
+    List<MetamodelViolation> violations = validator.validate();
+    assertThat(violations).hasSize(1);
+    assertThat(violations.get(0).getElementId()).isEqualTo("hedwig");
+    assertThat(violations.get(0).getMessage()).contains("'daisy'");
+
+    createBird("daisy", Gender.Female);
+    assertThat(validator.validate()).isEmpty();
+
+    tweety.setId("daisy2");
+    hedwig.setAttributeValue("mother", "tweety");
+    assertThat(validator.validate()).hasSize(1);
+
+    tweety.setId("tweety");
+    assertThat(validator.validate()).isEmpty();
+  }
+
+  @Test
+  public void testInvalidate() {
+    validator.validate();
+
+    // modifications of the DOM document are not tracked
+    tweety.getDomElement().removeAttribute("gender");
+    assertThat(validator.validate()).isEmpty();
+
+    validator.invalidate();
+    assertThat(validator.validate()).hasSize(1);
+  }
+
+  private Bird createBird(String id, Gender gender) {
+    Bird bird = modelInstance.newInstance(Bird.class);
+    bird.setId(id);
+    bird.setGender(gender);
+    animals.getAnimals().add(bird);
+    return bird;
+  }
+
+}
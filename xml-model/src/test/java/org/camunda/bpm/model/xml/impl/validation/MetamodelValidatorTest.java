@@ -0,0 +1,107 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.validation;
+
+import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.ModelValidationException;
+import org.camunda.bpm.model.xml.testmodel.Gender;
+import org.camunda.bpm.model.xml.testmodel.TestModelParser;
+import org.camunda.bpm.model.xml.testmodel.instance.Animals;
+import org.camunda.bpm.model.xml.testmodel.instance.Bird;
+import org.camunda.bpm.model.xml.testmodel.instance.Egg;
+import org.camunda.bpm.model.xml.testmodel.instance.FriendRelationshipDefinition;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class MetamodelValidatorTest {
+
+  private MetamodelValidator validator;
+  private ModelInstance modelInstance;
+  private Bird tweety;
+
+  @Before
+  public void createModel() {
+    validator = new MetamodelValidator();
+    modelInstance = new TestModelParser().getEmptyModel();
+
+    Animals animals = modelInstance.newInstance(Animals.class);
+    modelInstance.setDocumentElement(animals);
+
+    tweety = modelInstance.newInstance(Bird.class);
+    tweety.setId("tweety");
+    tweety.setGender(Gender.Female);
+    animals.getAnimals().add(tweety);
+  }
+
+  @Test
+  public void testValidModel() {
+    assertThat(validator.validate(modelInstance)).isEmpty();
+    validator.assertValid(modelInstance);
+  }
+
+  @Test
+  public void testMissingRequiredAttribute() {
+    tweety.removeAttribute("gender");
+
+    List<MetamodelViolation> violations = validator.validate(modelInstance);
+    assertThat(violations).hasSize(1);
+    assertThat(violations.get(0).getElementId()).isEqualTo("tweety");
+    assertThat(violations.get(0).getElement()).isEqualTo(tweety.getDomElement());
+    assertThat(violations.get(0).getMessage()).contains("'gender'");
+  }
+
+  @Test
+  public void testTooManyChildElements() {
+    for (int i = 0; i < 7; i++) {
+      Egg egg = modelInstance.newInstance(Egg.class);
+      egg.setId("egg" + i);
+      tweety.getDomElement().appendChild(egg.getDomElement());
+    }
+
+    List<MetamodelViolation> violations = validator.validate(modelInstance);
+    assertThat(violations).hasSize(1);
+    assertThat(violations.get(0).getElementId()).isEqualTo("tweety");
+    assertThat(violations.get(0).getMessage()).contains("at most 6");
+  }
+
+  @Test
+  public void testWrongChildElementOrder() {
+    Egg egg = modelInstance.newInstance(Egg.class);
+    egg.setId("egg");
+    tweety.getDomElement().appendChild(egg.getDomElement());
+
+    FriendRelationshipDefinition relationshipDefinition = modelInstance.newInstance(FriendRelationshipDefinition.class);
+    relationshipDefinition.setId("friend");
+    relationshipDefinition.setAnimal(tweety);
+    tweety.getDomElement().appendChild(relationshipDefinition.getDomElement());
+
+    List<MetamodelViolation> violations = validator.validate(modelInstance);
+    assertThat(violations).hasSize(1);
+    assertThat(violations.get(0).getElementId()).isEqualTo("tweety");
+    assertThat(violations.get(0).getMessage()).contains("not allowed after");
+
+    try {
+      validator.assertValid(modelInstance);
+      fail("Model is invalid and should not pass the validation");
+    }
+    catch (ModelValidationException e) {
+      assertThat(e.getMessage()).contains("tweety");
+    }
+  }
+
+}
@@ -149,6 +149,46 @@ public class ModelElementInstanceTest extends TestModelTest {
       .doesNotContain(tweety);
   }
 
+  @Test
+  public void testModelElementById() {
+    assertThat(modelInstance.getModelElementById("tweety")).isEqualTo(tweety);
+
+    tweety.setId("tweety-changed");
+    assertThat(modelInstance.getModelElementById("tweety")).isNull();
+    assertThat(modelInstance.getModelElementById("tweety-changed")).isEqualTo(tweety);
+
+    Bird timmy = modelInstance.newInstance(Bird.class);
+    timmy.setId("timmy");
+    timmy.setGender(Gender.Male);
+    assertThat(modelInstance.getModelElementById("timmy")).isNull();
+
+    animals.getAnimals().add(timmy);
+    assertThat(modelInstance.getModelElementById("timmy")).isEqualTo(timmy);
+
+    animals.getAnimals().remove(timmy);
+    assertThat(modelInstance.getModelElementById("timmy")).isNull();
+  }
+
+  @Test
+  public void testModelElementIdentity() {
+    assertThat(modelInstance.getModelElementById("tweety")).isSameAs(tweety);
+    assertThat(tweety.getParentElement()).isSameAs(animals);
+    assertThat(modelInstance.getDocumentElement()).isSameAs(animals);
+
+    Bird timmy = modelInstance.newInstance(Bird.class);
+    timmy.setId("timmy");
+    animals.getAnimals().add(timmy);
+    assertThat(modelInstance.getModelElementById("timmy")).isSameAs(timmy);
+
+    animals.getAnimals().remove(timmy);
+    animals.getAnimals().add(timmy);
+    assertThat(modelInstance.getModelElementById("timmy")).isSameAs(timmy);
+
+    ModelInstance clonedModelInstance = cloneModelInstance();
+    assertThat(clonedModelInstance.getModelElementById("tweety")).isNotSameAs(tweety);
+    assertThat(clonedModelInstance.getModelElementById("tweety").getModelInstance()).isSameAs(clonedModelInstance);
+  }
+
   @Test
   public void testTextContent() {
     assertThat(tweety.getTextContent()).isEqualTo("");
@@ -21,7 +21,6 @@ import org.camunda.bpm.model.xml.impl.util.ReflectUtil;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.validation.SchemaFactory;
 
 /**
@@ -45,13 +44,6 @@ public class TestModelParser extends AbstractModelParser {
     }
   }
 
-  @Override
-  protected void configureFactory(DocumentBuilderFactory dbf) {
-    dbf.setAttribute(JAXP_SCHEMA_LANGUAGE, W3C_XML_SCHEMA);
-    dbf.setAttribute(JAXP_SCHEMA_SOURCE, ReflectUtil.getResource(SCHEMA_LOCATION).toString());
-    super.configureFactory(dbf);
-  }
-
   @Override
   protected ModelInstance createModelInstance(Document document) {
     return new ModelInstanceImpl((ModelImpl) TestModel.getTestModel(), TestModel.getModelBuilder(), document);
@@ -28,6 +28,10 @@ import org.w3c.dom.Document;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.camunda.bpm.model.xml.testmodel.TestModelConstants.MODEL_NAMESPACE;
@@ -90,6 +94,42 @@ public class UnknownAnimalTest {
     assertThat(flipper.getAttributeValue("species")).isEqualTo("dolphin");
   }
 
+  @Test
+  public void testGenericTypeIsShared() {
+    ModelInstanceImpl modelInstanceImpl = (ModelInstanceImpl) modelInstance;
+    ModelElementType unknownAnimalType = modelInstanceImpl.registerGenericType("unknownAnimal", MODEL_NAMESPACE);
+    assertThat(wanda.getElementType()).isSameAs(unknownAnimalType);
+    assertThat(modelInstance.getModel().getTypeForName("unknownAnimal", MODEL_NAMESPACE)).isSameAs(unknownAnimalType);
+    assertThat(modelInstance.getModel().getTypes()).contains(unknownAnimalType);
+
+    ModelInstance otherModelInstance = modelParser.parseModelFromStream(getClass().getResourceAsStream(getClass().getSimpleName() + ".xml"));
+    assertThat(otherModelInstance.getModelElementById("wanda").getElementType()).isSameAs(unknownAnimalType);
+  }
+
+  @Test
+  public void testRegisterGenericTypeConcurrently() throws Exception {
+    final ModelInstanceImpl modelInstanceImpl = (ModelInstanceImpl) modelInstance;
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<ModelElementType>> futures = new ArrayList<Future<ModelElementType>>();
+      for (int i = 0; i < 16; i++) {
+        futures.add(executorService.submit(new Callable<ModelElementType>() {
+          public ModelElementType call() {
+            return modelInstanceImpl.registerGenericType("concurrentAnimal", MODEL_NAMESPACE);
+          }
+        }));
+      }
+      ModelElementType concurrentAnimalType = futures.get(0).get();
+      assertThat(modelInstance.getModel().getTypeForName("concurrentAnimal", MODEL_NAMESPACE)).isSameAs(concurrentAnimalType);
+      for (Future<ModelElementType> future : futures) {
+        assertThat(future.get()).isSameAs(concurrentAnimalType);
+      }
+    }
+    finally {
+      executorService.shutdown();
+    }
+  }
+
   @Test
   public void testAddUnknownAnimal() {
     ModelInstanceImpl modelInstanceImpl = (ModelInstanceImpl) modelInstance;
@@ -150,6 +150,30 @@ public class ModelElementTypeTest {
     assertThat(birdType.getInstances(modelInstance)).hasSize(3);
   }
 
+  @Test
+  public void testInstancesInDocumentOrder() {
+    Animals animals = (Animals) animalsType.newInstance(modelInstance);
+    modelInstance.setDocumentElement(animals);
+
+    Bird tweety = (Bird) birdType.newInstance(modelInstance);
+    Bird daffy = (Bird) birdType.newInstance(modelInstance);
+    Bird daisy = (Bird) birdType.newInstance(modelInstance);
+    animals.getAnimals().add(tweety);
+    animals.getAnimals().add(daffy);
+    animals.insertElementAfter(daisy, null);
+
+    assertThat(birdType.getInstances(modelInstance)).containsExactly(daisy, tweety, daffy);
+    assertThat(modelInstance.getModelElementsByType(animalType)).containsExactly(daisy, tweety, daffy);
+
+    animals.getAnimals().remove(tweety);
+    assertThat(birdType.getInstances(modelInstance)).containsExactly(daisy, daffy);
+
+    animals.getAnimals().remove(daffy);
+    animals.getAnimals().add(tweety);
+    animals.insertElementAfter(daffy, daisy);
+    assertThat(birdType.getInstances(modelInstance)).containsExactly(daisy, daffy, tweety);
+  }
+
   @Test
   public void testChildElementTypes() {
     ModelElementType relationshipDefinitionType = model.getType(RelationshipDefinition.class);
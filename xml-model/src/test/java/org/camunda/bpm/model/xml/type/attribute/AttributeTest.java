@@ -113,6 +113,50 @@ public class AttributeTest extends TestModelTest {
     assertThat(nameAttribute).hasNoDefaultValue();
   }
 
+  @Test
+  public void testCachedValueFollowsChanges() {
+    tweety.setAge(3);
+    assertThat(tweety.getAge()).isEqualTo(3);
+    assertThat(tweety.getAge()).isSameAs(tweety.getAge());
+
+    tweety.setAttributeValue("age", "4");
+    assertThat(tweety.getAge()).isEqualTo(4);
+
+    tweety.removeAttribute("age");
+    assertThat(tweety.getAge()).isNull();
+
+    tweety.setIsEndangered(true);
+    assertThat(tweety.isEndangered()).isTrue();
+    tweety.removeAttribute("isEndangered");
+    assertThat(tweety.isEndangered()).isFalse();
+
+    tweety.setGender(Gender.Male);
+    assertThat(tweety.getGender()).isEqualTo(Gender.Male);
+    assertThat(((Bird) modelInstance.getModelElementById("tweety")).getGender()).isEqualTo(Gender.Male);
+  }
+
+  @Test
+  public void testPrimitiveValues() {
+    ModelElementType animalType = modelInstance.getModel().getType(Animal.class);
+    IntegerAttribute ageAttribute = (IntegerAttribute) animalType.getAttribute("age");
+    BooleanAttribute isEndangeredAttribute = (BooleanAttribute) animalType.getAttribute("isEndangered");
+
+    tweety.removeAttribute("age");
+    assertThat(ageAttribute.getInt(tweety, -1)).isEqualTo(-1);
+    ageAttribute.setInt(tweety, 7);
+    assertThat(ageAttribute.getInt(tweety, -1)).isEqualTo(7);
+    assertThat(tweety.getAge()).isEqualTo(7);
+    tweety.setAttributeValue("age", "unknown");
+    assertThat(ageAttribute.getInt(tweety, -1)).isEqualTo(-1);
+
+    // the default value of the attribute takes precedence
+    tweety.removeAttribute("isEndangered");
+    assertThat(isEndangeredAttribute.getBoolean(tweety, true)).isFalse();
+    isEndangeredAttribute.setBoolean(tweety, true);
+    assertThat(isEndangeredAttribute.getBoolean(tweety, false)).isTrue();
+    assertThat(tweety.isEndangered()).isTrue();
+  }
+
   @Test
   public void testRequired() {
     tweety.removeAttribute("name");
@@ -15,6 +15,7 @@ package org.camunda.bpm.model.xml.type.child;
 
 import org.camunda.bpm.model.xml.ModelInstance;
 import org.camunda.bpm.model.xml.UnsupportedModelOperationException;
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
 import org.camunda.bpm.model.xml.impl.parser.AbstractModelParser;
 import org.camunda.bpm.model.xml.impl.type.child.ChildElementCollectionImpl;
 import org.camunda.bpm.model.xml.impl.type.child.ChildElementImpl;
@@ -25,6 +26,7 @@ import org.camunda.bpm.model.xml.testmodel.instance.*;
 import org.camunda.bpm.model.xml.type.ModelElementType;
 import org.junit.Before;
 import org.junit.Test;
+import org.w3c.dom.Element;
 
 import java.util.*;
 
@@ -210,4 +212,45 @@ public class ChildElementCollectionTest extends TestModelTest {
     flightPartnerRefs.clear();
     assertThat(flightPartnerRefs).isEmpty();
   }
+
+  @Test
+  public void testChildElementsCollectionIterator() {
+    Collection<FlightPartnerRef> flightPartnerRefs = flightPartnerRefCollection.get(tweety);
+
+    FlightPartnerRef birdoRef = modelInstance.newInstance(FlightPartnerRef.class);
+    birdoRef.setTextContent(birdo.getId());
+
+    Iterator<FlightPartnerRef> iterator = flightPartnerRefs.iterator();
+    iterator.next();
+    flightPartnerRefs.add(birdoRef);
+    try {
+      iterator.next();
+      fail("iterator should fail after the collection was modified");
+    }
+    catch (Exception e) {
+      assertThat(e).isInstanceOf(ConcurrentModificationException.class);
+    }
+
+    iterator = flightPartnerRefs.iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().getTextContent().equals(daisy.getId())) {
+        iterator.remove();
+      }
+    }
+    assertThat(flightPartnerRefs).hasSize(2);
+    assertThat(flightPartnerRefCollection.get(tweety)).hasSize(2);
+  }
+
+  @Test
+  public void testChildElementCacheDiscardedWithRemovedElement() {
+    ModelInstanceImpl modelInstanceImpl = (ModelInstanceImpl) modelInstance;
+    Element tweetyElement = tweety.getDomElement();
+
+    assertThat(flightPartnerRefCollection.get(tweety)).hasSize(2);
+    assertThat(modelInstanceImpl.getCachedChildElements(tweetyElement, flightPartnerRefCollection)).hasSize(2);
+
+    ((Animals) modelInstance.getDocumentElement()).getAnimals().remove(tweety);
+    assertThat(modelInstanceImpl.getCachedChildElements(tweetyElement, flightPartnerRefCollection)).isNull();
+    assertThat(modelInstanceImpl.getChildModificationCount(tweetyElement)).isEqualTo(0);
+  }
 }
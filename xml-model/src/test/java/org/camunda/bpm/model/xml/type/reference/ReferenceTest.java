@@ -15,6 +15,7 @@ package org.camunda.bpm.model.xml.type.reference;
 
 import org.camunda.bpm.model.xml.ModelInstance;
 import org.camunda.bpm.model.xml.UnsupportedModelOperationException;
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
 import org.camunda.bpm.model.xml.impl.parser.AbstractModelParser;
 import org.camunda.bpm.model.xml.impl.type.reference.AttributeReferenceImpl;
 import org.camunda.bpm.model.xml.impl.type.reference.QNameAttributeReferenceImpl;
@@ -26,9 +27,11 @@ import org.camunda.bpm.model.xml.type.ModelElementType;
 import org.camunda.bpm.model.xml.type.attribute.Attribute;
 import org.junit.Before;
 import org.junit.Test;
+import org.w3c.dom.Element;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import static org.camunda.bpm.model.xml.test.assertions.ModelAssertions.assertThat;
 import static org.junit.Assert.fail;
@@ -160,6 +163,62 @@ public class ReferenceTest extends TestModelTest {
     assertThat(tweety.getMother()).isNull();
   }
 
+  @Test
+  public void testUpdateReferencesOfMultipleSources() {
+    plucky.setFather(daffy);
+    birdo.getFlightPartnerRefs().add(daffy);
+
+    daffy.setId("daffy-changed");
+
+    assertThat(fatherReference).hasIdentifier(tweety, "daffy-changed");
+    assertThat(fatherReference).hasIdentifier(plucky, "daffy-changed");
+    assertThat(flightPartnerRefsColl).hasTargetElement(tweety, daffy);
+    assertThat(flightPartnerRefsColl).hasTargetElement(birdo, daffy);
+
+    Animals animals = (Animals) modelInstance.getDocumentElement();
+    animals.getAnimals().remove(daffy);
+
+    assertThat(tweety.getFather()).isNull();
+    assertThat(plucky.getFather()).isNull();
+    assertThat(tweety.getFlightPartnerRefs()).isEmpty();
+    assertThat(birdo.getFlightPartnerRefs()).isEmpty();
+  }
+
+  @Test
+  public void testReferenceTargetsAfterModification() {
+    Collection<FlyingAnimal> flightPartners = tweety.getFlightPartnerRefs();
+    assertThat(flightPartners).containsOnly(daffy);
+
+    FlightPartnerRef flightPartnerRef = tweety.getFlightPartnerRefElements().iterator().next();
+    flightPartnerRef.setTextContent(birdo.getId());
+    assertThat(flightPartners).containsOnly(birdo);
+
+    birdo.setId("birdo-changed");
+    assertThat(flightPartners).containsOnly(birdo);
+    assertThat(flightPartnerRef.getTextContent()).isEqualTo("birdo-changed");
+
+    tweety.getFlightPartnerRefElements().remove(flightPartnerRef);
+    assertThat(flightPartners).isEmpty();
+  }
+
+  @Test
+  public void testReferenceTargetsCachedAfterUnrelatedModification() {
+    ModelInstanceImpl modelInstanceImpl = (ModelInstanceImpl) modelInstance;
+    assertThat(tweety.getFlightPartnerRefs()).containsOnly(daffy);
+    List<Element> referenceTargets = modelInstanceImpl.getCachedReferenceTargets(tweety.getDomElement(), flightPartnerRefsColl);
+    assertThat(referenceTargets).isNotNull();
+
+    // reference sources of other elements and elements without ids do not change the targets of tweety
+    daisy.getFlightPartnerRefs().add(birdo);
+    plucky.getFlightPartnerRefElements().add(modelInstance.newInstance(FlightPartnerRef.class));
+    assertThat(modelInstanceImpl.getCachedReferenceTargets(tweety.getDomElement(), flightPartnerRefsColl)).isSameAs(referenceTargets);
+
+    // a changed element id invalidates the cached targets
+    plucky.setId("plucky-changed");
+    assertThat(modelInstanceImpl.getCachedReferenceTargets(tweety.getDomElement(), flightPartnerRefsColl)).isNull();
+    assertThat(tweety.getFlightPartnerRefs()).containsOnly(daffy);
+  }
+
   @Test
   public void testTargetElementsCollection() {
     Collection<FlyingAnimal> referenceTargetElements = flightPartnerRefsColl.getReferenceTargetElements(tweety);